@@ -22,7 +22,8 @@ import org.example.CacheService.model.CacheStats;
  * 1. Cache capacity is fixed at creation time
  * 2. Null keys and values are not allowed
  * 3. Eviction happens synchronously on put operations
- * 4. Expired entries are removed lazily on access
+ * 4. Expired entries are purged via a timer wheel on writes, on access,
+ *    or by an optional maintenance thread
  * 5. All operations are thread-safe
  * 
  * Data Structures Used:
@@ -34,9 +35,9 @@ import org.example.CacheService.model.CacheStats;
  *    - Pros: O(1) operations, built-in ordering
  *    - Cons: Not thread-safe by default
  * 
- * 3. TreeMap + HashMap (LFU): Frequency-based ordering
- *    - Pros: Efficient frequency tracking
- *    - Cons: O(log n) operations, more complex
+ * 3. HashMap + linked frequency list (LFU): Frequency-based ordering
+ *    - Pros: O(1) operations, no boxing on access
+ *    - Cons: More complex pointer bookkeeping
  * 
  * Design Patterns Used:
  * - Strategy Pattern: Pluggable eviction policies
@@ -106,6 +107,12 @@ public class Main {
             System.out.println("\n----- Demo 6: LIFO (Last In First Out) Cache -----");
             demonstrateLIFOCache();
             
+            Thread.sleep(1000);
+            
+            // Demo 7: Segmented (lock-striped) Cache
+            System.out.println("\n----- Demo 7: Segmented (Lock-Striped) Cache -----");
+            demonstrateSegmentedCache();
+            
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             System.err.println("Demo interrupted: " + e.getMessage());
@@ -331,6 +338,24 @@ public class Main {
         printCacheContents(cache);
     }
     
+    /**
+     * Demonstrates the lock-striped segmented cache
+     * Keys are hashed into independently locked segments, each with its own LRU policy
+     */
+    private static void demonstrateSegmentedCache() {
+        System.out.println("Creating segmented LRU cache with capacity 8 and 4 segments");
+        ICache<String, String> cache = CacheFactory.createSegmentedCache(8, 4, EvictionPolicy.LRU);
+        
+        System.out.println("\nAdding 12 entries (each segment evicts within its own share):");
+        for (int i = 1; i <= 12; i++) {
+            cache.put("item" + i, "value" + i);
+        }
+        
+        System.out.println("Size: " + cache.size() + "/" + cache.getCapacity());
+        System.out.println("item12 present: " + cache.get("item12").isPresent());
+        System.out.println(cache.getStats());
+    }
+    
     /**
      * Helper method to print cache contents
      */
@@ -0,0 +1,112 @@
+package org.example.CacheService.benchmark;
+
+import org.example.CacheService.impl.InMemoryCache;
+import org.example.CacheService.impl.SegmentedCache;
+import org.example.CacheService.interfaces.ICache;
+import org.example.CacheService.policies.LRUEvictionPolicy;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Throughput benchmark comparing InMemoryCache (lock-free reads, single eviction lock)
+ * with SegmentedCache (lock striping) on a read-heavy workload
+ *
+ * Workload:
+ * - 90% get / 10% put over a key space that fits in the cache
+ * - Each run is warmed up first, then measured for a fixed duration
+ * - Reported as total operations per second across all threads
+ *
+ * stdout is silenced while measuring so any console output from a cache
+ * (e.g. a logging listener) does not distort the comparison
+ *
+ * Usage: java org.example.CacheService.benchmark.CacheBenchmark [durationMillis]
+ */
+public class CacheBenchmark {
+    private static final int CAPACITY = 100_000;
+    private static final int KEY_SPACE = 50_000;
+    private static final int READ_PERCENT = 90;
+    private static final int[] THREAD_COUNTS = {1, 4, 16, 64};
+
+    public static void main(String[] args) throws InterruptedException {
+        long durationMillis = args.length > 0 ? Long.parseLong(args[0]) : 2000;
+        PrintStream console = System.out;
+
+        console.printf("%-16s %8s %16s%n", "Cache", "Threads", "ops/sec");
+        for (int threads : THREAD_COUNTS) {
+            double global = run(() -> new InMemoryCache<>(CAPACITY, new LRUEvictionPolicy<>()),
+                    threads, durationMillis, console);
+            console.printf("%-16s %8d %,16.0f%n", "InMemoryCache", threads, global);
+
+            double striped = run(() -> new SegmentedCache<>(CAPACITY, 64, LRUEvictionPolicy::new),
+                    threads, durationMillis, console);
+            console.printf("%-16s %8d %,16.0f%n", "SegmentedCache", threads, striped);
+        }
+    }
+
+    /**
+     * Runs one warm-up and one measured pass, returning operations per second
+     */
+    private static double run(Supplier<ICache<Integer, Integer>> cacheSupplier, int threads,
+                              long durationMillis, PrintStream console) throws InterruptedException {
+        ICache<Integer, Integer> cache = cacheSupplier.get();
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            for (int i = 0; i < KEY_SPACE; i++) {
+                cache.put(i, i);
+            }
+            measure(cache, threads, durationMillis / 2);
+            return measure(cache, threads, durationMillis);
+        } finally {
+            System.setOut(console);
+        }
+    }
+
+    private static double measure(ICache<Integer, Integer> cache, int threads, long durationMillis)
+            throws InterruptedException {
+        LongAdder operations = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        long[] deadline = new long[1];
+
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long ops = 0;
+                try {
+                    start.await();
+                    while (System.nanoTime() < deadline[0]) {
+                        // Check the clock every 256 operations to keep timing overhead low
+                        for (int i = 0; i < 256; i++) {
+                            int key = random.nextInt(KEY_SPACE);
+                            if (random.nextInt(100) < READ_PERCENT) {
+                                cache.get(key);
+                            } else {
+                                cache.put(key, key);
+                            }
+                        }
+                        ops += 256;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    operations.add(ops);
+                    done.countDown();
+                }
+            });
+            worker.setDaemon(true);
+            worker.start();
+        }
+
+        long begin = System.nanoTime();
+        deadline[0] = begin + durationMillis * 1_000_000L;
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - begin;
+        return operations.sum() * 1_000_000_000.0 / elapsed;
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.CacheService.benchmark;
+
+import org.example.CacheService.enums.EvictionPolicy;
+import org.example.CacheService.factory.CacheFactory;
+import org.example.CacheService.interfaces.ICache;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Hit-ratio benchmark comparing every EvictionPolicy on Zipfian traces
+ *
+ * Workload:
+ * - Keys drawn from a Zipf distribution over KEY_SPACE keys (seeded, so every
+ *   policy replays the identical trace)
+ * - Each access is a get, followed by a put on a miss (read-through)
+ * - Cache sizes are a fraction of the key space
+ *
+ * Runs single-threaded through the real InMemoryCache, so the reported ratio
+ * includes the effect of its read buffering on policy ordering
+ *
+ * Usage: java org.example.CacheService.benchmark.HitRatioBenchmark [traceLength]
+ */
+public class HitRatioBenchmark {
+    private static final int KEY_SPACE = 100_000;
+    private static final double[] SKEWS = {0.8, 0.99};
+    private static final double[] CACHE_FRACTIONS = {0.001, 0.01, 0.05};
+    private static final long SEED = 42;
+
+    public static void main(String[] args) {
+        int traceLength = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+
+        for (double skew : SKEWS) {
+            int[] trace = zipfTrace(traceLength, skew);
+            System.out.printf("%nZipf s=%.2f, %,d keys, %,d accesses%n", skew, KEY_SPACE, traceLength);
+            System.out.printf("%-12s", "Policy");
+            for (double fraction : CACHE_FRACTIONS) {
+                System.out.printf(" %12s", String.format("%,d", (int) (KEY_SPACE * fraction)));
+            }
+            System.out.println();
+
+            for (EvictionPolicy policy : EvictionPolicy.values()) {
+                System.out.printf("%-12s", policy);
+                for (double fraction : CACHE_FRACTIONS) {
+                    double hitRatio = replay(trace, (int) (KEY_SPACE * fraction), policy);
+                    System.out.printf(" %11.2f%%", hitRatio * 100);
+                }
+                System.out.println();
+            }
+        }
+    }
+
+    private static double replay(int[] trace, int capacity, EvictionPolicy policy) {
+        ICache<Integer, Integer> cache = CacheFactory.createCache(capacity, policy);
+        for (int key : trace) {
+            if (!cache.get(key).isPresent()) {
+                cache.put(key, key);
+            }
+        }
+        return cache.getStats().getHitRatio();
+    }
+
+    /**
+     * Generates a Zipf(skew) trace by inverse-CDF sampling; key 0 is the most popular
+     */
+    private static int[] zipfTrace(int length, double skew) {
+        double[] cdf = new double[KEY_SPACE];
+        double sum = 0;
+        for (int rank = 0; rank < KEY_SPACE; rank++) {
+            sum += 1.0 / Math.pow(rank + 1, skew);
+            cdf[rank] = sum;
+        }
+        for (int rank = 0; rank < KEY_SPACE; rank++) {
+            cdf[rank] /= sum;
+        }
+
+        Random random = new Random(SEED);
+        int[] trace = new int[length];
+        for (int i = 0; i < length; i++) {
+            int index = Arrays.binarySearch(cdf, random.nextDouble());
+            trace[i] = index >= 0 ? index : Math.min(-index - 1, KEY_SPACE - 1);
+        }
+        return trace;
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.CacheService.benchmark;
+
+import org.example.CacheService.enums.EvictionPolicy;
+import org.example.CacheService.factory.CacheFactory;
+import org.example.CacheService.impl.LongKeyCache;
+import org.example.CacheService.interfaces.ICache;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Memory and allocation benchmark: LongKeyCache versus InMemoryCache<Long, V>
+ *
+ * Method:
+ * - Fills each cache to capacity with distinct keys, all mapping to one shared
+ *   value object, so only the cache's own per-entry overhead is measured
+ * - Retained heap is the used-heap difference around the fill, after forced GCs
+ *   (run with a fixed heap, e.g. -Xms2g -Xmx2g, for stable numbers)
+ * - Bytes allocated per get come from the JVM's per-thread allocation counter
+ *   over a loop of hits
+ *
+ * Usage: java org.example.CacheService.benchmark.LongKeyCacheMemoryBenchmark [entries]
+ */
+public class LongKeyCacheMemoryBenchmark {
+    private static final Object VALUE = new Object();
+    private static final int GET_ITERATIONS = 1_000_000;
+
+    private static Object retained;
+
+    public static void main(String[] args) {
+        int entries = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        EvictionPolicy[] policies = {EvictionPolicy.LRU, EvictionPolicy.W_TINY_LFU, EvictionPolicy.SIEVE};
+
+        System.out.printf("%,d entries%n", entries);
+        System.out.printf("%-12s %-14s %14s %16s%n", "Policy", "Cache", "bytes/entry", "bytes/get (hit)");
+        for (EvictionPolicy policy : policies) {
+            double boxedBytes = measureBoxed(entries, policy);
+            double primitiveBytes = measurePrimitive(entries, policy);
+            System.out.printf("  -> %.1fx less heap per entry%n", boxedBytes / primitiveBytes);
+        }
+    }
+
+    private static double measureBoxed(int entries, EvictionPolicy policy) {
+        long before = usedHeap();
+        ICache<Long, Object> cache = CacheFactory.createCache(entries, policy);
+        for (long key = 0; key < entries; key++) {
+            cache.put(key, VALUE);
+        }
+        retained = cache;
+        double perEntry = (double) (usedHeap() - before) / entries;
+
+        long allocated = allocatedBytes();
+        for (int i = 0; i < GET_ITERATIONS; i++) {
+            cache.get((long) (i % entries));
+        }
+        double perGet = (double) (allocatedBytes() - allocated) / GET_ITERATIONS;
+
+        print(policy, "InMemoryCache", perEntry, perGet);
+        retained = null;
+        return perEntry;
+    }
+
+    private static double measurePrimitive(int entries, EvictionPolicy policy) {
+        long before = usedHeap();
+        LongKeyCache<Object> cache = CacheFactory.createLongKeyCache(entries, policy);
+        for (long key = 0; key < entries; key++) {
+            cache.put(key, VALUE);
+        }
+        retained = cache;
+        double perEntry = (double) (usedHeap() - before) / entries;
+
+        long allocated = allocatedBytes();
+        for (int i = 0; i < GET_ITERATIONS; i++) {
+            cache.getIfPresent(i % entries);
+        }
+        double perGet = (double) (allocatedBytes() - allocated) / GET_ITERATIONS;
+
+        print(policy, "LongKeyCache", perEntry, perGet);
+        retained = null;
+        return perEntry;
+    }
+
+    private static void print(EvictionPolicy policy, String cache, double perEntry, double perGet) {
+        System.out.printf("%-12s %-14s %14.1f %16.2f%n", policy, cache, perEntry, perGet);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Bytes allocated so far by this thread, or 0 where the JVM does not expose it
+     */
+    private static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,107 @@
+package org.example.CacheService.buffer;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Striped, lossy, bounded ring buffers for recording cache reads
+ * Lets the read path record an access without taking a lock or allocating
+ *
+ * Structure:
+ * - STRIPES independent rings of STRIPE_SIZE slots; a thread picks its stripe
+ *   from its id, so threads rarely compete for the same ring
+ * - Producers claim a slot with one CAS on the stripe's write counter
+ * - A single drainer (whoever holds the cache's eviction lock) consumes
+ *   every stripe in order and advances its read counter
+ *
+ * Lossy by design:
+ * - A full ring or a lost CAS race drops the access instead of waiting
+ * - Eviction policies only need approximately correct ordering, so
+ *   dropping a few accesses under heavy load is an acceptable trade
+ *
+ * Counters are spaced PADDING longs apart to keep stripes on separate cache lines
+ */
+public class StripedReadBuffer<K> {
+    public static final int SUCCESS = 0;
+    public static final int FULL = 1;
+    public static final int FAILED = 2;
+
+    private static final int STRIPE_SIZE = 16;
+    private static final int STRIPE_MASK = STRIPE_SIZE - 1;
+    private static final int DRAIN_THRESHOLD = STRIPE_SIZE / 2;
+    private static final int PADDING = 16;
+    private static final int MAX_STRIPES = 64;
+
+    private final int stripes;
+    private final int stripeMask;
+    private final AtomicReferenceArray<K> slots;
+    private final AtomicLongArray writeCounts;
+    private final AtomicLongArray readCounts;
+
+    public StripedReadBuffer() {
+        // Twice the core count, rounded up to a power of two, capped at MAX_STRIPES
+        int count = 1;
+        int target = Runtime.getRuntime().availableProcessors() * 2;
+        while (count < target && count < MAX_STRIPES) {
+            count <<= 1;
+        }
+        this.stripes = count;
+        this.stripeMask = stripes - 1;
+        this.slots = new AtomicReferenceArray<>(stripes * STRIPE_SIZE);
+        this.writeCounts = new AtomicLongArray(stripes * PADDING);
+        this.readCounts = new AtomicLongArray(stripes * PADDING);
+    }
+
+    /**
+     * Records a read
+     * @return SUCCESS if recorded, FULL if the stripe is full (or should be drained soon),
+     *         FAILED if another thread won the slot; FULL and FAILED both mean the caller
+     *         should try to drain
+     */
+    public int offer(K key) {
+        int stripe = stripeIndex();
+        int counter = stripe * PADDING;
+        long head = readCounts.get(counter);
+        long tail = writeCounts.get(counter);
+        long size = tail - head;
+        if (size >= STRIPE_SIZE) {
+            return FULL;
+        }
+        if (!writeCounts.compareAndSet(counter, tail, tail + 1)) {
+            return FAILED;
+        }
+        slots.lazySet(stripe * STRIPE_SIZE + (int) (tail & STRIPE_MASK), key);
+        return size + 1 >= DRAIN_THRESHOLD ? FULL : SUCCESS;
+    }
+
+    /**
+     * Hands every published read to the consumer
+     * Must only be called by one thread at a time
+     */
+    public void drainTo(Consumer<K> consumer) {
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            int counter = stripe * PADDING;
+            long head = readCounts.get(counter);
+            long tail = writeCounts.get(counter);
+            while (head < tail) {
+                int index = stripe * STRIPE_SIZE + (int) (head & STRIPE_MASK);
+                K key = slots.get(index);
+                if (key == null) {
+                    // Slot claimed but not yet published; pick it up next drain
+                    break;
+                }
+                slots.lazySet(index, null);
+                consumer.accept(key);
+                head++;
+            }
+            readCounts.lazySet(counter, head);
+        }
+    }
+
+    private int stripeIndex() {
+        long id = Thread.currentThread().getId();
+        int h = (int) (id ^ (id >>> 32)) * 0x9e3779b9;
+        return (h ^ (h >>> 16)) & stripeMask;
+    }
+}
@@ -8,7 +8,10 @@ public enum EvictionPolicy {
     LRU("Least Recently Used"),
     LFU("Least Frequently Used"),
     FIFO("First In First Out"),
-    LIFO("Last In First Out");
+    LIFO("Last In First Out"),
+    W_TINY_LFU("Window TinyLFU (frequency-based admission)"),
+    CLOCK("CLOCK (second chance)"),
+    SIEVE("SIEVE (FIFO with lazy promotion)");
     
     private final String description;
     
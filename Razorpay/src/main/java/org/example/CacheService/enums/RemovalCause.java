@@ -0,0 +1,31 @@
+package org.example.CacheService.enums;
+
+/**
+ * Enum representing why an entry left the cache
+ * Reported to removal and event listeners
+ */
+public enum RemovalCause {
+    EXPLICIT("Removed by remove, invalidateAll or clear"),
+    REPLACED("Value replaced by a put for the same key"),
+    EXPIRED("Time to live elapsed"),
+    SIZE("Evicted by the eviction policy to stay within capacity"),
+    MIGRATED("Moved to another node when the partition ring changed");
+
+    private final String description;
+
+    RemovalCause(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Whether the cache removed the entry on its own (expiry or capacity)
+     * rather than because of a caller's remove or put
+     */
+    public boolean wasEvicted() {
+        return this == EXPIRED || this == SIZE;
+    }
+}
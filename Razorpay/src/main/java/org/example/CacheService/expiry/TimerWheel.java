@@ -0,0 +1,214 @@
+package org.example.CacheService.expiry;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel for scheduling key expirations
+ * Used by the cache to proactively purge entries whose TTL has passed
+ *
+ * Structure:
+ * - LEVELS wheels of BUCKETS slots each; level i slot spans tickMillis * 64^i
+ * - An entry is placed on the lowest level whose range covers its deadline
+ * - When a lower wheel wraps around, the next level's current slot is
+ *   cascaded down (its entries are re-placed with a finer resolution)
+ * - Deadlines beyond the top level's range park in its furthest slot and
+ *   are re-placed each time that slot comes around
+ *
+ * With the default 10ms tick the levels cover 640ms, 41s, 44min and 46h
+ *
+ * Time Complexity:
+ * - schedule / cancel: O(1) (bucket lists are intrusive doubly linked lists)
+ * - advance: O(expired + cascaded), skipping ahead when nothing is scheduled
+ *
+ * Not thread-safe; the owning cache calls it while holding its write lock
+ */
+public class TimerWheel<K> {
+    private static final int BUCKET_BITS = 6;
+    private static final int BUCKETS = 1 << BUCKET_BITS;
+    private static final int BUCKET_MASK = BUCKETS - 1;
+    private static final int LEVELS = 4;
+
+    private final long tickMillis;
+    private final Node<K>[][] wheels;
+    private final Map<K, Node<K>> nodes;
+    private long currentTick;
+
+    /**
+     * @param tickMillis Resolution of the lowest wheel; expirations fire at most one tick late
+     * @param nowMillis Current time used as the wheel's starting point
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public TimerWheel(long tickMillis, long nowMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick duration must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.wheels = new Node[LEVELS][BUCKETS];
+        for (int level = 0; level < LEVELS; level++) {
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                wheels[level][bucket] = Node.sentinel();
+            }
+        }
+        this.nodes = new HashMap<>();
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    /**
+     * Schedules (or reschedules) a key to expire at the given absolute time
+     */
+    public void schedule(K key, long expirationTimeMillis) {
+        Node<K> node = nodes.get(key);
+        if (node == null) {
+            node = new Node<>(key);
+            nodes.put(key, node);
+        } else {
+            node.unlink();
+        }
+        // Fire on the first tick strictly after the deadline, so fired entries are expired
+        node.expirationTick = expirationTimeMillis / tickMillis + 1;
+        place(node);
+    }
+
+    /**
+     * Cancels a pending expiration
+     * @return true if the key was scheduled
+     */
+    public boolean cancel(K key) {
+        Node<K> node = nodes.remove(key);
+        if (node == null) {
+            return false;
+        }
+        node.unlink();
+        return true;
+    }
+
+    /**
+     * Advances the wheel to the given time, handing every key whose deadline
+     * has passed to the consumer
+     */
+    public void advance(long nowMillis, Consumer<K> onExpired) {
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick) {
+            if (nodes.isEmpty()) {
+                currentTick = targetTick;
+                return;
+            }
+
+            currentTick++;
+            cascade();
+
+            Node<K> sentinel = wheels[0][(int) (currentTick & BUCKET_MASK)];
+            Node<K> node = sentinel.next;
+            while (node != sentinel) {
+                Node<K> next = node.next;
+                node.unlink();
+                if (node.expirationTick <= currentTick) {
+                    nodes.remove(node.key);
+                    onExpired.accept(node.key);
+                } else {
+                    place(node);
+                }
+                node = next;
+            }
+        }
+    }
+
+    /**
+     * Removes every scheduled key
+     */
+    public void clear() {
+        for (Node<K>[] wheel : wheels) {
+            for (Node<K> sentinel : wheel) {
+                sentinel.prev = sentinel;
+                sentinel.next = sentinel;
+            }
+        }
+        nodes.clear();
+    }
+
+    /**
+     * Gets the number of keys awaiting expiration
+     */
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Re-places the entries of every higher-level slot that the lower wheel just wrapped into
+     */
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            int shift = BUCKET_BITS * level;
+            if ((currentTick & ((1L << shift) - 1)) != 0) {
+                return;
+            }
+            Node<K> sentinel = wheels[level][(int) ((currentTick >>> shift) & BUCKET_MASK)];
+            Node<K> node = sentinel.next;
+            while (node != sentinel) {
+                Node<K> next = node.next;
+                node.unlink();
+                place(node);
+                node = next;
+            }
+        }
+    }
+
+    /**
+     * Links a node into the slot matching its remaining delay
+     */
+    private void place(Node<K> node) {
+        long delay = Math.max(1, node.expirationTick - currentTick);
+        long tick = currentTick + delay;
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = BUCKET_BITS * (level + 1);
+            if (delay < (1L << shift)) {
+                int bucket = (int) ((tick >>> (BUCKET_BITS * level)) & BUCKET_MASK);
+                wheels[level][bucket].append(node);
+                return;
+            }
+        }
+        // Beyond the top level's range: park in the slot just before the current one
+        int shift = BUCKET_BITS * (LEVELS - 1);
+        int bucket = (int) (((currentTick >>> shift) - 1) & BUCKET_MASK);
+        wheels[LEVELS - 1][bucket].append(node);
+    }
+
+    /**
+     * Intrusive doubly linked list node; each bucket has a sentinel
+     */
+    private static final class Node<K> {
+        private final K key;
+        private long expirationTick;
+        private Node<K> prev;
+        private Node<K> next;
+
+        private Node(K key) {
+            this.key = key;
+        }
+
+        private static <K> Node<K> sentinel() {
+            Node<K> sentinel = new Node<>(null);
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+            return sentinel;
+        }
+
+        private void append(Node<K> node) {
+            node.prev = prev;
+            node.next = this;
+            prev.next = node;
+            prev = node;
+        }
+
+        private void unlink() {
+            if (prev != null) {
+                prev.next = next;
+                next.prev = prev;
+                prev = null;
+                next = null;
+            }
+        }
+    }
+}
@@ -1,13 +1,33 @@
 package org.example.CacheService.factory;
 
 import org.example.CacheService.enums.EvictionPolicy;
+import org.example.CacheService.impl.CoalescingLoadingCache;
 import org.example.CacheService.impl.InMemoryCache;
+import org.example.CacheService.impl.LongKeyCache;
+import org.example.CacheService.impl.OffHeapCache;
+import org.example.CacheService.impl.PartitionedCache;
+import org.example.CacheService.impl.SegmentedCache;
+import org.example.CacheService.impl.TieredCache;
 import org.example.CacheService.interfaces.ICache;
 import org.example.CacheService.interfaces.IEvictionPolicy;
+import org.example.CacheService.interfaces.IIndexEvictionPolicy;
+import org.example.CacheService.interfaces.IInvalidationBus;
+import org.example.CacheService.interfaces.ILoadingCache;
+import org.example.CacheService.interfaces.ISerializer;
+import org.example.CacheService.interfaces.IWeigher;
+import org.example.CacheService.partition.LoopbackNodeTransport;
+import org.example.CacheService.policies.ClockEvictionPolicy;
 import org.example.CacheService.policies.FIFOEvictionPolicy;
 import org.example.CacheService.policies.LFUEvictionPolicy;
 import org.example.CacheService.policies.LIFOEvictionPolicy;
 import org.example.CacheService.policies.LRUEvictionPolicy;
+import org.example.CacheService.policies.SieveEvictionPolicy;
+import org.example.CacheService.policies.TinyLfuEvictionPolicy;
+import org.example.CacheService.policies.indexed.ClockIndexEvictionPolicy;
+import org.example.CacheService.policies.indexed.LfuIndexEvictionPolicy;
+import org.example.CacheService.policies.indexed.LinkedIndexEvictionPolicy;
+import org.example.CacheService.policies.indexed.SieveIndexEvictionPolicy;
+import org.example.CacheService.policies.indexed.TinyLfuIndexEvictionPolicy;
 
 /**
  * Factory class for creating cache instances with different eviction policies
@@ -16,19 +36,117 @@ import org.example.CacheService.policies.LRUEvictionPolicy;
  * Follows Single Responsibility Principle
  */
 public class CacheFactory {
+    // Entry-count hint for policies that size internal structures in weighted mode
+    private static final int WEIGHTED_POLICY_SIZE_HINT = 1 << 16;
     
     /**
      * Creates a cache with specified capacity and eviction policy
      */
     public static <K, V> ICache<K, V> createCache(int capacity, EvictionPolicy policyType) {
-        IEvictionPolicy<K, V> policy = createEvictionPolicy(policyType);
+        IEvictionPolicy<K, V> policy = createEvictionPolicy(policyType, capacity);
         return new InMemoryCache<>(capacity, policy);
     }
     
+    /**
+     * Creates a loading cache that coalesces concurrent misses on the same key into one load
+     */
+    public static <K, V> ILoadingCache<K, V> createLoadingCache(int capacity, EvictionPolicy policyType) {
+        return new CoalescingLoadingCache<>(createCache(capacity, policyType));
+    }
+    
+    /**
+     * Creates a loading cache whose entries expire expireAfterWriteMillis after being written
+     * and are reloaded asynchronously once read after refreshAfterWriteMillis
+     */
+    public static <K, V> ILoadingCache<K, V> createLoadingCache(int capacity, EvictionPolicy policyType,
+                                                                long expireAfterWriteMillis,
+                                                                long refreshAfterWriteMillis) {
+        return new CoalescingLoadingCache<>(createCache(capacity, policyType), expireAfterWriteMillis,
+                refreshAfterWriteMillis, null);
+    }
+    
+    /**
+     * Creates a cache bounded by total weight instead of entry count
+     * The eviction policy evicts until each new entry fits within maximumWeight
+     */
+    public static <K, V> ICache<K, V> createWeightedCache(long maximumWeight, IWeigher<K, V> weigher,
+                                                          EvictionPolicy policyType) {
+        int sizeHint = (int) Math.min(maximumWeight, WEIGHTED_POLICY_SIZE_HINT);
+        return new InMemoryCache<>(maximumWeight, weigher, createEvictionPolicy(policyType, sizeHint));
+    }
+    
+    /**
+     * Creates a cache that purges expired TTL entries on a background maintenance thread
+     * The thread runs every expiryCheckMillis and is stopped by InMemoryCache.shutdown()
+     */
+    public static <K, V> ICache<K, V> createCache(int capacity, EvictionPolicy policyType, long expiryCheckMillis) {
+        InMemoryCache<K, V> cache = new InMemoryCache<>(capacity, createEvictionPolicy(policyType, capacity));
+        cache.startExpiryMaintenance(expiryCheckMillis);
+        return cache;
+    }
+    
+    /**
+     * Creates a lock-striped cache with specified capacity, segment count and eviction policy
+     * Each segment gets its own eviction policy instance and an equal share of the capacity
+     */
+    public static <K, V> ICache<K, V> createSegmentedCache(int capacity, int segmentCount, EvictionPolicy policyType) {
+        return new SegmentedCache<>(capacity, segmentCount,
+                segmentCapacity -> createEvictionPolicy(policyType, segmentCapacity));
+    }
+    
+    /**
+     * Creates an off-heap cache that stores serialized entries in direct memory
+     * Capacity is a byte budget; eviction is CLOCK over fixed-size slabs
+     */
+    public static <K, V> ICache<K, V> createOffHeapCache(long capacityBytes, ISerializer<K> keySerializer,
+                                                         ISerializer<V> valueSerializer) {
+        return new OffHeapCache<>(capacityBytes, keySerializer, valueSerializer);
+    }
+    
+    /**
+     * Creates a near cache: a small lock-striped LRU L1 on this node in front of the given L2
+     * Writes go through to L2 and invalidate the other nodes' L1 copies via the bus
+     */
+    public static <K, V> TieredCache<K, V> createTieredCache(String nodeId, int l1Capacity, ICache<K, V> l2,
+                                                             IInvalidationBus<K> bus, long l1TtlMillis) {
+        ICache<K, V> l1 = createSegmentedCache(l1Capacity, Runtime.getRuntime().availableProcessors(),
+                EvictionPolicy.LRU);
+        return new TieredCache<>(nodeId, l1, l2, bus, l1TtlMillis);
+    }
+    
+    /**
+     * Creates a cache sharded over nodeCount in-process nodes ("node-0", "node-1", ...)
+     * by a consistent-hash ring; each node is an InMemoryCache of capacityPerNode entries
+     * More nodes can be added later with PartitionedCache.addNode
+     */
+    public static <K, V> PartitionedCache<K, V> createPartitionedCache(int nodeCount, int capacityPerNode,
+                                                                       EvictionPolicy policyType) {
+        if (nodeCount <= 0) {
+            throw new IllegalArgumentException("Node count must be positive");
+        }
+        PartitionedCache<K, V> cache = new PartitionedCache<>();
+        for (int node = 0; node < nodeCount; node++) {
+            InMemoryCache<K, V> nodeCache = new InMemoryCache<>(capacityPerNode,
+                    createEvictionPolicy(policyType, capacityPerNode));
+            cache.addNode(new LoopbackNodeTransport<>("node-" + node, nodeCache));
+        }
+        return cache;
+    }
+    
+    /**
+     * Creates a cache specialized for primitive long keys
+     * Entries live in parallel arrays and the policy tracks entry ids, so the
+     * long-keyed methods neither box nor allocate
+     */
+    public static <V> LongKeyCache<V> createLongKeyCache(int capacity, EvictionPolicy policyType) {
+        return new LongKeyCache<>(capacity, createIndexEvictionPolicy(policyType, capacity));
+    }
+    
     /**
      * Creates an eviction policy based on the policy type
+     * Capacity is needed by policies that size internal structures (W-TinyLFU, CLOCK, SIEVE)
      */
-    private static <K, V> IEvictionPolicy<K, V> createEvictionPolicy(EvictionPolicy policyType) {
+    private static <K, V> IEvictionPolicy<K, V> createEvictionPolicy(EvictionPolicy policyType, int capacity) {
         switch (policyType) {
             case LRU:
                 return new LRUEvictionPolicy<>();
@@ -38,6 +156,36 @@ public class CacheFactory {
                 return new FIFOEvictionPolicy<>();
             case LIFO:
                 return new LIFOEvictionPolicy<>();
+            case W_TINY_LFU:
+                return new TinyLfuEvictionPolicy<>(capacity);
+            case CLOCK:
+                return new ClockEvictionPolicy<>(capacity);
+            case SIEVE:
+                return new SieveEvictionPolicy<>(capacity);
+            default:
+                throw new IllegalArgumentException("Unknown eviction policy: " + policyType);
+        }
+    }
+    
+    /**
+     * Creates the index-based counterpart of an eviction policy for LongKeyCache
+     */
+    private static IIndexEvictionPolicy createIndexEvictionPolicy(EvictionPolicy policyType, int capacity) {
+        switch (policyType) {
+            case LRU:
+                return LinkedIndexEvictionPolicy.lru(capacity);
+            case LFU:
+                return new LfuIndexEvictionPolicy(capacity);
+            case FIFO:
+                return LinkedIndexEvictionPolicy.fifo(capacity);
+            case LIFO:
+                return LinkedIndexEvictionPolicy.lifo(capacity);
+            case W_TINY_LFU:
+                return new TinyLfuIndexEvictionPolicy(capacity);
+            case CLOCK:
+                return new ClockIndexEvictionPolicy(capacity);
+            case SIEVE:
+                return new SieveIndexEvictionPolicy(capacity);
             default:
                 throw new IllegalArgumentException("Unknown eviction policy: " + policyType);
         }
@@ -0,0 +1,473 @@
+package org.example.CacheService.impl;
+
+import org.example.CacheService.interfaces.ICache;
+import org.example.CacheService.interfaces.ILoadingCache;
+import org.example.CacheService.model.CacheStats;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Loading cache decorator with single-flight request coalescing
+ * Wraps any ICache and loads missing keys on demand
+ *
+ * Single-flight:
+ * - The first caller to miss on a key registers a CompletableFuture in the
+ *   in-flight map and runs the loader on its own thread
+ * - Concurrent callers that miss on the same key find that future and wait on it
+ * - The future is removed once the load finishes, successfully or not
+ *
+ * Failure handling:
+ * - A failed load completes the shared future exceptionally, so every waiter
+ *   sees the same exception, and nothing is written to the cache
+ * - The next call after a failure starts a fresh load
+ *
+ * Expire / refresh after write (stale-while-revalidate):
+ * - expireAfterWrite: every write is stored with this TTL
+ * - refreshAfterWrite: once an entry is older than this, the next get(key, loader)
+ *   returns the current value immediately and submits one asynchronous reload
+ *   to a bounded executor; concurrent readers do not submit duplicates
+ * - A failed refresh keeps serving the current value until it expires
+ * - A refresh that races with an explicit put or remove is discarded: writes,
+ *   removes and installing a refreshed value hold a per-key lock stripe, so the
+ *   write-time check and the install cannot interleave with either
+ * - Write times are only kept while an entry can still be live (younger than
+ *   expireAfterWrite), so the bookkeeping stays bounded
+ *
+ * Design Patterns:
+ * - Decorator Pattern: Adds loading on top of any ICache implementation
+ */
+public class CoalescingLoadingCache<K, V> implements ILoadingCache<K, V> {
+    private static final int DEFAULT_REFRESH_THREADS = 2;
+    private static final int DEFAULT_REFRESH_QUEUE_SIZE = 1024;
+    private static final int LOCK_STRIPES = 64; // Power of two
+
+    private final ICache<K, V> delegate;
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight;
+    private final long expireAfterWriteMillis;
+    private final long refreshAfterWriteMillis;
+    private final ExecutorService refreshExecutor;
+    private final boolean ownsRefreshExecutor;
+    private final ConcurrentHashMap<K, Long> writeTimes;
+    private final ConcurrentLinkedQueue<WriteRecord<K>> writeOrder;
+    private final ConcurrentHashMap<K, Boolean> refreshing;
+    private final Object[] locks;
+
+    /**
+     * Creates a loading cache without expiry or refresh
+     */
+    public CoalescingLoadingCache(ICache<K, V> delegate) {
+        this(delegate, -1, -1, null);
+    }
+
+    /**
+     * Creates a loading cache with expire-after-write and refresh-after-write
+     * @param expireAfterWriteMillis TTL applied to every write; -1 for none
+     * @param refreshAfterWriteMillis Age after which a read triggers an async reload; -1 for none.
+     *                                Requires expireAfterWriteMillis and must be shorter than it
+     * @param refreshExecutor Executor for reloads; null creates a small bounded pool owned by this cache
+     */
+    public CoalescingLoadingCache(ICache<K, V> delegate, long expireAfterWriteMillis,
+                                  long refreshAfterWriteMillis, ExecutorService refreshExecutor) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate cache cannot be null");
+        }
+        if (refreshAfterWriteMillis > 0
+                && (expireAfterWriteMillis <= 0 || refreshAfterWriteMillis >= expireAfterWriteMillis)) {
+            throw new IllegalArgumentException("refreshAfterWrite requires a longer expireAfterWrite");
+        }
+        this.delegate = delegate;
+        this.inFlight = new ConcurrentHashMap<>();
+        this.expireAfterWriteMillis = expireAfterWriteMillis > 0 ? expireAfterWriteMillis : -1;
+        this.refreshAfterWriteMillis = refreshAfterWriteMillis > 0 ? refreshAfterWriteMillis : -1;
+        this.writeTimes = new ConcurrentHashMap<>();
+        this.writeOrder = new ConcurrentLinkedQueue<>();
+        this.refreshing = new ConcurrentHashMap<>();
+        this.locks = new Object[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+
+        if (this.refreshAfterWriteMillis > 0 && refreshExecutor == null) {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(DEFAULT_REFRESH_THREADS, DEFAULT_REFRESH_THREADS,
+                    0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(DEFAULT_REFRESH_QUEUE_SIZE), runnable -> {
+                        Thread thread = new Thread(runnable, "cache-refresh");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            this.refreshExecutor = executor;
+            this.ownsRefreshExecutor = true;
+        } else {
+            this.refreshExecutor = refreshExecutor;
+            this.ownsRefreshExecutor = false;
+        }
+    }
+
+    @Override
+    public V get(K key, Function<K, V> loader) {
+        if (key == null || loader == null) {
+            throw new IllegalArgumentException("Key and loader cannot be null");
+        }
+
+        Optional<V> cached = delegate.get(key);
+        if (cached.isPresent()) {
+            refreshIfStale(key, loader);
+            return cached.get();
+        }
+
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            // A load may have finished between our miss and registering the future
+            if (delegate.containsKey(key)) {
+                Optional<V> loaded = delegate.get(key);
+                if (loaded.isPresent()) {
+                    future.complete(loaded.get());
+                    return loaded.get();
+                }
+            }
+            V value = load(key, loader);
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    @Override
+    public Map<K, V> getAll(Set<K> keys, Function<Set<K>, Map<K, V>> bulkLoader) {
+        if (keys == null || bulkLoader == null) {
+            throw new IllegalArgumentException("Keys and bulk loader cannot be null");
+        }
+
+        Map<K, V> result = new HashMap<>();
+        Map<K, CompletableFuture<V>> claimed = new HashMap<>();
+        Map<K, CompletableFuture<V>> awaited = new HashMap<>();
+
+        for (K key : keys) {
+            Optional<V> cached = delegate.get(key);
+            if (cached.isPresent()) {
+                result.put(key, cached.get());
+                continue;
+            }
+            CompletableFuture<V> future = new CompletableFuture<>();
+            CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+            if (existing != null) {
+                awaited.put(key, existing);
+            } else {
+                claimed.put(key, future);
+            }
+        }
+
+        if (!claimed.isEmpty()) {
+            try {
+                Map<K, V> loaded = loadAll(new LinkedHashSet<>(claimed.keySet()), bulkLoader);
+                for (Map.Entry<K, CompletableFuture<V>> claim : claimed.entrySet()) {
+                    V value = loaded.get(claim.getKey());
+                    if (value != null) {
+                        result.put(claim.getKey(), value);
+                    }
+                    claim.getValue().complete(value);
+                }
+            } catch (RuntimeException | Error e) {
+                claimed.values().forEach(future -> future.completeExceptionally(e));
+                throw e;
+            } finally {
+                claimed.forEach(inFlight::remove);
+            }
+        }
+
+        for (Map.Entry<K, CompletableFuture<V>> wait : awaited.entrySet()) {
+            V value = await(wait.getValue());
+            if (value != null) {
+                result.put(wait.getKey(), value);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Optional<V> get(K key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public void put(K key, V value) {
+        write(key, value);
+    }
+
+    @Override
+    public void put(K key, V value, long ttlMillis) {
+        write(key, value, ttlMillis);
+    }
+
+    @Override
+    public Map<K, V> getAll(Collection<K> keys) {
+        return delegate.getAll(keys);
+    }
+
+    @Override
+    public void putAll(Map<K, V> entries, long ttlMillis) {
+        if (refreshAfterWriteMillis < 0) {
+            delegate.putAll(entries, ttlMillis);
+            return;
+        }
+        // Each key is written under its own stripe so a pending refresh cannot overwrite it
+        entries.forEach((key, value) -> write(key, value, ttlMillis));
+    }
+
+    @Override
+    public int invalidateAll(Collection<K> keys) {
+        if (refreshAfterWriteMillis < 0) {
+            return delegate.invalidateAll(keys);
+        }
+        int invalidated = 0;
+        for (K key : keys) {
+            if (remove(key)) {
+                invalidated++;
+            }
+        }
+        return invalidated;
+    }
+
+    @Override
+    public boolean remove(K key) {
+        if (key == null) {
+            return delegate.remove(key);
+        }
+        synchronized (lockFor(key)) {
+            writeTimes.remove(key);
+            return delegate.remove(key);
+        }
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return delegate.containsKey(key);
+    }
+
+    @Override
+    public void clear() {
+        writeTimes.clear();
+        writeOrder.clear();
+        delegate.clear();
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public int getCapacity() {
+        return delegate.getCapacity();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return delegate.isEmpty();
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return delegate.getStats();
+    }
+
+    /**
+     * Stops the refresh executor if this cache created it
+     */
+    public void shutdown() {
+        if (ownsRefreshExecutor) {
+            refreshExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Submits one asynchronous reload if the entry is past its refresh point
+     * Readers keep getting the current value while the reload runs
+     */
+    private void refreshIfStale(K key, Function<K, V> loader) {
+        if (refreshAfterWriteMillis < 0) {
+            return;
+        }
+        Long writeTime = writeTimes.get(key);
+        if (writeTime == null || System.currentTimeMillis() - writeTime < refreshAfterWriteMillis) {
+            return;
+        }
+        if (refreshing.putIfAbsent(key, Boolean.TRUE) != null) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> refresh(key, writeTime, loader));
+        } catch (RejectedExecutionException e) {
+            // Executor saturated: skip this refresh, a later read will try again
+            refreshing.remove(key);
+        }
+    }
+
+    private void refresh(K key, long expectedWriteTime, Function<K, V> loader) {
+        try {
+            V value = loader.apply(key);
+            if (value == null) {
+                delegate.getStats().recordRefreshFailure();
+                return;
+            }
+            // Only install the result if nobody wrote or removed the key meanwhile
+            synchronized (lockFor(key)) {
+                Long writeTime = writeTimes.get(key);
+                if (writeTime == null || writeTime != expectedWriteTime) {
+                    return;
+                }
+                delegate.put(key, value, expireAfterWriteMillis);
+                recordWrite(key);
+            }
+            delegate.getStats().recordRefreshSuccess();
+        } catch (RuntimeException e) {
+            delegate.getStats().recordRefreshFailure();
+        } finally {
+            refreshing.remove(key);
+        }
+    }
+
+    /**
+     * Stores a value with the expire-after-write TTL and remembers when it was written
+     */
+    private void write(K key, V value) {
+        write(key, value, expireAfterWriteMillis);
+    }
+
+    /**
+     * Stores a value and its write time under the key's lock stripe
+     */
+    private void write(K key, V value, long ttlMillis) {
+        synchronized (lockFor(key)) {
+            delegate.put(key, value, ttlMillis);
+            recordWrite(key);
+        }
+    }
+
+    private Object lockFor(K key) {
+        int hash = key == null ? 0 : key.hashCode();
+        return locks[(hash ^ (hash >>> 16)) & (LOCK_STRIPES - 1)];
+    }
+
+    /**
+     * Remembers the write time for refresh decisions and forgets write times
+     * of entries that have outlived expireAfterWrite
+     */
+    private void recordWrite(K key) {
+        if (refreshAfterWriteMillis < 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        writeTimes.put(key, now);
+        writeOrder.add(new WriteRecord<>(key, now));
+
+        // Writes are appended in time order, so expired records are always at the head
+        WriteRecord<K> head;
+        while ((head = writeOrder.peek()) != null && now - head.writeTime > expireAfterWriteMillis) {
+            if (writeOrder.poll() == head) {
+                writeTimes.remove(head.key, head.writeTime);
+            }
+        }
+    }
+
+    /**
+     * Runs the loader, caches a non-null result and records load statistics
+     */
+    private V load(K key, Function<K, V> loader) {
+        long start = System.nanoTime();
+        V value;
+        try {
+            value = loader.apply(key);
+        } catch (RuntimeException | Error e) {
+            delegate.getStats().recordLoadFailure(System.nanoTime() - start);
+            throw e;
+        }
+        if (value == null) {
+            delegate.getStats().recordLoadFailure(System.nanoTime() - start);
+            return null;
+        }
+        write(key, value);
+        delegate.getStats().recordLoadSuccess(System.nanoTime() - start);
+        return value;
+    }
+
+    /**
+     * Runs the bulk loader once, caches every non-null result and records load statistics
+     */
+    private Map<K, V> loadAll(Set<K> keys, Function<Set<K>, Map<K, V>> bulkLoader) {
+        long start = System.nanoTime();
+        Map<K, V> loaded;
+        try {
+            loaded = bulkLoader.apply(keys);
+        } catch (RuntimeException | Error e) {
+            delegate.getStats().recordLoadFailure(System.nanoTime() - start);
+            throw e;
+        }
+        if (loaded == null) {
+            delegate.getStats().recordLoadFailure(System.nanoTime() - start);
+            return Map.of();
+        }
+        for (K key : keys) {
+            V value = loaded.get(key);
+            if (value != null) {
+                write(key, value);
+            }
+        }
+        delegate.getStats().recordLoadSuccess(System.nanoTime() - start);
+        return loaded;
+    }
+
+    /**
+     * Waits for another thread's load, rethrowing its failure unwrapped
+     */
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Write time of a key, queued in write order for pruning
+     */
+    private static final class WriteRecord<K> {
+        private final K key;
+        private final long writeTime;
+
+        private WriteRecord(K key, long writeTime) {
+            this.key = key;
+            this.writeTime = writeTime;
+        }
+    }
+}
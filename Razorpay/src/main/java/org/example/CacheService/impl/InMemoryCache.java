@@ -1,18 +1,35 @@
 package org.example.CacheService.impl;
 
+import org.example.CacheService.buffer.StripedReadBuffer;
+import org.example.CacheService.enums.RemovalCause;
+import org.example.CacheService.expiry.TimerWheel;
 import org.example.CacheService.interfaces.ICache;
+import org.example.CacheService.interfaces.ICacheEventListener;
 import org.example.CacheService.interfaces.IEvictionPolicy;
+import org.example.CacheService.interfaces.IRemovalListener;
+import org.example.CacheService.interfaces.IWeigher;
+import org.example.CacheService.listener.CacheEventDispatcher;
 import org.example.CacheService.model.CacheEntry;
 import org.example.CacheService.model.CacheStats;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Thread-safe in-memory cache implementation
- * Uses ConcurrentHashMap for storage and ReadWriteLock for eviction operations
+ * Uses ConcurrentHashMap for storage and a single eviction lock for writes and policy updates
  * Supports configurable eviction policies via dependency injection
  * 
  * Design Patterns:
@@ -21,7 +38,28 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
  * 
  * Thread Safety:
  * - ConcurrentHashMap for concurrent reads/writes
- * - ReadWriteLock for coordinating eviction operations
+ * - get never takes a lock: it records the access in a lossy StripedReadBuffer,
+ *   and a read that finds an expired entry queues the key in a bounded write buffer
+ * - Writes hold the eviction lock and drain both buffers into the (non-thread-safe)
+ *   eviction policy first; a reader only drains when its stripe fills up, and
+ *   only if tryLock succeeds, so readers never block
+ * 
+ * Capacity:
+ * - Count mode: at most capacity entries (every entry weighs 1)
+ * - Weight mode: total IWeigher weight at most maximumWeight; the policy
+ *   evicts until a new entry fits, and entries heavier than the whole cache are rejected
+ * 
+ * Expiration:
+ * - TTL entries are scheduled on a hierarchical TimerWheel (O(1) schedule/cancel)
+ * - The wheel is advanced on the caller (amortized) during writes and after
+ *   a read observes an expired entry, and optionally by one maintenance thread
+ *   so entries nobody touches still free their memory
+ * 
+ * Events:
+ * - Nothing is logged; register an IRemovalListener or ICacheEventListener to
+ *   observe puts, updates, removals, expirations and evictions
+ * - Events are handed to a CacheEventDispatcher and delivered on its own thread,
+ *   so listeners never run (or format anything) on the caller's thread
  * 
  * SOLID Principles:
  * - Single Responsibility: Manages cache operations only
@@ -29,29 +67,70 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
  * - Dependency Inversion: Depends on IEvictionPolicy abstraction
  */
 public class InMemoryCache<K, V> implements ICache<K, V> {
+    private static final long EXPIRY_TICK_MILLIS = 10;
+    private static final int WRITE_BUFFER_SIZE = 128;
+    private static final int MAX_RESTORED_ACCESSES = 15;
+    
     private final int capacity;
+    private final long maximumWeight;
+    private final IWeigher<K, V> weigher;
+    private long totalWeight;
     private final ConcurrentHashMap<K, CacheEntry<K, V>> cache;
     private final IEvictionPolicy<K, V> evictionPolicy;
     private final CacheStats stats;
-    private final ReadWriteLock lock;
+    private final ReentrantLock evictionLock;
+    private final StripedReadBuffer<K> readBuffer;
+    private final Queue<K> writeBuffer;
+    private final TimerWheel<K> expiryWheel;
+    private final CacheEventDispatcher<K, V> events;
+    private ScheduledExecutorService maintenanceExecutor;
     
     /**
      * Constructor with configurable capacity and eviction policy
      * Demonstrates Dependency Injection principle
      */
     public InMemoryCache(int capacity, IEvictionPolicy<K, V> evictionPolicy) {
-        if (capacity <= 0) {
-            throw new IllegalArgumentException("Cache capacity must be positive");
+        this(requirePositiveCapacity(capacity), capacity, (key, value) -> 1, evictionPolicy);
+    }
+    
+    /**
+     * Constructor for weight-bounded caches
+     * The total weight of all entries, as computed by the weigher, never exceeds maximumWeight
+     */
+    public InMemoryCache(long maximumWeight, IWeigher<K, V> weigher, IEvictionPolicy<K, V> evictionPolicy) {
+        this(Integer.MAX_VALUE, maximumWeight, weigher, evictionPolicy);
+    }
+    
+    private InMemoryCache(int capacity, long maximumWeight, IWeigher<K, V> weigher,
+                          IEvictionPolicy<K, V> evictionPolicy) {
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("Maximum weight must be positive");
+        }
+        if (weigher == null) {
+            throw new IllegalArgumentException("Weigher cannot be null");
         }
         if (evictionPolicy == null) {
             throw new IllegalArgumentException("Eviction policy cannot be null");
         }
         
         this.capacity = capacity;
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
         this.cache = new ConcurrentHashMap<>();
         this.evictionPolicy = evictionPolicy;
         this.stats = new CacheStats();
-        this.lock = new ReentrantReadWriteLock();
+        this.evictionLock = new ReentrantLock();
+        this.readBuffer = new StripedReadBuffer<>();
+        this.writeBuffer = new ArrayBlockingQueue<>(WRITE_BUFFER_SIZE);
+        this.events = new CacheEventDispatcher<>();
+        this.expiryWheel = new TimerWheel<>(EXPIRY_TICK_MILLIS, System.currentTimeMillis());
+    }
+    
+    private static int requirePositiveCapacity(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Cache capacity must be positive");
+        }
+        return capacity;
     }
     
     @Override
@@ -60,38 +139,36 @@ public class InMemoryCache<K, V> implements ICache<K, V> {
             return Optional.empty();
         }
         
-        lock.readLock().lock();
-        try {
-            CacheEntry<K, V> entry = cache.get(key);
-            
-            // Check if entry exists and is not expired
-            if (entry == null) {
-                stats.recordMiss();
-                System.out.println("[Cache] MISS: Key '" + key + "' not found");
-                return Optional.empty();
-            }
-            
-            // Check for expiration
-            if (entry.isExpired()) {
-                stats.recordExpiration();
-                stats.recordMiss();
-                System.out.println("[Cache] EXPIRED: Key '" + key + "' has expired");
-                // Remove expired entry asynchronously
-                removeExpiredEntry(key);
-                return Optional.empty();
-            }
-            
-            // Record access for eviction policy
+        long start = System.nanoTime();
+        Optional<V> value = lookup(key);
+        stats.recordGetLatency(System.nanoTime() - start);
+        return value;
+    }
+    
+    /**
+     * Lock-free lookup behind get, recording hit/miss stats
+     */
+    private Optional<V> lookup(K key) {
+        CacheEntry<K, V> entry = cache.get(key);
+        
+        // Check if entry exists and is not expired
+        if (entry == null) {
+            stats.recordMiss();
+            return Optional.empty();
+        }
+        
+        // Check for expiration
+        if (!entry.isExpired()) {
+            // Record access for eviction policy; applied on the next drain
             entry.recordAccess();
-            evictionPolicy.recordAccess(key);
+            afterRead(key);
             stats.recordHit();
-            
-            System.out.println("[Cache] HIT: Key '" + key + "' = " + entry.getValue());
             return Optional.of(entry.getValue());
-            
-        } finally {
-            lock.readLock().unlock();
         }
+        
+        stats.recordMiss();
+        afterExpiredRead(key);
+        return Optional.empty();
     }
     
     @Override
@@ -105,58 +182,174 @@ public class InMemoryCache<K, V> implements ICache<K, V> {
             throw new IllegalArgumentException("Key and value cannot be null");
         }
         
-        lock.writeLock().lock();
+        long start = System.nanoTime();
+        evictionLock.lock();
         try {
-            // Check if key already exists (update case)
-            if (cache.containsKey(key)) {
-                CacheEntry<K, V> existingEntry = cache.get(key);
-                existingEntry.updateValue(value);
-                evictionPolicy.recordAccess(key);
+            // Catch the policy up on buffered reads and purge whatever expired
+            // since the last write before checking capacity
+            maintenance();
+            if (putEntry(key, value, ttlMillis)) {
                 stats.recordPut();
-                System.out.println("[Cache] UPDATED: Key '" + key + "' = " + value);
-                return;
             }
-            
-            // Check if cache is full - need to evict
-            if (cache.size() >= capacity) {
-                evict();
+        } finally {
+            evictionLock.unlock();
+            stats.recordPutLatency(System.nanoTime() - start);
+        }
+    }
+    
+    /**
+     * Puts every entry under a single eviction lock acquisition
+     * Expired entries are purged once up front and put stats are recorded in bulk
+     * @param entries Entries to store; null keys or values are rejected before anything is written
+     * @param ttlMillis Time to live applied to every entry; non-positive means no expiration
+     */
+    @Override
+    public void putAll(Map<K, V> entries, long ttlMillis) {
+        for (Map.Entry<K, V> entry : entries.entrySet()) {
+            if (entry.getKey() == null || entry.getValue() == null) {
+                throw new IllegalArgumentException("Key and value cannot be null");
+            }
+        }
+        
+        evictionLock.lock();
+        try {
+            maintenance();
+            int stored = 0;
+            for (Map.Entry<K, V> entry : entries.entrySet()) {
+                if (putEntry(entry.getKey(), entry.getValue(), ttlMillis)) {
+                    stored++;
+                }
             }
-            
-            // Add new entry
-            CacheEntry<K, V> newEntry = new CacheEntry<>(key, value, ttlMillis);
-            cache.put(key, newEntry);
-            evictionPolicy.recordPut(key, newEntry);
-            stats.recordPut();
-            
-            if (ttlMillis > 0) {
-                System.out.println("[Cache] PUT: Key '" + key + "' = " + value + " (TTL: " + ttlMillis + "ms)");
+            stats.recordPuts(stored);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+    
+    /**
+     * Looks up every key without taking a lock
+     * Accesses go through the read buffer like get, and hit/miss stats are recorded in bulk
+     * @return Map of every present, unexpired key to its value
+     */
+    @Override
+    public Map<K, V> getAll(Collection<K> keys) {
+        Map<K, V> result = new HashMap<>();
+        int hits = 0;
+        int misses = 0;
+        boolean drainNeeded = false;
+        
+        for (K key : keys) {
+            CacheEntry<K, V> entry = key == null ? null : cache.get(key);
+            if (entry == null) {
+                misses++;
+            } else if (entry.isExpired()) {
+                misses++;
+                // A full write buffer just leaves the key to the timer wheel
+                writeBuffer.offer(key);
+                drainNeeded = true;
             } else {
-                System.out.println("[Cache] PUT: Key '" + key + "' = " + value);
+                entry.recordAccess();
+                result.put(key, entry.getValue());
+                hits++;
+                if (readBuffer.offer(key) != StripedReadBuffer.SUCCESS) {
+                    drainNeeded = true;
+                }
             }
-            
+        }
+        
+        stats.recordHits(hits);
+        stats.recordMisses(misses);
+        
+        if (drainNeeded) {
+            tryMaintenance();
+        }
+        return result;
+    }
+    
+    /**
+     * Removes every key under a single eviction lock acquisition
+     * @return Number of entries removed
+     */
+    @Override
+    public int invalidateAll(Collection<K> keys) {
+        evictionLock.lock();
+        try {
+            drainBuffers();
+            int removed = 0;
+            for (K key : keys) {
+                if (key != null && removeEntry(key, RemovalCause.EXPLICIT)) {
+                    removed++;
+                }
+            }
+            stats.recordRemoves(removed);
+            return removed;
         } finally {
-            lock.writeLock().unlock();
+            evictionLock.unlock();
         }
     }
     
+    /**
+     * Stores one entry, evicting as needed
+     * Must be called while holding the eviction lock
+     * @return true if the entry was stored, false if it was rejected as too heavy
+     */
+    private boolean putEntry(K key, V value, long ttlMillis) {
+        int weight = weigher.weigh(key, value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("Weigher returned a negative weight for key: " + key);
+        }
+        
+        // An entry that can never fit is rejected; drop any stale value it would have replaced
+        if (weight > maximumWeight) {
+            removeEntry(key, RemovalCause.SIZE);
+            return false;
+        }
+        
+        // Check if key already exists (update case)
+        if (cache.containsKey(key)) {
+            CacheEntry<K, V> existingEntry = cache.get(key);
+            V oldValue = existingEntry.getValue();
+            existingEntry.updateValue(value, ttlMillis);
+            adjustWeight(weight - existingEntry.getWeight());
+            existingEntry.setWeight(weight);
+            scheduleExpiry(existingEntry);
+            evictionPolicy.recordAccess(key);
+            events.publishUpdated(key, oldValue, value);
+            // A heavier value may push the cache over its limit
+            evictToFit(0);
+            return true;
+        }
+        
+        // Check if cache is full - need to evict
+        evictToFit(weight);
+        
+        // Add new entry
+        CacheEntry<K, V> newEntry = new CacheEntry<>(key, value, ttlMillis);
+        newEntry.setWeight(weight);
+        cache.put(key, newEntry);
+        adjustWeight(weight);
+        scheduleExpiry(newEntry);
+        evictionPolicy.recordPut(key, newEntry);
+        events.publishCreated(key, value);
+        return true;
+    }
+    
     @Override
     public boolean remove(K key) {
         if (key == null) {
             return false;
         }
         
-        lock.writeLock().lock();
+        evictionLock.lock();
         try {
-            CacheEntry<K, V> removed = cache.remove(key);
-            if (removed != null) {
-                evictionPolicy.recordRemoval(key);
+            drainBuffers();
+            if (removeEntry(key, RemovalCause.EXPLICIT)) {
                 stats.recordRemove();
-                System.out.println("[Cache] REMOVED: Key '" + key + "'");
                 return true;
             }
             return false;
         } finally {
-            lock.writeLock().unlock();
+            evictionLock.unlock();
         }
     }
     
@@ -166,24 +359,26 @@ public class InMemoryCache<K, V> implements ICache<K, V> {
             return false;
         }
         
-        lock.readLock().lock();
-        try {
-            CacheEntry<K, V> entry = cache.get(key);
-            return entry != null && !entry.isExpired();
-        } finally {
-            lock.readLock().unlock();
-        }
+        CacheEntry<K, V> entry = cache.get(key);
+        return entry != null && !entry.isExpired();
     }
     
     @Override
     public void clear() {
-        lock.writeLock().lock();
+        evictionLock.lock();
         try {
+            // Discard buffered reads and expirations; they refer to entries being dropped
+            readBuffer.drainTo(key -> { });
+            writeBuffer.clear();
+            if (events.isEnabled()) {
+                cache.forEach((key, entry) -> events.publishRemoval(key, entry.getValue(), RemovalCause.EXPLICIT));
+            }
             cache.clear();
             evictionPolicy.clear();
-            System.out.println("[Cache] CLEARED: All entries removed");
+            expiryWheel.clear();
+            adjustWeight(-totalWeight);
         } finally {
-            lock.writeLock().unlock();
+            evictionLock.unlock();
         }
     }
     
@@ -197,6 +392,99 @@ public class InMemoryCache<K, V> implements ICache<K, V> {
         return capacity;
     }
     
+    /**
+     * Gets the maximum total weight (equal to capacity in count mode)
+     */
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+    
+    /**
+     * Gets the total weight of the entries currently stored
+     */
+    public long getTotalWeight() {
+        evictionLock.lock();
+        try {
+            return totalWeight;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+    
+    /**
+     * Gets the live entries ordered from least to most recently accessed
+     * Used to write snapshots; the entries are the cache's own objects and must
+     * not be modified. Iteration is weakly consistent and takes no lock
+     */
+    public List<CacheEntry<K, V>> entriesByAccessTime() {
+        List<CacheEntry<K, V>> entries = new ArrayList<>(cache.size());
+        for (CacheEntry<K, V> entry : cache.values()) {
+            if (!entry.isExpired()) {
+                entries.add(entry);
+            }
+        }
+        entries.sort(Comparator.comparingLong(CacheEntry::getLastAccessTime));
+        return entries;
+    }
+    
+    /**
+     * Removes an entry that is being moved to another node
+     * Listeners see a MIGRATED removal; not counted as a remove
+     * @return true if the entry was present
+     */
+    public boolean migrateOut(K key) {
+        if (key == null) {
+            return false;
+        }
+        
+        evictionLock.lock();
+        try {
+            drainBuffers();
+            return removeEntry(key, RemovalCause.MIGRATED);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+    
+    /**
+     * Re-inserts an entry read from a snapshot
+     * A key already present wins, since it was written after the snapshot was taken
+     * The eviction policy is replayed accessCount times (capped) so frequency-based
+     * policies keep hot entries hot; not counted as a put
+     * @param expirationTime Absolute expiration time in epoch millis, -1 for none
+     * @return true if the entry was restored, false if present, expired or too heavy
+     */
+    public boolean restore(K key, V value, long expirationTime, int accessCount) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("Key and value cannot be null");
+        }
+        
+        evictionLock.lock();
+        try {
+            maintenance();
+            if (cache.containsKey(key)) {
+                return false;
+            }
+            long ttlMillis = -1;
+            if (expirationTime != -1) {
+                ttlMillis = expirationTime - System.currentTimeMillis();
+                if (ttlMillis <= 0) {
+                    return false;
+                }
+            }
+            if (!putEntry(key, value, ttlMillis)) {
+                return false;
+            }
+            int replays = Math.min(accessCount, MAX_RESTORED_ACCESSES);
+            for (int i = 0; i < replays; i++) {
+                evictionPolicy.recordAccess(key);
+            }
+            return true;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+    
     @Override
     public boolean isEmpty() {
         return cache.isEmpty();
@@ -207,34 +495,235 @@ public class InMemoryCache<K, V> implements ICache<K, V> {
         return stats;
     }
     
+    /**
+     * Applies buffered reads and purges every entry whose TTL has passed
+     * Can be called periodically by the application, or use startExpiryMaintenance
+     */
+    public void cleanUp() {
+        evictionLock.lock();
+        try {
+            maintenance();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+    
+    /**
+     * Starts a single daemon maintenance thread that purges expired entries
+     * every periodMillis, so entries that are never read again are still freed
+     */
+    public synchronized void startExpiryMaintenance(long periodMillis) {
+        if (periodMillis <= 0) {
+            throw new IllegalArgumentException("Maintenance period must be positive");
+        }
+        if (maintenanceExecutor != null) {
+            throw new IllegalStateException("Expiry maintenance already started");
+        }
+        maintenanceExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-expiry-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        maintenanceExecutor.scheduleWithFixedDelay(this::cleanUp, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * Registers a listener notified, asynchronously, of every entry that leaves the cache
+     */
+    public void addRemovalListener(IRemovalListener<K, V> listener) {
+        events.addRemovalListener(listener);
+    }
+    
+    /**
+     * Registers a listener notified, asynchronously, of every create, update and removal
+     */
+    public void addEventListener(ICacheEventListener<K, V> listener) {
+        events.addEventListener(listener);
+    }
+    
+    /**
+     * Gets the number of listener events dropped because listeners fell too far behind
+     */
+    public long getDroppedEvents() {
+        return events.getDroppedEvents();
+    }
+    
+    /**
+     * Gets the number of listener calls that threw; delivery to other listeners continues
+     */
+    public long getListenerFailures() {
+        return events.getListenerFailures();
+    }
+    
+    /**
+     * Stops the expiry maintenance thread, if one was started, and the event thread
+     */
+    public synchronized void shutdown() {
+        if (maintenanceExecutor != null) {
+            maintenanceExecutor.shutdownNow();
+            maintenanceExecutor = null;
+        }
+        events.shutdown();
+    }
+    
+    /**
+     * Records a hit in the read buffer, draining it if this thread's stripe is filling up
+     */
+    private void afterRead(K key) {
+        if (readBuffer.offer(key) != StripedReadBuffer.SUCCESS) {
+            tryMaintenance();
+        }
+    }
+    
+    /**
+     * Queues an expired key for purging and tries to purge it right away
+     * A full write buffer drops the key; the timer wheel still purges it on time
+     */
+    private void afterExpiredRead(K key) {
+        writeBuffer.offer(key);
+        tryMaintenance();
+    }
+    
+    /**
+     * Runs maintenance only if the eviction lock is free
+     * Skipped if a writer holds the lock; that writer drains the buffers itself
+     */
+    private void tryMaintenance() {
+        if (evictionLock.tryLock()) {
+            try {
+                maintenance();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+    
+    /**
+     * Drains both buffers, then advances the timer wheel
+     * Must be called while holding the eviction lock
+     */
+    private void maintenance() {
+        drainBuffers();
+        advanceExpiry();
+    }
+    
+    /**
+     * Replays buffered reads into the eviction policy and purges buffered expired keys
+     * Reads of keys removed since they were buffered are dropped, so the policy
+     * never learns about a key the cache no longer holds
+     * Must be called while holding the eviction lock
+     */
+    private void drainBuffers() {
+        readBuffer.drainTo(key -> {
+            if (cache.containsKey(key)) {
+                evictionPolicy.recordAccess(key);
+            }
+        });
+        K expired;
+        while ((expired = writeBuffer.poll()) != null) {
+            expireKey(expired);
+        }
+    }
+    
     /**
      * Private method to handle eviction
      * Called when cache is full and new entry needs to be added
+     * @return true if an entry was evicted, false if the policy had nothing left to evict
      */
-    private void evict() {
+    private boolean evict() {
+        long start = System.nanoTime();
         K keyToEvict = evictionPolicy.evict();
-        if (keyToEvict != null) {
-            cache.remove(keyToEvict);
-            stats.recordEviction();
-            System.out.println("[Cache] EVICTED: Key '" + keyToEvict + "' removed due to capacity limit");
+        if (keyToEvict == null) {
+            return false;
         }
+        CacheEntry<K, V> evicted = cache.remove(keyToEvict);
+        expiryWheel.cancel(keyToEvict);
+        if (evicted != null) {
+            adjustWeight(-evicted.getWeight());
+            stats.recordEviction(evicted.getWeight());
+            stats.recordEvictionLatency(System.nanoTime() - start);
+            events.publishRemoval(keyToEvict, evicted.getValue(), RemovalCause.SIZE);
+        }
+        return true;
     }
     
     /**
-     * Removes an expired entry
-     * Called when get() finds an expired entry
+     * Evicts through the policy until incomingWeight more fits within maximumWeight
+     * Must be called while holding the eviction lock
      */
-    private void removeExpiredEntry(K key) {
-        // Use a separate thread to avoid blocking the read operation
-        new Thread(() -> {
-            lock.writeLock().lock();
-            try {
-                cache.remove(key);
-                evictionPolicy.recordRemoval(key);
-            } finally {
-                lock.writeLock().unlock();
+    private void evictToFit(long incomingWeight) {
+        while (!cache.isEmpty() && totalWeight + incomingWeight > maximumWeight) {
+            if (!evict()) {
+                return;
             }
-        }).start();
+        }
+    }
+    
+    /**
+     * Removes an entry on behalf of a caller and reports why
+     * Must be called while holding the eviction lock
+     */
+    private boolean removeEntry(K key, RemovalCause cause) {
+        CacheEntry<K, V> removed = cache.remove(key);
+        if (removed == null) {
+            return false;
+        }
+        expiryWheel.cancel(key);
+        evictionPolicy.recordRemoval(key);
+        adjustWeight(-removed.getWeight());
+        events.publishRemoval(key, removed.getValue(), cause);
+        return true;
+    }
+    
+    /**
+     * Keeps the cache's weight and the reported stats gauge in step
+     * Must be called while holding the eviction lock
+     */
+    private void adjustWeight(long delta) {
+        totalWeight += delta;
+        stats.recordWeightChange(delta);
+    }
+    
+    /**
+     * Schedules or cancels the entry's expiration to match its current TTL
+     * Must be called while holding the eviction lock
+     */
+    private void scheduleExpiry(CacheEntry<K, V> entry) {
+        if (entry.getExpirationTime() == -1) {
+            expiryWheel.cancel(entry.getKey());
+        } else {
+            expiryWheel.schedule(entry.getKey(), entry.getExpirationTime());
+        }
+    }
+    
+    /**
+     * Advances the timer wheel to now, purging every entry it fires
+     * Must be called while holding the eviction lock
+     */
+    private void advanceExpiry() {
+        expiryWheel.advance(System.currentTimeMillis(), this::expireKey);
+    }
+    
+    /**
+     * Removes an entry if it has expired
+     * Must be called while holding the eviction lock
+     */
+    private void expireKey(K key) {
+        CacheEntry<K, V> entry = cache.get(key);
+        if (entry == null) {
+            return;
+        }
+        if (!entry.isExpired()) {
+            // Fired within the same millisecond as the deadline; try again next tick
+            scheduleExpiry(entry);
+            return;
+        }
+        cache.remove(key);
+        expiryWheel.cancel(key);
+        evictionPolicy.recordRemoval(key);
+        adjustWeight(-entry.getWeight());
+        stats.recordExpiration();
+        events.publishRemoval(key, entry.getValue(), RemovalCause.EXPIRED);
     }
     
     /**
@@ -243,15 +732,10 @@ public class InMemoryCache<K, V> implements ICache<K, V> {
     public void printCache() {
         System.out.println("\n===== Cache Contents =====");
         System.out.println("Size: " + size() + "/" + capacity);
-        lock.readLock().lock();
-        try {
-            cache.forEach((key, entry) -> {
-                System.out.println("  " + key + " -> " + entry.getValue() + 
-                                 " (accessCount=" + entry.getAccessCount() + ")");
-            });
-        } finally {
-            lock.readLock().unlock();
-        }
+        cache.forEach((key, entry) -> {
+            System.out.println("  " + key + " -> " + entry.getValue() + 
+                             " (accessCount=" + entry.getAccessCount() + ")");
+        });
         System.out.println("==========================\n");
     }
 }
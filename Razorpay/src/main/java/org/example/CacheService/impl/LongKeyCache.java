@@ -0,0 +1,498 @@
+package org.example.CacheService.impl;
+
+import org.example.CacheService.interfaces.ICache;
+import org.example.CacheService.interfaces.IIndexEvictionPolicy;
+import org.example.CacheService.model.CacheStats;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cache specialized for primitive long keys
+ * Keeps every entry in parallel arrays instead of per-entry objects, so a cached
+ * value costs the heap a few dozen bytes of array slots rather than a boxed key,
+ * a map node, a CacheEntry and a policy node
+ *
+ * Storage:
+ * - Entry ids are dense in [0, capacity): long[] keys, Object[] values and
+ *   long[] expirations (-1 = never) are indexed by id; free ids sit on an int[] stack
+ * - The expirations array is only allocated by the first put with a TTL
+ * - Lookup is an open-addressing int[] table holding id + 1 (0 = empty), probed
+ *   linearly from a mixed hash of the key; deletions shift later probes back
+ *   instead of leaving tombstones
+ * - The table stays at most half full, so probe sequences remain short
+ *
+ * Eviction:
+ * - The eviction policy is an IIndexEvictionPolicy keyed by entry id, so
+ *   recording an access never boxes a key or allocates a node
+ *
+ * Expiration:
+ * - Expired entries are dropped when read, and each put sweeps a few ids
+ *   so entries nobody reads still free their memory; cleanUp() sweeps them all
+ *
+ * Thread Safety:
+ * - One ReentrantLock guards the arrays and the policy
+ * - The primitive methods (getIfPresent(long), put(long, V), ...) allocate
+ *   nothing of their own; only lock contention may queue a waiter node
+ *
+ * Trade-offs:
+ * - Capacity is fixed at construction and the arrays are allocated up front
+ * - The ICache methods box keys and wrap results in Optional for compatibility
+ */
+public class LongKeyCache<V> implements ICache<Long, V> {
+    private static final int EMPTY = 0;
+    private static final long NO_EXPIRATION = -1L;
+    private static final int SWEEP_PER_WRITE = 8;
+
+    private final int capacity;
+    private final long[] keys;
+    private final Object[] values;
+    private long[] expirations;
+    private final int[] freeIds;
+    private final int[] table;
+    private final int mask;
+    private final IIndexEvictionPolicy evictionPolicy;
+    private final CacheStats stats;
+    private final ReentrantLock lock;
+
+    private int freeCount;
+    private int size;
+    private int sweepCursor;
+
+    public LongKeyCache(int capacity, IIndexEvictionPolicy evictionPolicy) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Cache capacity must be positive");
+        }
+        if (capacity > 1 << 29) {
+            throw new IllegalArgumentException("Cache capacity must be at most " + (1 << 29));
+        }
+        if (evictionPolicy == null) {
+            throw new IllegalArgumentException("Eviction policy cannot be null");
+        }
+
+        this.capacity = capacity;
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+        this.freeIds = new int[capacity];
+        // Smallest power of two at least twice the capacity keeps the load factor <= 0.5
+        this.table = new int[Integer.highestOneBit(capacity * 2 - 1) << 1];
+        this.mask = table.length - 1;
+        this.evictionPolicy = evictionPolicy;
+        this.stats = new CacheStats();
+        this.lock = new ReentrantLock();
+        resetFreeIds();
+    }
+
+    /**
+     * Retrieves the value for a key without boxing or allocating
+     * @return The value, or null if absent or expired
+     */
+    public V getIfPresent(long key) {
+        long start = System.nanoTime();
+        lock.lock();
+        try {
+            int slot = findSlot(key);
+            if (slot < 0) {
+                stats.recordMiss();
+                return null;
+            }
+            int id = table[slot] - 1;
+            if (isExpired(id, System.currentTimeMillis())) {
+                deleteSlot(slot);
+                release(id);
+                evictionPolicy.recordRemoval(id);
+                stats.recordExpiration();
+                stats.recordMiss();
+                return null;
+            }
+            evictionPolicy.recordAccess(id);
+            stats.recordHit();
+            return valueAt(id);
+        } finally {
+            lock.unlock();
+            stats.recordGetLatency(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Stores a value for a key without boxing
+     */
+    public void put(long key, V value) {
+        put(key, value, -1);
+    }
+
+    /**
+     * Stores a value for a key with TTL without boxing
+     * @param ttlMillis Time to live in milliseconds; non-positive means no expiration
+     */
+    public void put(long key, V value, long ttlMillis) {
+        if (value == null) {
+            throw new IllegalArgumentException("Value cannot be null");
+        }
+
+        long now = System.currentTimeMillis();
+        long expirationTime = ttlMillis > 0 ? now + ttlMillis : NO_EXPIRATION;
+        long start = System.nanoTime();
+        lock.lock();
+        try {
+            putLocked(key, value, expirationTime, now);
+        } finally {
+            lock.unlock();
+            stats.recordPutLatency(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Removes a key without boxing
+     * @return true if removed, false if key not found
+     */
+    public boolean remove(long key) {
+        lock.lock();
+        try {
+            if (!removeLocked(key)) {
+                return false;
+            }
+            stats.recordRemove();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Checks for a live entry without boxing; does not count as an access
+     */
+    public boolean containsKey(long key) {
+        lock.lock();
+        try {
+            int slot = findSlot(key);
+            return slot >= 0 && !isExpired(table[slot] - 1, System.currentTimeMillis());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<V> get(Long key) {
+        if (key == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(getIfPresent(key.longValue()));
+    }
+
+    @Override
+    public void put(Long key, V value) {
+        put(key, value, -1);
+    }
+
+    @Override
+    public void put(Long key, V value, long ttlMillis) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key and value cannot be null");
+        }
+        put(key.longValue(), value, ttlMillis);
+    }
+
+    @Override
+    public Map<Long, V> getAll(Collection<Long> keys) {
+        Map<Long, V> result = new HashMap<>();
+        long now = System.currentTimeMillis();
+        long hits = 0;
+        long misses = 0;
+
+        lock.lock();
+        try {
+            for (Long key : keys) {
+                int slot = key == null ? -1 : findSlot(key);
+                if (slot < 0) {
+                    misses++;
+                    continue;
+                }
+                int id = table[slot] - 1;
+                if (isExpired(id, now)) {
+                    deleteSlot(slot);
+                    release(id);
+                    evictionPolicy.recordRemoval(id);
+                    stats.recordExpiration();
+                    misses++;
+                    continue;
+                }
+                evictionPolicy.recordAccess(id);
+                result.put(key, valueAt(id));
+                hits++;
+            }
+        } finally {
+            lock.unlock();
+        }
+        stats.recordHits(hits);
+        stats.recordMisses(misses);
+        return result;
+    }
+
+    @Override
+    public void putAll(Map<Long, V> entries, long ttlMillis) {
+        for (Map.Entry<Long, V> entry : entries.entrySet()) {
+            if (entry.getKey() == null || entry.getValue() == null) {
+                throw new IllegalArgumentException("Key and value cannot be null");
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        long expirationTime = ttlMillis > 0 ? now + ttlMillis : NO_EXPIRATION;
+        lock.lock();
+        try {
+            for (Map.Entry<Long, V> entry : entries.entrySet()) {
+                putLocked(entry.getKey(), entry.getValue(), expirationTime, now);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int invalidateAll(Collection<Long> keys) {
+        int removed = 0;
+        lock.lock();
+        try {
+            for (Long key : keys) {
+                if (key != null && removeLocked(key)) {
+                    removed++;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        stats.recordRemoves(removed);
+        return removed;
+    }
+
+    @Override
+    public boolean remove(Long key) {
+        return key != null && remove(key.longValue());
+    }
+
+    @Override
+    public boolean containsKey(Long key) {
+        return key != null && containsKey(key.longValue());
+    }
+
+    /**
+     * Removes every expired entry now instead of waiting for reads and puts to reach them
+     * @return Number of entries removed
+     */
+    public int cleanUp() {
+        lock.lock();
+        try {
+            return sweep(capacity, System.currentTimeMillis());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            Arrays.fill(table, EMPTY);
+            Arrays.fill(values, null);
+            evictionPolicy.clear();
+            resetFreeIds();
+            size = 0;
+            sweepCursor = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return stats;
+    }
+
+    private void putLocked(long key, V value, long expirationTime, long now) {
+        sweep(SWEEP_PER_WRITE, now);
+
+        int slot = findSlot(key);
+        if (slot >= 0) {
+            int id = table[slot] - 1;
+            values[id] = value;
+            setExpiration(id, expirationTime);
+            evictionPolicy.recordAccess(id);
+            stats.recordPut();
+            return;
+        }
+
+        if (freeCount == 0) {
+            evict();
+        }
+        int id = freeIds[--freeCount];
+        keys[id] = key;
+        values[id] = value;
+        setExpiration(id, expirationTime);
+        insertSlot(key, id);
+        size++;
+        evictionPolicy.recordInsert(id, key);
+        stats.recordPut();
+    }
+
+    private boolean removeLocked(long key) {
+        int slot = findSlot(key);
+        if (slot < 0) {
+            return false;
+        }
+        int id = table[slot] - 1;
+        deleteSlot(slot);
+        release(id);
+        evictionPolicy.recordRemoval(id);
+        return true;
+    }
+
+    /**
+     * Frees one id chosen by the eviction policy
+     */
+    private void evict() {
+        long start = System.nanoTime();
+        int id = evictionPolicy.evict();
+        if (id < 0) {
+            throw new IllegalStateException("Eviction policy returned no victim for a full cache");
+        }
+        deleteSlot(findSlot(keys[id]));
+        release(id);
+        stats.recordEviction();
+        stats.recordEvictionLatency(System.nanoTime() - start);
+    }
+
+    /**
+     * Checks the next ids after the sweep cursor and removes those that have expired
+     * @return Number of entries removed
+     */
+    private int sweep(int count, long now) {
+        int removed = 0;
+        if (expirations == null) {
+            return removed;
+        }
+        for (int i = 0; i < count && size > 0; i++) {
+            int id = sweepCursor;
+            sweepCursor = sweepCursor + 1 == capacity ? 0 : sweepCursor + 1;
+            if (values[id] != null && isExpired(id, now)) {
+                deleteSlot(findSlot(keys[id]));
+                release(id);
+                evictionPolicy.recordRemoval(id);
+                stats.recordExpiration();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    private boolean isExpired(int id, long now) {
+        return expirations != null && expirations[id] != NO_EXPIRATION && now > expirations[id];
+    }
+
+    private void setExpiration(int id, long expirationTime) {
+        if (expirations == null) {
+            if (expirationTime == NO_EXPIRATION) {
+                return;
+            }
+            expirations = new long[capacity];
+            Arrays.fill(expirations, NO_EXPIRATION);
+        }
+        expirations[id] = expirationTime;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(int id) {
+        return (V) values[id];
+    }
+
+    /**
+     * Returns an id to the free stack; its table slot must already be deleted
+     */
+    private void release(int id) {
+        values[id] = null;
+        freeIds[freeCount++] = id;
+        size--;
+    }
+
+    private void resetFreeIds() {
+        // Hand out low ids first so a partly filled cache touches a compact prefix of each array
+        for (int i = 0; i < capacity; i++) {
+            freeIds[i] = capacity - 1 - i;
+        }
+        freeCount = capacity;
+    }
+
+    /**
+     * Finds the table slot holding key
+     * @return Slot index, or -1 if key is not present
+     */
+    private int findSlot(long key) {
+        int slot = hash(key) & mask;
+        while (table[slot] != EMPTY) {
+            if (keys[table[slot] - 1] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void insertSlot(long key, int id) {
+        int slot = hash(key) & mask;
+        while (table[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = id + 1;
+    }
+
+    /**
+     * Empties a slot and shifts back later entries of the probe run that
+     * would otherwise become unreachable (backward-shift deletion)
+     */
+    private void deleteSlot(int slot) {
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (table[next] != EMPTY) {
+            int home = hash(keys[table[next] - 1]) & mask;
+            // Move the entry if its home is not cyclically within (hole, next]
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                table[hole] = table[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        table[hole] = EMPTY;
+    }
+
+    /**
+     * Spreads sequential keys across the table (Fibonacci hashing of both halves)
+     */
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,562 @@
+package org.example.CacheService.impl;
+
+import org.example.CacheService.interfaces.ICache;
+import org.example.CacheService.interfaces.ISerializer;
+import org.example.CacheService.model.CacheStats;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Off-heap cache implementation
+ * Stores serialized keys and values in slab-allocated direct ByteBuffers
+ * (or memory-mapped file regions) so the GC never scans cached data
+ *
+ * Storage:
+ * - Capacity is a byte budget split into fixed-size slabs, allocated lazily
+ * - Records are appended to the active slab (bump-pointer allocation):
+ *     [int keyLength][int valueLength][long expirationTime][key bytes][value bytes]
+ * - Updates and removals leave the old bytes in place; they are reclaimed
+ *   when their slab is recycled
+ *
+ * On-heap index:
+ * - Open-addressing table of parallel int[] hashes and long[] locations
+ *   (slab << 32 | offset), so the heap holds 12 bytes per slot and no objects per entry
+ * - Keys are compared byte-by-byte against the key stored in the slab
+ *
+ * Eviction (CLOCK over slabs):
+ * - Each slab has a referenced bit, set whenever one of its records is read
+ * - When no slab is free, the hand sweeps the slabs, clearing referenced bits,
+ *   and recycles the first slab whose bit was already clear, dropping every
+ *   record still indexed in it
+ *
+ * Thread Safety:
+ * - Reads use absolute ByteBuffer access under a shared read lock
+ * - Writes, eviction and index resizing run under the write lock
+ *
+ * Trade-offs:
+ * - get() allocates the deserialized value; keys are serialized on every call
+ * - Eviction granularity is a whole slab, not a single entry
+ * - A memory-mapped backing file is a spill area, not persistence: the index
+ *   lives on the heap and is rebuilt empty on restart
+ */
+public class OffHeapCache<K, V> implements ICache<K, V> {
+    private static final int DEFAULT_SLAB_BYTES = 1 << 20;
+    private static final int HEADER_BYTES = 16;
+    private static final int INITIAL_INDEX_SLOTS = 1024;
+    private static final long EMPTY = -1L;
+    private static final long DELETED = -2L;
+
+    private final long capacityBytes;
+    private final int slabBytes;
+    private final ISerializer<K> keySerializer;
+    private final ISerializer<V> valueSerializer;
+    private final FileChannel backingChannel;
+    private final ByteBuffer[] slabs;
+    private final int[] slabWritePositions;
+    private final boolean[] referenced;
+    private final CacheStats stats;
+    private final ReadWriteLock lock;
+
+    private int allocatedSlabs;
+    private int activeSlab;
+    private int clockHand;
+
+    private int[] indexHashes;
+    private long[] indexLocations;
+    private int indexUsed;
+    private int size;
+
+    /**
+     * Creates an off-heap cache backed by direct memory with 1 MB slabs
+     */
+    public OffHeapCache(long capacityBytes, ISerializer<K> keySerializer, ISerializer<V> valueSerializer) {
+        this(capacityBytes, DEFAULT_SLAB_BYTES, keySerializer, valueSerializer, null);
+    }
+
+    /**
+     * Creates an off-heap cache
+     * @param capacityBytes Total bytes available for records
+     * @param slabBytes Size of each slab; also the largest record that can be stored
+     * @param backingFile Optional file to memory-map slabs from; null uses direct memory
+     */
+    public OffHeapCache(long capacityBytes, int slabBytes, ISerializer<K> keySerializer,
+                        ISerializer<V> valueSerializer, Path backingFile) {
+        if (capacityBytes <= 0) {
+            throw new IllegalArgumentException("Cache capacity must be positive");
+        }
+        if (slabBytes <= HEADER_BYTES) {
+            throw new IllegalArgumentException("Slab size must be larger than " + HEADER_BYTES + " bytes");
+        }
+        if (keySerializer == null || valueSerializer == null) {
+            throw new IllegalArgumentException("Serializers cannot be null");
+        }
+
+        int effectiveSlabBytes = (int) Math.min(slabBytes, capacityBytes);
+        long slabCount = capacityBytes / effectiveSlabBytes;
+        if (slabCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many slabs; increase the slab size");
+        }
+
+        this.capacityBytes = slabCount * effectiveSlabBytes;
+        this.slabBytes = effectiveSlabBytes;
+        this.keySerializer = keySerializer;
+        this.valueSerializer = valueSerializer;
+        this.slabs = new ByteBuffer[(int) slabCount];
+        this.slabWritePositions = new int[(int) slabCount];
+        this.referenced = new boolean[(int) slabCount];
+        this.stats = new CacheStats();
+        this.lock = new ReentrantReadWriteLock();
+        this.activeSlab = -1;
+        this.indexHashes = new int[INITIAL_INDEX_SLOTS];
+        this.indexLocations = new long[INITIAL_INDEX_SLOTS];
+        Arrays.fill(indexLocations, EMPTY);
+
+        if (backingFile == null) {
+            this.backingChannel = null;
+        } else {
+            try {
+                this.backingChannel = FileChannel.open(backingFile,
+                        StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to open backing file " + backingFile, e);
+            }
+        }
+    }
+
+    @Override
+    public Optional<V> get(K key) {
+        if (key == null) {
+            return Optional.empty();
+        }
+
+        long start = System.nanoTime();
+        Optional<V> value = lookup(key);
+        stats.recordGetLatency(System.nanoTime() - start);
+        return value;
+    }
+
+    /**
+     * Lookup behind get, recording hit/miss stats
+     */
+    private Optional<V> lookup(K key) {
+        byte[] keyBytes = keySerializer.serialize(key);
+        int hash = hash(keyBytes);
+        long expiredLocation;
+
+        lock.readLock().lock();
+        try {
+            int slot = findSlot(keyBytes, hash);
+            if (slot < 0) {
+                stats.recordMiss();
+                return Optional.empty();
+            }
+
+            long location = indexLocations[slot];
+            int slab = slabOf(location);
+            int offset = offsetOf(location);
+            ByteBuffer buffer = slabs[slab];
+            if (!isExpired(buffer, offset)) {
+                int keyLength = buffer.getInt(offset);
+                byte[] valueBytes = new byte[buffer.getInt(offset + 4)];
+                buffer.get(offset + HEADER_BYTES + keyLength, valueBytes);
+                // Benign race: concurrent readers all write true
+                referenced[slab] = true;
+                stats.recordHit();
+                return Optional.of(valueSerializer.deserialize(valueBytes));
+            }
+
+            stats.recordMiss();
+            expiredLocation = location;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Drop the expired index slot if no writer is busy; otherwise slab recycling reclaims it
+        if (lock.writeLock().tryLock()) {
+            try {
+                int slot = findSlot(keyBytes, hash);
+                if (slot >= 0 && indexLocations[slot] == expiredLocation) {
+                    deleteSlot(slot);
+                    stats.recordExpiration();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public void put(K key, V value) {
+        put(key, value, -1);
+    }
+
+    @Override
+    public void put(K key, V value, long ttlMillis) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("Key and value cannot be null");
+        }
+
+        byte[] keyBytes = keySerializer.serialize(key);
+        byte[] valueBytes = valueSerializer.serialize(value);
+        long recordBytes = (long) HEADER_BYTES + keyBytes.length + valueBytes.length;
+        if (recordBytes > slabBytes) {
+            throw new IllegalArgumentException("Entry of " + recordBytes + " bytes exceeds slab size of "
+                    + slabBytes + " bytes");
+        }
+        int hash = hash(keyBytes);
+        long expirationTime = ttlMillis > 0 ? System.currentTimeMillis() + ttlMillis : -1;
+
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            // Allocation may recycle a slab, which can drop this key's old record from the index
+            long location = allocate((int) recordBytes);
+            ByteBuffer buffer = slabs[slabOf(location)];
+            int offset = offsetOf(location);
+            buffer.putInt(offset, keyBytes.length);
+            buffer.putInt(offset + 4, valueBytes.length);
+            buffer.putLong(offset + 8, expirationTime);
+            buffer.put(offset + HEADER_BYTES, keyBytes);
+            buffer.put(offset + HEADER_BYTES + keyBytes.length, valueBytes);
+            referenced[slabOf(location)] = true;
+
+            int slot = findSlot(keyBytes, hash);
+            if (slot >= 0) {
+                indexLocations[slot] = location;
+            } else {
+                insertSlot(hash, location);
+            }
+            stats.recordPut();
+        } finally {
+            lock.writeLock().unlock();
+            stats.recordPutLatency(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public boolean remove(K key) {
+        if (key == null) {
+            return false;
+        }
+
+        byte[] keyBytes = keySerializer.serialize(key);
+        int hash = hash(keyBytes);
+        lock.writeLock().lock();
+        try {
+            int slot = findSlot(keyBytes, hash);
+            if (slot < 0) {
+                return false;
+            }
+            deleteSlot(slot);
+            stats.recordRemove();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        if (key == null) {
+            return false;
+        }
+
+        byte[] keyBytes = keySerializer.serialize(key);
+        int hash = hash(keyBytes);
+        lock.readLock().lock();
+        try {
+            int slot = findSlot(keyBytes, hash);
+            if (slot < 0) {
+                return false;
+            }
+            long location = indexLocations[slot];
+            return !isExpired(slabs[slabOf(location)], offsetOf(location));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            Arrays.fill(indexLocations, EMPTY);
+            Arrays.fill(slabWritePositions, 0);
+            Arrays.fill(referenced, false);
+            indexUsed = 0;
+            size = 0;
+            activeSlab = -1;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the capacity in bytes, capped at Integer.MAX_VALUE
+     * Use getCapacityBytes() for caches larger than 2 GB
+     */
+    @Override
+    public int getCapacity() {
+        return (int) Math.min(capacityBytes, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Gets the capacity in bytes (a whole number of slabs)
+     */
+    public long getCapacityBytes() {
+        return capacityBytes;
+    }
+
+    /**
+     * Gets the bytes written into slabs, including superseded records not yet reclaimed
+     */
+    public long getUsedBytes() {
+        lock.readLock().lock();
+        try {
+            long used = 0;
+            for (int position : slabWritePositions) {
+                used += position;
+            }
+            return used;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Releases the backing file, if any
+     * Direct buffers are released when the cache becomes unreachable
+     */
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (backingChannel != null) {
+                backingChannel.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close backing file", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reserves space for a record, recycling a slab with the CLOCK hand if needed
+     * @return Packed location of the reserved space
+     */
+    private long allocate(int recordBytes) {
+        if (activeSlab < 0 || slabWritePositions[activeSlab] + recordBytes > slabBytes) {
+            activeSlab = allocatedSlabs < slabs.length ? newSlab() : recycleSlab();
+        }
+        int offset = slabWritePositions[activeSlab];
+        slabWritePositions[activeSlab] = offset + recordBytes;
+        return ((long) activeSlab << 32) | offset;
+    }
+
+    private int newSlab() {
+        int slab = allocatedSlabs;
+        if (backingChannel == null) {
+            slabs[slab] = ByteBuffer.allocateDirect(slabBytes);
+        } else {
+            try {
+                slabs[slab] = backingChannel.map(FileChannel.MapMode.READ_WRITE, (long) slab * slabBytes, slabBytes);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to map slab " + slab, e);
+            }
+        }
+        allocatedSlabs++;
+        return slab;
+    }
+
+    /**
+     * Advances the CLOCK hand to a slab that was not read since the last sweep
+     * and drops every record still indexed in it
+     */
+    private int recycleSlab() {
+        while (referenced[clockHand]) {
+            referenced[clockHand] = false;
+            clockHand = (clockHand + 1) % slabs.length;
+        }
+        int slab = clockHand;
+        clockHand = (clockHand + 1) % slabs.length;
+
+        ByteBuffer buffer = slabs[slab];
+        long now = System.currentTimeMillis();
+        int offset = 0;
+        int end = slabWritePositions[slab];
+        while (offset < end) {
+            int keyLength = buffer.getInt(offset);
+            int valueLength = buffer.getInt(offset + 4);
+            long location = ((long) slab << 32) | offset;
+            int slot = findSlotByLocation(hash(buffer, offset + HEADER_BYTES, keyLength), location);
+            if (slot >= 0) {
+                long expirationTime = buffer.getLong(offset + 8);
+                deleteSlot(slot);
+                if (expirationTime != -1 && now > expirationTime) {
+                    stats.recordExpiration();
+                } else {
+                    stats.recordEviction();
+                }
+            }
+            offset += HEADER_BYTES + keyLength + valueLength;
+        }
+        slabWritePositions[slab] = 0;
+        return slab;
+    }
+
+    private int findSlot(byte[] keyBytes, int hash) {
+        int mask = indexLocations.length - 1;
+        int i = hash & mask;
+        while (true) {
+            long location = indexLocations[i];
+            if (location == EMPTY) {
+                return -1;
+            }
+            if (location != DELETED && indexHashes[i] == hash && keyEquals(location, keyBytes)) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    private int findSlotByLocation(int hash, long location) {
+        int mask = indexLocations.length - 1;
+        int i = hash & mask;
+        while (indexLocations[i] != EMPTY) {
+            if (indexLocations[i] == location) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void insertSlot(int hash, long location) {
+        if ((indexUsed + 1) * 4L > indexLocations.length * 3L) {
+            resizeIndex();
+        }
+        int mask = indexLocations.length - 1;
+        int i = hash & mask;
+        while (indexLocations[i] != EMPTY && indexLocations[i] != DELETED) {
+            i = (i + 1) & mask;
+        }
+        if (indexLocations[i] == EMPTY) {
+            indexUsed++;
+        }
+        indexHashes[i] = hash;
+        indexLocations[i] = location;
+        size++;
+    }
+
+    private void deleteSlot(int slot) {
+        indexLocations[slot] = DELETED;
+        size--;
+    }
+
+    /**
+     * Rehashes live slots, doubling the table only if tombstones are not the reason it filled up
+     */
+    private void resizeIndex() {
+        int[] oldHashes = indexHashes;
+        long[] oldLocations = indexLocations;
+        int newLength = size * 2L >= oldLocations.length ? oldLocations.length * 2 : oldLocations.length;
+
+        indexHashes = new int[newLength];
+        indexLocations = new long[newLength];
+        Arrays.fill(indexLocations, EMPTY);
+        indexUsed = 0;
+
+        int mask = newLength - 1;
+        for (int j = 0; j < oldLocations.length; j++) {
+            if (oldLocations[j] >= 0) {
+                int i = oldHashes[j] & mask;
+                while (indexLocations[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                indexHashes[i] = oldHashes[j];
+                indexLocations[i] = oldLocations[j];
+                indexUsed++;
+            }
+        }
+    }
+
+    private boolean keyEquals(long location, byte[] keyBytes) {
+        ByteBuffer buffer = slabs[slabOf(location)];
+        int offset = offsetOf(location);
+        if (buffer.getInt(offset) != keyBytes.length) {
+            return false;
+        }
+        int keyStart = offset + HEADER_BYTES;
+        for (int i = 0; i < keyBytes.length; i++) {
+            if (buffer.get(keyStart + i) != keyBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isExpired(ByteBuffer buffer, int offset) {
+        long expirationTime = buffer.getLong(offset + 8);
+        return expirationTime != -1 && System.currentTimeMillis() > expirationTime;
+    }
+
+    private static int slabOf(long location) {
+        return (int) (location >>> 32);
+    }
+
+    private static int offsetOf(long location) {
+        return (int) location;
+    }
+
+    private static int hash(byte[] bytes) {
+        int h = 1;
+        for (byte b : bytes) {
+            h = 31 * h + b;
+        }
+        return spread(h);
+    }
+
+    private static int hash(ByteBuffer buffer, int offset, int length) {
+        int h = 1;
+        for (int i = 0; i < length; i++) {
+            h = 31 * h + buffer.get(offset + i);
+        }
+        return spread(h);
+    }
+
+    private static int spread(int h) {
+        h ^= (h >>> 16);
+        h *= 0x85ebca6b;
+        return h ^ (h >>> 13);
+    }
+}
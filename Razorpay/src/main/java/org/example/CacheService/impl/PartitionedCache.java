@@ -0,0 +1,409 @@
+package org.example.CacheService.impl;
+
+import org.example.CacheService.interfaces.ICache;
+import org.example.CacheService.interfaces.INodeTransport;
+import org.example.CacheService.model.CacheEntry;
+import org.example.CacheService.model.CacheStats;
+import org.example.CacheService.partition.ConsistentHashRing;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Cache sharded across several nodes by a consistent-hash ring
+ * Each key lives on exactly one node; nodes are reached through an INodeTransport,
+ * so they can be in-process caches (LoopbackNodeTransport) or remote servers
+ *
+ * Routing:
+ * - Single-key operations go to the key's owner on a ConsistentHashRing with virtual nodes
+ * - Bulk operations group their keys by owner and call each owner once, in
+ *   parallel on the executor (inline when only one owner is involved)
+ *
+ * Rebalancing:
+ * - addNode moves to the new node only the keys it now owns, from every other node
+ * - removeNode hands each of the leaving node's keys to its new owner
+ * - Entries keep their remaining TTL and access count, so policies keep hot keys hot
+ *
+ * Thread Safety:
+ * - Cache operations share a read lock; membership changes take the write lock,
+ *   so no operation observes a key mid-migration
+ *
+ * Stats:
+ * - getStats() reports the partitioned view; getNodeStats() each node's own stats
+ */
+public class PartitionedCache<K, V> implements ICache<K, V> {
+    private static final int DEFAULT_VIRTUAL_NODES = 128;
+
+    private final Map<String, INodeTransport<K, V>> nodes;
+    private final Executor executor;
+    private final CacheStats stats;
+    private final ReadWriteLock lock;
+    private volatile ConsistentHashRing ring;
+
+    /**
+     * Creates an empty partitioned cache with 128 virtual nodes per node,
+     * running bulk operations on the common ForkJoinPool
+     */
+    public PartitionedCache() {
+        this(DEFAULT_VIRTUAL_NODES, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates an empty partitioned cache; add nodes with addNode
+     * @param virtualNodes Ring points per node
+     * @param executor Runs the per-node calls of bulk operations and rebalancing
+     */
+    public PartitionedCache(int virtualNodes, Executor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor cannot be null");
+        }
+        this.ring = new ConsistentHashRing(virtualNodes);
+        this.nodes = new ConcurrentHashMap<>();
+        this.executor = executor;
+        this.stats = new CacheStats();
+        this.lock = new ReentrantReadWriteLock();
+    }
+
+    /**
+     * Adds a node and moves to it the keys it now owns
+     * @return Number of entries migrated to the new node
+     */
+    public int addNode(INodeTransport<K, V> node) {
+        if (node == null) {
+            throw new IllegalArgumentException("Node cannot be null");
+        }
+
+        lock.writeLock().lock();
+        try {
+            String nodeId = node.getNodeId();
+            ConsistentHashRing next = ring.withNode(nodeId);
+            List<CompletableFuture<List<CacheEntry<K, V>>>> extractions = new ArrayList<>();
+            for (INodeTransport<K, V> existing : nodes.values()) {
+                extractions.add(CompletableFuture.supplyAsync(
+                        () -> existing.extract(key -> next.nodeFor(key).equals(nodeId)), executor));
+            }
+
+            int migrated = 0;
+            for (CompletableFuture<List<CacheEntry<K, V>>> extraction : extractions) {
+                migrated += node.restore(join(extraction));
+            }
+            nodes.put(nodeId, node);
+            ring = next;
+            return migrated;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a node and hands each of its keys to the key's new owner
+     * Removing the last node discards its entries
+     * @return Number of entries migrated off the node
+     */
+    public int removeNode(String nodeId) {
+        lock.writeLock().lock();
+        try {
+            ConsistentHashRing next = ring.withoutNode(nodeId);
+            INodeTransport<K, V> leaving = nodes.remove(nodeId);
+            ring = next;
+            if (next.isEmpty()) {
+                return 0;
+            }
+
+            Map<String, List<CacheEntry<K, V>>> byOwner = new HashMap<>();
+            for (CacheEntry<K, V> entry : leaving.extract(key -> true)) {
+                byOwner.computeIfAbsent(next.nodeFor(entry.getKey()), owner -> new ArrayList<>()).add(entry);
+            }
+            List<CompletableFuture<Integer>> restores = new ArrayList<>();
+            byOwner.forEach((owner, entries) ->
+                    restores.add(CompletableFuture.supplyAsync(() -> nodes.get(owner).restore(entries), executor)));
+
+            int migrated = 0;
+            for (CompletableFuture<Integer> restore : restores) {
+                migrated += join(restore);
+            }
+            return migrated;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<V> get(K key) {
+        if (key == null) {
+            return Optional.empty();
+        }
+
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            Optional<V> value = ownerOf(key).get(key);
+            if (value.isPresent()) {
+                stats.recordHit();
+            } else {
+                stats.recordMiss();
+            }
+            return value;
+        } finally {
+            lock.readLock().unlock();
+            stats.recordGetLatency(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void put(K key, V value) {
+        put(key, value, -1);
+    }
+
+    @Override
+    public void put(K key, V value, long ttlMillis) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("Key and value cannot be null");
+        }
+
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            ownerOf(key).put(key, value, ttlMillis);
+            stats.recordPut();
+        } finally {
+            lock.readLock().unlock();
+            stats.recordPutLatency(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Map<K, V> getAll(Collection<K> keys) {
+        Map<K, V> result = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            for (Map<K, V> found : fanOut(partition(keys), INodeTransport::getAll)) {
+                result.putAll(found);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        stats.recordHits(result.size());
+        stats.recordMisses(keys.size() - result.size());
+        return result;
+    }
+
+    @Override
+    public void putAll(Map<K, V> entries, long ttlMillis) {
+        Map<INodeTransport<K, V>, Map<K, V>> byOwner = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<K, V> entry : entries.entrySet()) {
+                if (entry.getKey() == null || entry.getValue() == null) {
+                    throw new IllegalArgumentException("Key and value cannot be null");
+                }
+                byOwner.computeIfAbsent(ownerOf(entry.getKey()), owner -> new HashMap<>())
+                        .put(entry.getKey(), entry.getValue());
+            }
+            fanOut(byOwner, (node, owned) -> {
+                node.putAll(owned, ttlMillis);
+                return owned.size();
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        stats.recordPuts(entries.size());
+    }
+
+    @Override
+    public int invalidateAll(Collection<K> keys) {
+        int removed = 0;
+        lock.readLock().lock();
+        try {
+            for (int count : fanOut(partition(keys), INodeTransport::invalidateAll)) {
+                removed += count;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        stats.recordRemoves(removed);
+        return removed;
+    }
+
+    @Override
+    public boolean remove(K key) {
+        if (key == null) {
+            return false;
+        }
+
+        lock.readLock().lock();
+        try {
+            boolean removed = ownerOf(key).remove(key);
+            if (removed) {
+                stats.recordRemove();
+            }
+            return removed;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        if (key == null) {
+            return false;
+        }
+
+        lock.readLock().lock();
+        try {
+            return ownerOf(key).containsKey(key);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.readLock().lock();
+        try {
+            for (INodeTransport<K, V> node : nodes.values()) {
+                node.clear();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the total number of entries across all nodes
+     */
+    @Override
+    public int size() {
+        int size = 0;
+        for (INodeTransport<K, V> node : nodes.values()) {
+            size += node.size();
+        }
+        return size;
+    }
+
+    /**
+     * Gets the sum of the nodes' capacities
+     */
+    @Override
+    public int getCapacity() {
+        long capacity = 0;
+        for (INodeTransport<K, V> node : nodes.values()) {
+            capacity += node.getCapacity();
+        }
+        return (int) Math.min(capacity, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Gets each node's own statistics, keyed by node id
+     */
+    public Map<String, CacheStats> getNodeStats() {
+        Map<String, CacheStats> nodeStats = new LinkedHashMap<>();
+        for (String nodeId : ring.getNodeIds()) {
+            INodeTransport<K, V> node = nodes.get(nodeId);
+            if (node != null) {
+                nodeStats.put(nodeId, node.getStats());
+            }
+        }
+        return nodeStats;
+    }
+
+    /**
+     * Gets the ids of the current nodes, in the order they joined
+     */
+    public List<String> getNodeIds() {
+        return ring.getNodeIds();
+    }
+
+    /**
+     * Gets the id of the node that currently owns key
+     */
+    public String nodeFor(K key) {
+        return ring.nodeFor(key);
+    }
+
+    private INodeTransport<K, V> ownerOf(K key) {
+        return nodes.get(ring.nodeFor(key));
+    }
+
+    /**
+     * Groups keys by owning node, skipping nulls
+     */
+    private Map<INodeTransport<K, V>, Collection<K>> partition(Collection<K> keys) {
+        Map<INodeTransport<K, V>, Collection<K>> byOwner = new LinkedHashMap<>();
+        for (K key : keys) {
+            if (key != null) {
+                byOwner.computeIfAbsent(ownerOf(key), owner -> new ArrayList<>()).add(key);
+            }
+        }
+        return byOwner;
+    }
+
+    /**
+     * Runs one call per node, in parallel when more than one node is involved
+     * @return Each node's result
+     */
+    private <P, R> List<R> fanOut(Map<INodeTransport<K, V>, P> byOwner,
+                                  NodeCall<K, V, P, R> call) {
+        List<R> results = new ArrayList<>(byOwner.size());
+        if (byOwner.size() == 1) {
+            Map.Entry<INodeTransport<K, V>, P> only = byOwner.entrySet().iterator().next();
+            results.add(call.apply(only.getKey(), only.getValue()));
+            return results;
+        }
+
+        List<CompletableFuture<R>> futures = new ArrayList<>(byOwner.size());
+        byOwner.forEach((node, part) ->
+                futures.add(CompletableFuture.supplyAsync(() -> call.apply(node, part), executor)));
+        for (CompletableFuture<R> future : futures) {
+            results.add(join(future));
+        }
+        return results;
+    }
+
+    /**
+     * Waits for a per-node call, rethrowing its unchecked exception as-is
+     */
+    private static <R> R join(CompletableFuture<R> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * One call against one node with that node's share of a bulk operation
+     */
+    @FunctionalInterface
+    private interface NodeCall<K, V, P, R> {
+        R apply(INodeTransport<K, V> node, P part);
+    }
+}
@@ -0,0 +1,475 @@
+package org.example.CacheService.impl;
+
+import org.example.CacheService.expiry.TimerWheel;
+import org.example.CacheService.interfaces.ICache;
+import org.example.CacheService.interfaces.IEvictionPolicy;
+import org.example.CacheService.model.CacheEntry;
+import org.example.CacheService.model.CacheStats;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Lock-striped in-memory cache implementation
+ * Hashes keys into N independent segments, each guarded by its own lock
+ * Each segment owns its own eviction policy instance and a share of the capacity
+ *
+ * Design Patterns:
+ * - Strategy Pattern: Pluggable eviction policies (one instance per segment)
+ * - Lock Striping: Threads touching different segments never contend
+ *
+ * Thread Safety:
+ * - Every segment operation (including get) runs under that segment's lock,
+ *   so eviction policies that reorder on access are never mutated concurrently
+ * - Throughput scales with the number of segments instead of one global lock
+ *
+ * Expiration:
+ * - Each segment schedules TTL entries on its own TimerWheel, advanced on
+ *   writes to that segment, so expired entries are purged without extra threads
+ *
+ * Trade-offs:
+ * - Eviction is per segment, so the evicted key is the policy's choice within
+ *   its segment, not across the whole cache
+ * - size() is a sum of per-segment counters and may be momentarily stale
+ */
+public class SegmentedCache<K, V> implements ICache<K, V> {
+    private static final int DEFAULT_SEGMENTS = 16;
+    private static final long EXPIRY_TICK_MILLIS = 10;
+
+    private final int capacity;
+    private final Segment<K, V>[] segments;
+    private final int segmentMask;
+    private final CacheStats stats;
+
+    /**
+     * Creates a segmented cache with the default segment count
+     */
+    public SegmentedCache(int capacity, Supplier<IEvictionPolicy<K, V>> policySupplier) {
+        this(capacity, DEFAULT_SEGMENTS, policySupplier);
+    }
+
+    /**
+     * Creates a segmented cache whose policies do not depend on segment capacity
+     */
+    public SegmentedCache(int capacity, int segmentCount, Supplier<IEvictionPolicy<K, V>> policySupplier) {
+        this(capacity, segmentCount, policySupplier == null ? null : segmentCapacity -> policySupplier.get());
+    }
+
+    /**
+     * Creates a segmented cache
+     * @param capacity Total capacity, split evenly across segments
+     * @param segmentCount Requested segment count, rounded up to a power of two
+     *                     and capped so every segment holds at least one entry
+     * @param policyFactory Creates one eviction policy per segment, given that segment's capacity
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public SegmentedCache(int capacity, int segmentCount, IntFunction<IEvictionPolicy<K, V>> policyFactory) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Cache capacity must be positive");
+        }
+        if (segmentCount <= 0) {
+            throw new IllegalArgumentException("Segment count must be positive");
+        }
+        if (policyFactory == null) {
+            throw new IllegalArgumentException("Eviction policy factory cannot be null");
+        }
+
+        int count = 1;
+        while (count < segmentCount && count * 2 <= capacity) {
+            count <<= 1;
+        }
+
+        this.capacity = capacity;
+        this.segments = (Segment<K, V>[]) new Segment[count];
+        this.segmentMask = count - 1;
+        this.stats = new CacheStats();
+
+        // Spread the remainder over the first segments so the shares add up to capacity
+        int share = capacity / count;
+        int remainder = capacity % count;
+        for (int i = 0; i < count; i++) {
+            int segmentCapacity = share + (i < remainder ? 1 : 0);
+            IEvictionPolicy<K, V> policy = policyFactory.apply(segmentCapacity);
+            if (policy == null) {
+                throw new IllegalArgumentException("Eviction policy cannot be null");
+            }
+            segments[i] = new Segment<>(segmentCapacity, policy);
+        }
+    }
+
+    @Override
+    public Optional<V> get(K key) {
+        if (key == null) {
+            return Optional.empty();
+        }
+
+        long start = System.nanoTime();
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            CacheEntry<K, V> entry = segment.map.get(key);
+            if (entry == null) {
+                stats.recordMiss();
+                return Optional.empty();
+            }
+
+            // We already hold the segment exclusively, so purge inline
+            if (entry.isExpired()) {
+                segment.removeEntry(key);
+                stats.recordExpiration();
+                stats.recordMiss();
+                return Optional.empty();
+            }
+
+            entry.recordAccess();
+            segment.policy.recordAccess(key);
+            stats.recordHit();
+            return Optional.of(entry.getValue());
+        } finally {
+            segment.lock.unlock();
+            stats.recordGetLatency(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void put(K key, V value) {
+        put(key, value, -1);
+    }
+
+    @Override
+    public void put(K key, V value, long ttlMillis) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("Key and value cannot be null");
+        }
+
+        long start = System.nanoTime();
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            segment.advanceExpiry(stats);
+            segment.putEntry(key, value, ttlMillis, stats);
+            stats.recordPut();
+        } finally {
+            segment.lock.unlock();
+            stats.recordPutLatency(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Looks up keys grouped by segment, taking each segment lock once
+     * Hit/miss stats are recorded in bulk
+     */
+    @Override
+    public Map<K, V> getAll(Collection<K> keys) {
+        Map<K, V> result = new HashMap<>();
+        List<K>[] groups = groupBySegment(keys);
+        int hits = 0;
+        int misses = 0;
+
+        for (int i = 0; i < groups.length; i++) {
+            if (groups[i] == null) {
+                continue;
+            }
+            Segment<K, V> segment = segments[i];
+            segment.lock.lock();
+            try {
+                for (K key : groups[i]) {
+                    CacheEntry<K, V> entry = segment.map.get(key);
+                    if (entry == null) {
+                        misses++;
+                    } else if (entry.isExpired()) {
+                        segment.removeEntry(key);
+                        stats.recordExpiration();
+                        misses++;
+                    } else {
+                        entry.recordAccess();
+                        segment.policy.recordAccess(key);
+                        result.put(key, entry.getValue());
+                        hits++;
+                    }
+                }
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+
+        stats.recordHits(hits);
+        stats.recordMisses(misses);
+        return result;
+    }
+
+    /**
+     * Stores entries grouped by segment, taking each segment lock once
+     */
+    @Override
+    public void putAll(Map<K, V> entries, long ttlMillis) {
+        for (Map.Entry<K, V> entry : entries.entrySet()) {
+            if (entry.getKey() == null || entry.getValue() == null) {
+                throw new IllegalArgumentException("Key and value cannot be null");
+            }
+        }
+
+        List<K>[] groups = groupBySegment(entries.keySet());
+        for (int i = 0; i < groups.length; i++) {
+            if (groups[i] == null) {
+                continue;
+            }
+            Segment<K, V> segment = segments[i];
+            segment.lock.lock();
+            try {
+                segment.advanceExpiry(stats);
+                for (K key : groups[i]) {
+                    segment.putEntry(key, entries.get(key), ttlMillis, stats);
+                }
+            } finally {
+                segment.lock.unlock();
+            }
+            stats.recordPuts(groups[i].size());
+        }
+    }
+
+    /**
+     * Removes keys grouped by segment, taking each segment lock once
+     */
+    @Override
+    public int invalidateAll(Collection<K> keys) {
+        List<K>[] groups = groupBySegment(keys);
+        int removed = 0;
+        for (int i = 0; i < groups.length; i++) {
+            if (groups[i] == null) {
+                continue;
+            }
+            Segment<K, V> segment = segments[i];
+            segment.lock.lock();
+            try {
+                for (K key : groups[i]) {
+                    if (segment.removeEntry(key)) {
+                        removed++;
+                    }
+                }
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        stats.recordRemoves(removed);
+        return removed;
+    }
+
+    @Override
+    public boolean remove(K key) {
+        if (key == null) {
+            return false;
+        }
+
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            if (segment.removeEntry(key)) {
+                stats.recordRemove();
+                return true;
+            }
+            return false;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        if (key == null) {
+            return false;
+        }
+
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            CacheEntry<K, V> entry = segment.map.get(key);
+            return entry != null && !entry.isExpired();
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                segment.map.clear();
+                segment.policy.clear();
+                segment.expiryWheel.clear();
+                segment.count = 0;
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            size += segment.count;
+        }
+        return size;
+    }
+
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Gets the number of segments actually in use
+     */
+    public int getSegmentCount() {
+        return segments.length;
+    }
+
+    /**
+     * Picks the segment for a key
+     */
+    private Segment<K, V> segmentFor(K key) {
+        return segments[segmentIndex(key)];
+    }
+
+    /**
+     * Mixes the high bits into the low bits so poor hashCodes still spread
+     */
+    private int segmentIndex(K key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        h *= 0x85ebca6b;
+        h ^= (h >>> 13);
+        return h & segmentMask;
+    }
+
+    /**
+     * Splits keys into per-segment lists; segments with no keys stay null
+     * Null keys are skipped
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private List<K>[] groupBySegment(Collection<K> keys) {
+        List<K>[] groups = (List<K>[]) new List[segments.length];
+        for (K key : keys) {
+            if (key == null) {
+                continue;
+            }
+            int index = segmentIndex(key);
+            if (groups[index] == null) {
+                groups[index] = new ArrayList<>();
+            }
+            groups[index].add(key);
+        }
+        return groups;
+    }
+
+    /**
+     * One independently locked slice of the cache
+     * All fields except count are only touched while holding lock
+     */
+    private static final class Segment<K, V> {
+        private final ReentrantLock lock;
+        private final HashMap<K, CacheEntry<K, V>> map;
+        private final IEvictionPolicy<K, V> policy;
+        private final TimerWheel<K> expiryWheel;
+        private final int capacity;
+        private volatile int count;
+
+        private Segment(int capacity, IEvictionPolicy<K, V> policy) {
+            this.lock = new ReentrantLock();
+            this.map = new HashMap<>();
+            this.policy = policy;
+            this.expiryWheel = new TimerWheel<>(EXPIRY_TICK_MILLIS, System.currentTimeMillis());
+            this.capacity = capacity;
+        }
+
+        /**
+         * Schedules or cancels the entry's expiration; caller must hold lock
+         */
+        private void scheduleExpiry(CacheEntry<K, V> entry) {
+            if (entry.getExpirationTime() == -1) {
+                expiryWheel.cancel(entry.getKey());
+            } else {
+                expiryWheel.schedule(entry.getKey(), entry.getExpirationTime());
+            }
+        }
+
+        /**
+         * Purges entries whose TTL has passed; caller must hold lock
+         */
+        private void advanceExpiry(CacheStats stats) {
+            expiryWheel.advance(System.currentTimeMillis(), expiredKey -> {
+                CacheEntry<K, V> entry = map.get(expiredKey);
+                if (entry == null) {
+                    return;
+                }
+                if (!entry.isExpired()) {
+                    scheduleExpiry(entry);
+                } else if (removeEntry(expiredKey)) {
+                    stats.recordExpiration();
+                }
+            });
+        }
+
+        /**
+         * Stores or updates one entry, evicting within the segment if full; caller must hold lock
+         */
+        private void putEntry(K key, V value, long ttlMillis, CacheStats stats) {
+            CacheEntry<K, V> existingEntry = map.get(key);
+            if (existingEntry != null) {
+                existingEntry.updateValue(value, ttlMillis);
+                scheduleExpiry(existingEntry);
+                policy.recordAccess(key);
+                return;
+            }
+
+            if (map.size() >= capacity) {
+                long start = System.nanoTime();
+                K keyToEvict = policy.evict();
+                if (keyToEvict != null && map.remove(keyToEvict) != null) {
+                    expiryWheel.cancel(keyToEvict);
+                    count--;
+                    stats.recordEviction();
+                    stats.recordEvictionLatency(System.nanoTime() - start);
+                }
+            }
+
+            CacheEntry<K, V> newEntry = new CacheEntry<>(key, value, ttlMillis);
+            map.put(key, newEntry);
+            scheduleExpiry(newEntry);
+            count++;
+            policy.recordPut(key, newEntry);
+        }
+
+        /**
+         * Removes a key from the map and the policy; caller must hold lock
+         */
+        private boolean removeEntry(K key) {
+            if (map.remove(key) == null) {
+                return false;
+            }
+            expiryWheel.cancel(key);
+            policy.recordRemoval(key);
+            count--;
+            return true;
+        }
+    }
+}
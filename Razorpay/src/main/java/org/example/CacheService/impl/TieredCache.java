@@ -0,0 +1,245 @@
+package org.example.CacheService.impl;
+
+import org.example.CacheService.interfaces.ICache;
+import org.example.CacheService.interfaces.IInvalidationBus;
+import org.example.CacheService.interfaces.IInvalidationListener;
+import org.example.CacheService.model.CacheStats;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Two-tier near cache: a small, fast per-node L1 in front of a larger (possibly shared) L2
+ *
+ * Reads:
+ * - L1 hit returns immediately; an L1 miss reads L2 and, on a hit, copies the
+ *   value into L1 for at most l1TtlMillis
+ *
+ * Writes (write-through):
+ * - put/remove/clear go to L2 first, then to this node's L1, then an
+ *   invalidation is published so every other node drops its L1 copy
+ *
+ * Consistency:
+ * - L1 copies are bounded by l1TtlMillis, so a lost invalidation only serves
+ *   stale data for that long
+ * - A read that fetched from L2 while an invalidation arrived, or while this node
+ *   wrote the key, does not install its (possibly stale) value: every received
+ *   invalidation and every local write bumps a generation counter that the read
+ *   checks after populating L1
+ * - Local writes bump the generation after writing L2 and before writing L1, so a
+ *   stale copy that passed the check is always overwritten by the write's own L1 update
+ *
+ * Stats:
+ * - getStats() reports the tiered view (a hit in either tier is a hit)
+ * - getL1Stats()/getL2Stats() report each tier, so the L1 hit ratio can be used to size L1
+ */
+public class TieredCache<K, V> implements ICache<K, V>, IInvalidationListener<K> {
+    private final String nodeId;
+    private final ICache<K, V> l1;
+    private final ICache<K, V> l2;
+    private final IInvalidationBus<K> bus;
+    private final long l1TtlMillis;
+    private final CacheStats stats;
+    private final AtomicLong invalidationGeneration;
+    private final LongAdder invalidationsReceived;
+
+    /**
+     * @param nodeId Unique id of this node on the invalidation bus
+     * @param l1 Small per-node cache (e.g. a SegmentedCache)
+     * @param l2 Authoritative cache shared by, or replicated across, all nodes
+     * @param bus Bus used to broadcast and receive invalidations
+     * @param l1TtlMillis Longest time a value may stay in L1 without being re-read from L2
+     */
+    public TieredCache(String nodeId, ICache<K, V> l1, ICache<K, V> l2, IInvalidationBus<K> bus,
+                       long l1TtlMillis) {
+        if (nodeId == null) {
+            throw new IllegalArgumentException("Node id cannot be null");
+        }
+        if (l1 == null || l2 == null) {
+            throw new IllegalArgumentException("Tiers cannot be null");
+        }
+        if (bus == null) {
+            throw new IllegalArgumentException("Invalidation bus cannot be null");
+        }
+        if (l1TtlMillis <= 0) {
+            throw new IllegalArgumentException("L1 TTL must be positive");
+        }
+        this.nodeId = nodeId;
+        this.l1 = l1;
+        this.l2 = l2;
+        this.bus = bus;
+        this.l1TtlMillis = l1TtlMillis;
+        this.stats = new CacheStats();
+        this.invalidationGeneration = new AtomicLong();
+        this.invalidationsReceived = new LongAdder();
+        bus.subscribe(nodeId, this);
+    }
+
+    @Override
+    public Optional<V> get(K key) {
+        if (key == null) {
+            return Optional.empty();
+        }
+
+        long start = System.nanoTime();
+        Optional<V> value = l1.get(key);
+        if (value.isPresent()) {
+            stats.recordHit();
+            stats.recordGetLatency(System.nanoTime() - start);
+            return value;
+        }
+
+        long generation = invalidationGeneration.get();
+        value = l2.get(key);
+        if (value.isPresent()) {
+            stats.recordHit();
+            l1.put(key, value.get(), l1TtlMillis);
+            // An invalidation or local write raced with the L2 read; the copy may be stale
+            if (invalidationGeneration.get() != generation) {
+                l1.remove(key);
+            }
+        } else {
+            stats.recordMiss();
+        }
+        stats.recordGetLatency(System.nanoTime() - start);
+        return value;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        put(key, value, -1);
+    }
+
+    @Override
+    public void put(K key, V value, long ttlMillis) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("Key and value cannot be null");
+        }
+
+        long start = System.nanoTime();
+        l2.put(key, value, ttlMillis);
+        invalidationGeneration.incrementAndGet();
+        l1.put(key, value, ttlMillis > 0 ? Math.min(ttlMillis, l1TtlMillis) : l1TtlMillis);
+        bus.publish(nodeId, key);
+        stats.recordPut();
+        stats.recordPutLatency(System.nanoTime() - start);
+    }
+
+    @Override
+    public void putAll(Map<K, V> entries, long ttlMillis) {
+        l2.putAll(entries, ttlMillis);
+        invalidationGeneration.incrementAndGet();
+        l1.putAll(entries, ttlMillis > 0 ? Math.min(ttlMillis, l1TtlMillis) : l1TtlMillis);
+        for (K key : entries.keySet()) {
+            bus.publish(nodeId, key);
+        }
+        stats.recordPuts(entries.size());
+    }
+
+    @Override
+    public boolean remove(K key) {
+        if (key == null) {
+            return false;
+        }
+
+        boolean removed = l2.remove(key);
+        invalidationGeneration.incrementAndGet();
+        l1.remove(key);
+        bus.publish(nodeId, key);
+        if (removed) {
+            stats.recordRemove();
+        }
+        return removed;
+    }
+
+    @Override
+    public int invalidateAll(Collection<K> keys) {
+        int removed = l2.invalidateAll(keys);
+        invalidationGeneration.incrementAndGet();
+        l1.invalidateAll(keys);
+        for (K key : keys) {
+            bus.publish(nodeId, key);
+        }
+        stats.recordRemoves(removed);
+        return removed;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return l1.containsKey(key) || l2.containsKey(key);
+    }
+
+    @Override
+    public void clear() {
+        l2.clear();
+        invalidationGeneration.incrementAndGet();
+        l1.clear();
+        bus.publishAll(nodeId);
+    }
+
+    @Override
+    public void onInvalidate(K key) {
+        invalidationGeneration.incrementAndGet();
+        invalidationsReceived.increment();
+        l1.remove(key);
+    }
+
+    @Override
+    public void onInvalidateAll() {
+        invalidationGeneration.incrementAndGet();
+        invalidationsReceived.increment();
+        l1.clear();
+    }
+
+    @Override
+    public int size() {
+        return l2.size();
+    }
+
+    @Override
+    public int getCapacity() {
+        return l2.getCapacity();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return l2.isEmpty();
+    }
+
+    /**
+     * Gets the tiered view: a hit in either tier counts as a hit
+     */
+    @Override
+    public CacheStats getStats() {
+        return stats;
+    }
+
+    public CacheStats getL1Stats() {
+        return l1.getStats();
+    }
+
+    public CacheStats getL2Stats() {
+        return l2.getStats();
+    }
+
+    /**
+     * Gets the number of invalidations this node received from other nodes
+     */
+    public long getInvalidationsReceived() {
+        return invalidationsReceived.sum();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Leaves the invalidation bus; call before discarding the node
+     */
+    public void close() {
+        bus.unsubscribe(nodeId);
+    }
+}
@@ -2,6 +2,9 @@ package org.example.CacheService.interfaces;
 
 import org.example.CacheService.model.CacheStats;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -33,6 +36,44 @@ public interface ICache<K, V> {
      */
     void put(K key, V value, long ttlMillis);
     
+    /**
+     * Retrieves the values for several keys at once
+     * Implementations should take their lock once (or once per segment) for the whole batch
+     * @param keys The keys to lookup
+     * @return Map of every key found to its value; missing keys are absent
+     */
+    default Map<K, V> getAll(Collection<K> keys) {
+        Map<K, V> result = new HashMap<>();
+        for (K key : keys) {
+            get(key).ifPresent(value -> result.put(key, value));
+        }
+        return result;
+    }
+    
+    /**
+     * Stores several key-value pairs at once
+     * @param entries The entries to store
+     * @param ttlMillis Time to live applied to every entry; non-positive means no expiration
+     */
+    default void putAll(Map<K, V> entries, long ttlMillis) {
+        entries.forEach((key, value) -> put(key, value, ttlMillis));
+    }
+    
+    /**
+     * Removes several keys at once
+     * @param keys The keys to remove
+     * @return Number of entries removed
+     */
+    default int invalidateAll(Collection<K> keys) {
+        int removed = 0;
+        for (K key : keys) {
+            if (remove(key)) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+    
     /**
      * Removes a key-value pair from cache
      * @param key The key to remove
@@ -0,0 +1,28 @@
+package org.example.CacheService.interfaces;
+
+import org.example.CacheService.enums.RemovalCause;
+
+/**
+ * Interface for observing every change to the cache's contents
+ * Like IRemovalListener, events are delivered asynchronously on the cache's event thread
+ * All methods default to no-ops so implementations override only what they need
+ */
+public interface ICacheEventListener<K, V> {
+    /**
+     * Called when a key that was not present is stored
+     */
+    default void onCreated(K key, V value) {
+    }
+
+    /**
+     * Called when a put replaces the value of a key that was present
+     */
+    default void onUpdated(K key, V oldValue, V newValue) {
+    }
+
+    /**
+     * Called when an entry leaves the cache for any reason other than REPLACED
+     */
+    default void onRemoved(K key, V value, RemovalCause cause) {
+    }
+}
@@ -2,6 +2,8 @@ package org.example.CacheService.interfaces;
 
 import org.example.CacheService.model.CacheEntry;
 
+import java.util.Collection;
+
 /**
  * Interface for cache eviction policies
  * Defines contract for eviction strategies (Strategy Pattern)
@@ -15,6 +17,16 @@ public interface IEvictionPolicy<K, V> {
      */
     void recordAccess(K key);
     
+    /**
+     * Records a batch of accesses in order
+     * Policies that synchronize internally should override this to lock once per batch
+     */
+    default void recordAccessAll(Collection<K> keys) {
+        for (K key : keys) {
+            recordAccess(key);
+        }
+    }
+    
     /**
      * Notifies policy that a new entry was added
      */
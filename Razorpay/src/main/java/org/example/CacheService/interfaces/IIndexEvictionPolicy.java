@@ -0,0 +1,36 @@
+package org.example.CacheService.interfaces;
+
+/**
+ * Interface for eviction policies that track entries by slot index instead of key object
+ * Used by primitive-keyed caches so that recording an access never boxes a key
+ * Indices are dense in [0, capacity) and stay stable while the entry is cached
+ * Implementations are not thread-safe; the owning cache calls them under its lock
+ */
+public interface IIndexEvictionPolicy {
+    /**
+     * Records that a new entry was stored at index
+     * @param key The entry's key, for policies that track popularity across evictions
+     */
+    void recordInsert(int index, long key);
+
+    /**
+     * Records that the entry at index was read or overwritten
+     */
+    void recordAccess(int index);
+
+    /**
+     * Records that the entry at index was removed outside of evict()
+     */
+    void recordRemoval(int index);
+
+    /**
+     * Selects and forgets a victim
+     * @return Index of the entry to evict, or -1 if the policy tracks nothing
+     */
+    int evict();
+
+    /**
+     * Forgets every entry
+     */
+    void clear();
+}
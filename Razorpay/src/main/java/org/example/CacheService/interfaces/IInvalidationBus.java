@@ -0,0 +1,29 @@
+package org.example.CacheService.interfaces;
+
+/**
+ * Interface for broadcasting cache invalidations between nodes
+ * Each node's near cache subscribes under its own id and is told about writes
+ * made by every other node; the publisher is never notified of its own messages
+ * Implementations may be in-process (loopback) or backed by a messaging system
+ */
+public interface IInvalidationBus<K> {
+    /**
+     * Registers a node; replaces any listener previously registered under the same id
+     */
+    void subscribe(String nodeId, IInvalidationListener<K> listener);
+
+    /**
+     * Removes a node's listener
+     */
+    void unsubscribe(String nodeId);
+
+    /**
+     * Tells every other node that a key changed
+     */
+    void publish(String sourceNodeId, K key);
+
+    /**
+     * Tells every other node that all keys changed (e.g. after clear)
+     */
+    void publishAll(String sourceNodeId);
+}
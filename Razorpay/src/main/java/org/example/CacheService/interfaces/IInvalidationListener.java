@@ -0,0 +1,16 @@
+package org.example.CacheService.interfaces;
+
+/**
+ * Interface for receiving invalidations from an IInvalidationBus
+ */
+public interface IInvalidationListener<K> {
+    /**
+     * Called when another node changed or removed a key
+     */
+    void onInvalidate(K key);
+
+    /**
+     * Called when another node cleared its cache
+     */
+    void onInvalidateAll();
+}
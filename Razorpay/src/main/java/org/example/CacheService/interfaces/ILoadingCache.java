@@ -0,0 +1,32 @@
+package org.example.CacheService.interfaces;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Interface for caches that compute missing values on demand
+ * Concurrent misses on the same key share a single load, so a hot key
+ * expiring does not send every caller to the backing store at once
+ */
+public interface ILoadingCache<K, V> extends ICache<K, V> {
+    /**
+     * Returns the cached value, loading and caching it on a miss
+     * If another thread is already loading the key, waits for that load instead
+     * @param key The key to lookup
+     * @param loader Computes the value; a null result is returned but not cached
+     * @return The cached or loaded value, or null if the loader returned null
+     * @throws RuntimeException whatever the loader threw; nothing is cached on failure
+     */
+    V get(K key, Function<K, V> loader);
+    
+    /**
+     * Returns the values for all keys, loading every missing key in a single bulk call
+     * Keys already being loaded by other threads are waited on rather than reloaded
+     * @param keys The keys to lookup
+     * @param bulkLoader Loads the missing keys; keys absent from its result are not cached
+     * @return Map of every key that was cached or loaded to its value
+     * @throws RuntimeException whatever the bulk loader threw; nothing is cached on failure
+     */
+    Map<K, V> getAll(Set<K> keys, Function<Set<K>, Map<K, V>> bulkLoader);
+}
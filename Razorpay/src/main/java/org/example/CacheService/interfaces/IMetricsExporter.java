@@ -0,0 +1,19 @@
+package org.example.CacheService.interfaces;
+
+import org.example.CacheService.model.CacheStatsSnapshot;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Strategy interface for publishing cache metrics to a monitoring system
+ * Implementations decide the wire format and destination (file, stream, push gateway)
+ */
+public interface IMetricsExporter {
+
+    /**
+     * Writes one scrape covering every named cache
+     * @param snapshots Cache name to its latest stats snapshot
+     */
+    void export(Map<String, CacheStatsSnapshot> snapshots) throws IOException;
+}
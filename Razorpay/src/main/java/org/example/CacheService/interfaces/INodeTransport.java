@@ -0,0 +1,75 @@
+package org.example.CacheService.interfaces;
+
+import org.example.CacheService.model.CacheEntry;
+import org.example.CacheService.model.CacheStats;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Interface for reaching one node of a PartitionedCache
+ * The node may live in this JVM (loopback) or behind a network protocol;
+ * PartitionedCache only talks to nodes through this contract
+ * Implementations must be thread-safe: bulk operations call several nodes in parallel
+ */
+public interface INodeTransport<K, V> {
+    /**
+     * Gets the node's unique id; it determines the node's positions on the hash ring
+     */
+    String getNodeId();
+
+    Optional<V> get(K key);
+
+    /**
+     * @param ttlMillis Time to live in milliseconds; non-positive means no expiration
+     */
+    void put(K key, V value, long ttlMillis);
+
+    boolean remove(K key);
+
+    boolean containsKey(K key);
+
+    /**
+     * Retrieves the values for keys that all belong to this node, in one round trip
+     */
+    Map<K, V> getAll(Collection<K> keys);
+
+    /**
+     * Stores entries that all belong to this node, in one round trip
+     */
+    void putAll(Map<K, V> entries, long ttlMillis);
+
+    /**
+     * Removes keys that all belong to this node, in one round trip
+     * @return Number of entries removed
+     */
+    int invalidateAll(Collection<K> keys);
+
+    void clear();
+
+    int size();
+
+    int getCapacity();
+
+    /**
+     * Gets the node's own statistics
+     */
+    CacheStats getStats();
+
+    /**
+     * Removes and returns the live entries whose keys match, for handing off to another node
+     * Entries are ordered from least to most recently accessed
+     * Not a remove: listeners see MIGRATED and the node's remove count is unchanged
+     */
+    List<CacheEntry<K, V>> extract(Predicate<K> filter);
+
+    /**
+     * Stores entries handed off from another node, keeping their expiration time and
+     * access count; keys already present on this node win
+     * @return Number of entries stored
+     */
+    int restore(List<CacheEntry<K, V>> entries);
+}
@@ -0,0 +1,19 @@
+package org.example.CacheService.interfaces;
+
+import org.example.CacheService.enums.RemovalCause;
+
+/**
+ * Interface for being notified when an entry leaves the cache
+ * Called asynchronously on the cache's event thread, never on the caller's thread,
+ * so implementations may block or log without slowing cache operations
+ */
+@FunctionalInterface
+public interface IRemovalListener<K, V> {
+    /**
+     * Called once per removed entry
+     * @param key The removed key
+     * @param value The value it held (the old value when cause is REPLACED)
+     * @param cause Why the entry was removed
+     */
+    void onRemoval(K key, V value, RemovalCause cause);
+}
@@ -0,0 +1,22 @@
+package org.example.CacheService.interfaces;
+
+/**
+ * Interface for converting cache keys and values to and from bytes
+ * Used by caches that store data outside the JVM heap
+ * Implementations must be stateless or thread-safe
+ */
+public interface ISerializer<T> {
+    /**
+     * Serializes a value to bytes
+     * @param value The value to serialize, never null
+     * @return Serialized form of the value
+     */
+    byte[] serialize(T value);
+    
+    /**
+     * Deserializes bytes produced by serialize
+     * @param bytes The serialized form
+     * @return The reconstructed value
+     */
+    T deserialize(byte[] bytes);
+}
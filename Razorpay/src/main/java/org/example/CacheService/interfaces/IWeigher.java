@@ -0,0 +1,16 @@
+package org.example.CacheService.interfaces;
+
+/**
+ * Interface for computing the relative weight of a cache entry
+ * Lets capacity be expressed in an application unit (e.g. bytes)
+ * instead of a plain entry count
+ */
+@FunctionalInterface
+public interface IWeigher<K, V> {
+    /**
+     * Returns the weight of an entry
+     * Called once when the entry is stored; the weight is not recomputed afterwards
+     * @return A non-negative weight
+     */
+    int weigh(K key, V value);
+}
@@ -0,0 +1,63 @@
+package org.example.CacheService.invalidation;
+
+import org.example.CacheService.interfaces.IInvalidationBus;
+import org.example.CacheService.interfaces.IInvalidationListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process invalidation bus
+ * Delivers every message synchronously to all other subscribers on the publisher's thread
+ * Stands in for a real broadcast channel when every node runs in one JVM (tests, demos)
+ */
+public class LoopbackInvalidationBus<K> implements IInvalidationBus<K> {
+    private final Map<String, IInvalidationListener<K>> subscribers;
+    private final LongAdder messagesPublished;
+
+    public LoopbackInvalidationBus() {
+        this.subscribers = new ConcurrentHashMap<>();
+        this.messagesPublished = new LongAdder();
+    }
+
+    @Override
+    public void subscribe(String nodeId, IInvalidationListener<K> listener) {
+        if (nodeId == null || listener == null) {
+            throw new IllegalArgumentException("Node id and listener cannot be null");
+        }
+        subscribers.put(nodeId, listener);
+    }
+
+    @Override
+    public void unsubscribe(String nodeId) {
+        subscribers.remove(nodeId);
+    }
+
+    @Override
+    public void publish(String sourceNodeId, K key) {
+        messagesPublished.increment();
+        subscribers.forEach((nodeId, listener) -> {
+            if (!nodeId.equals(sourceNodeId)) {
+                listener.onInvalidate(key);
+            }
+        });
+    }
+
+    @Override
+    public void publishAll(String sourceNodeId) {
+        messagesPublished.increment();
+        subscribers.forEach((nodeId, listener) -> {
+            if (!nodeId.equals(sourceNodeId)) {
+                listener.onInvalidateAll();
+            }
+        });
+    }
+
+    /**
+     * Gets the number of messages published, for sizing a real transport
+     */
+    public long getMessagesPublished() {
+        return messagesPublished.sum();
+    }
+}
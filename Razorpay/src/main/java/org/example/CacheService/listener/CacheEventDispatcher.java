@@ -0,0 +1,199 @@
+package org.example.CacheService.listener;
+
+import org.example.CacheService.enums.RemovalCause;
+import org.example.CacheService.interfaces.ICacheEventListener;
+import org.example.CacheService.interfaces.IRemovalListener;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Delivers cache events to listeners off the caller's thread
+ *
+ * Delivery:
+ * - Events are queued on a bounded queue drained by a single daemon thread,
+ *   so every listener sees events in the order the cache produced them
+ * - A full queue drops the event and counts it, so a slow listener can never
+ *   block or slow down cache operations
+ * - A listener that throws does not stop delivery to the other listeners; the
+ *   failure is counted, and the first one is reported on stderr
+ *
+ * Cost when unused:
+ * - No thread exists and every publish method returns after one volatile read,
+ *   so a cache without listeners does no allocation or formatting for events
+ */
+public class CacheEventDispatcher<K, V> {
+    private static final int DEFAULT_QUEUE_CAPACITY = 4096;
+
+    private final int queueCapacity;
+    private final List<IRemovalListener<K, V>> removalListeners;
+    private final List<ICacheEventListener<K, V>> eventListeners;
+    private final LongAdder droppedEvents;
+    private final LongAdder listenerFailures;
+    private volatile ThreadPoolExecutor executor;
+
+    public CacheEventDispatcher() {
+        this(DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * @param queueCapacity Maximum number of undelivered events before new ones are dropped
+     */
+    public CacheEventDispatcher(int queueCapacity) {
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Queue capacity must be positive");
+        }
+        this.queueCapacity = queueCapacity;
+        this.removalListeners = new CopyOnWriteArrayList<>();
+        this.eventListeners = new CopyOnWriteArrayList<>();
+        this.droppedEvents = new LongAdder();
+        this.listenerFailures = new LongAdder();
+    }
+
+    public void addRemovalListener(IRemovalListener<K, V> listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        removalListeners.add(listener);
+        ensureStarted();
+    }
+
+    public void addEventListener(ICacheEventListener<K, V> listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        eventListeners.add(listener);
+        ensureStarted();
+    }
+
+    /**
+     * Whether any listener is registered
+     * Callers can check this before doing work that only feeds events (e.g. iterating entries)
+     */
+    public boolean isEnabled() {
+        return executor != null;
+    }
+
+    public void publishCreated(K key, V value) {
+        if (executor == null || eventListeners.isEmpty()) {
+            return;
+        }
+        submit(() -> {
+            for (ICacheEventListener<K, V> listener : eventListeners) {
+                try {
+                    listener.onCreated(key, value);
+                } catch (RuntimeException e) {
+                    listenerFailed(e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Reports a replaced value: onUpdated to event listeners, REPLACED to removal listeners
+     */
+    public void publishUpdated(K key, V oldValue, V newValue) {
+        if (executor == null) {
+            return;
+        }
+        submit(() -> {
+            for (ICacheEventListener<K, V> listener : eventListeners) {
+                try {
+                    listener.onUpdated(key, oldValue, newValue);
+                } catch (RuntimeException e) {
+                    listenerFailed(e);
+                }
+            }
+            notifyRemovalListeners(key, oldValue, RemovalCause.REPLACED);
+        });
+    }
+
+    public void publishRemoval(K key, V value, RemovalCause cause) {
+        if (executor == null) {
+            return;
+        }
+        submit(() -> {
+            for (ICacheEventListener<K, V> listener : eventListeners) {
+                try {
+                    listener.onRemoved(key, value, cause);
+                } catch (RuntimeException e) {
+                    listenerFailed(e);
+                }
+            }
+            notifyRemovalListeners(key, value, cause);
+        });
+    }
+
+    /**
+     * Gets the number of events dropped because the queue was full
+     */
+    public long getDroppedEvents() {
+        return droppedEvents.sum();
+    }
+
+    /**
+     * Gets the number of listener calls that threw
+     */
+    public long getListenerFailures() {
+        return listenerFailures.sum();
+    }
+
+    /**
+     * Stops the event thread; events still queued are discarded
+     * Listeners registered afterwards start a new thread
+     */
+    public synchronized void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private void notifyRemovalListeners(K key, V value, RemovalCause cause) {
+        for (IRemovalListener<K, V> listener : removalListeners) {
+            try {
+                listener.onRemoval(key, value, cause);
+            } catch (RuntimeException e) {
+                listenerFailed(e);
+            }
+        }
+    }
+
+    /**
+     * Records a listener that threw and carries on with the remaining listeners,
+     * so one failing listener cannot starve the others
+     * Runs on the single event thread, so only the first failure is printed
+     */
+    private void listenerFailed(RuntimeException e) {
+        if (listenerFailures.sum() == 0) {
+            System.err.println("[Cache] Listener failed, further failures are only counted: " + e);
+        }
+        listenerFailures.increment();
+    }
+
+    private void submit(Runnable event) {
+        ThreadPoolExecutor current = executor;
+        if (current != null) {
+            // The rejection handler counts the drop; execute itself never blocks
+            current.execute(event);
+        }
+    }
+
+    private synchronized void ensureStarted() {
+        if (executor != null) {
+            return;
+        }
+        executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "cache-event-dispatcher");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> droppedEvents.increment());
+    }
+}
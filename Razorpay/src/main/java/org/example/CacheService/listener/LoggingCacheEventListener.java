@@ -0,0 +1,41 @@
+package org.example.CacheService.listener;
+
+import org.example.CacheService.enums.RemovalCause;
+import org.example.CacheService.interfaces.ICacheEventListener;
+
+import java.io.PrintStream;
+
+/**
+ * Event listener that prints every change to a stream
+ * Meant for demos and debugging; runs on the event thread, so printing
+ * never adds latency to cache operations
+ */
+public class LoggingCacheEventListener<K, V> implements ICacheEventListener<K, V> {
+    private final PrintStream out;
+
+    public LoggingCacheEventListener() {
+        this(System.out);
+    }
+
+    public LoggingCacheEventListener(PrintStream out) {
+        if (out == null) {
+            throw new IllegalArgumentException("Output stream cannot be null");
+        }
+        this.out = out;
+    }
+
+    @Override
+    public void onCreated(K key, V value) {
+        out.println("[Cache] PUT: Key '" + key + "' = " + value);
+    }
+
+    @Override
+    public void onUpdated(K key, V oldValue, V newValue) {
+        out.println("[Cache] UPDATED: Key '" + key + "' = " + newValue + " (was " + oldValue + ")");
+    }
+
+    @Override
+    public void onRemoved(K key, V value, RemovalCause cause) {
+        out.println("[Cache] " + cause + ": Key '" + key + "' = " + value + " (" + cause.getDescription() + ")");
+    }
+}
@@ -0,0 +1,162 @@
+package org.example.CacheService.metrics;
+
+import org.example.CacheService.interfaces.IMetricsExporter;
+import org.example.CacheService.model.CacheStatsSnapshot;
+import org.example.CacheService.model.LatencyHistogram;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Exports cache stats in the Prometheus text exposition format (version 0.0.4)
+ *
+ * Destinations:
+ * - OutputStream: the dump is written and flushed, the stream is left open
+ *   (e.g. an HTTP response body or System.out)
+ * - File: the dump is written to a temporary file and atomically moved over the
+ *   target, so a node_exporter textfile collector never reads a partial scrape
+ *
+ * Metrics (all labelled cache="name"):
+ * - cache_*_total counters for hits, misses, puts, removes, evictions, expirations, loads, refreshes
+ * - cache_weight gauge
+ * - cache_{get,put,load,eviction}_latency_seconds summaries with p50/p90/p99/p999
+ */
+public class PrometheusTextExporter implements IMetricsExporter {
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    private final OutputStream stream;
+    private final Path file;
+
+    /**
+     * Exporter that writes every scrape to a stream
+     */
+    public PrometheusTextExporter(OutputStream stream) {
+        if (stream == null) {
+            throw new IllegalArgumentException("Stream cannot be null");
+        }
+        this.stream = stream;
+        this.file = null;
+    }
+
+    /**
+     * Exporter that replaces a file with every scrape
+     */
+    public PrometheusTextExporter(Path file) {
+        if (file == null) {
+            throw new IllegalArgumentException("File cannot be null");
+        }
+        this.stream = null;
+        this.file = file;
+    }
+
+    @Override
+    public void export(Map<String, CacheStatsSnapshot> snapshots) throws IOException {
+        byte[] dump = format(snapshots).getBytes(StandardCharsets.UTF_8);
+        if (stream != null) {
+            stream.write(dump);
+            stream.flush();
+            return;
+        }
+        Path parent = file.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, dump);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Renders the snapshots as one Prometheus text-format scrape
+     */
+    public String format(Map<String, CacheStatsSnapshot> snapshots) {
+        StringBuilder out = new StringBuilder();
+        counter(out, snapshots, "cache_hits_total", "Lookups that found a live entry", CacheStatsSnapshot::getHits);
+        counter(out, snapshots, "cache_misses_total", "Lookups that found no live entry", CacheStatsSnapshot::getMisses);
+        counter(out, snapshots, "cache_puts_total", "Entries stored", CacheStatsSnapshot::getPuts);
+        counter(out, snapshots, "cache_removes_total", "Entries removed explicitly", CacheStatsSnapshot::getRemoves);
+        counter(out, snapshots, "cache_evictions_total", "Entries evicted to make room", CacheStatsSnapshot::getEvictions);
+        counter(out, snapshots, "cache_eviction_weight_total", "Weight freed by evictions",
+                CacheStatsSnapshot::getEvictionWeight);
+        counter(out, snapshots, "cache_expirations_total", "Entries purged after their TTL",
+                CacheStatsSnapshot::getExpirations);
+        counter(out, snapshots, "cache_load_successes_total", "Loads that produced a value",
+                CacheStatsSnapshot::getLoadSuccesses);
+        counter(out, snapshots, "cache_load_failures_total", "Loads that threw or produced no value",
+                CacheStatsSnapshot::getLoadFailures);
+        counter(out, snapshots, "cache_refresh_successes_total", "Background refreshes that replaced a value",
+                CacheStatsSnapshot::getRefreshSuccesses);
+        counter(out, snapshots, "cache_refresh_failures_total", "Background refreshes that failed",
+                CacheStatsSnapshot::getRefreshFailures);
+
+        header(out, "cache_weight", "Weight currently held (entry count when no weigher is set)", "gauge");
+        for (Map.Entry<String, CacheStatsSnapshot> entry : snapshots.entrySet()) {
+            sample(out, "cache_weight", label(entry.getKey()), entry.getValue().getTotalWeight());
+        }
+
+        summary(out, snapshots, "cache_get_latency_seconds", "Time spent in get",
+                CacheStatsSnapshot::getGetLatency);
+        summary(out, snapshots, "cache_put_latency_seconds", "Time spent in put",
+                CacheStatsSnapshot::getPutLatency);
+        summary(out, snapshots, "cache_load_latency_seconds", "Time spent in the loader",
+                CacheStatsSnapshot::getLoadLatency);
+        summary(out, snapshots, "cache_eviction_latency_seconds", "Time spent evicting one entry",
+                CacheStatsSnapshot::getEvictionLatency);
+        return out.toString();
+    }
+
+    private static void counter(StringBuilder out, Map<String, CacheStatsSnapshot> snapshots,
+                                String name, String help, ToLongFunction<CacheStatsSnapshot> value) {
+        header(out, name, help, "counter");
+        for (Map.Entry<String, CacheStatsSnapshot> entry : snapshots.entrySet()) {
+            sample(out, name, label(entry.getKey()), value.applyAsLong(entry.getValue()));
+        }
+    }
+
+    private static void summary(StringBuilder out, Map<String, CacheStatsSnapshot> snapshots,
+                                String name, String help,
+                                Function<CacheStatsSnapshot, LatencyHistogram.Snapshot> latency) {
+        header(out, name, help, "summary");
+        for (Map.Entry<String, CacheStatsSnapshot> entry : snapshots.entrySet()) {
+            LatencyHistogram.Snapshot histogram = latency.apply(entry.getValue());
+            String cache = label(entry.getKey());
+            for (double quantile : QUANTILES) {
+                out.append(name).append("{cache=\"").append(cache).append("\",quantile=\"")
+                        .append(quantile).append("\"} ")
+                        .append(seconds(histogram.getValueAtPercentile(quantile * 100))).append('\n');
+            }
+            out.append(name).append("_sum{cache=\"").append(cache).append("\"} ")
+                    .append(seconds(histogram.getTotalNanos())).append('\n');
+            sample(out, name + "_count", cache, histogram.getCount());
+        }
+    }
+
+    private static void header(StringBuilder out, String name, String help, String type) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String cache, long value) {
+        out.append(name).append("{cache=\"").append(cache).append("\"} ").append(value).append('\n');
+    }
+
+    private static String seconds(long nanos) {
+        return String.format(Locale.ROOT, "%.9f", nanos / 1_000_000_000.0);
+    }
+
+    /**
+     * Escapes a label value as the text format requires
+     */
+    private static String label(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -7,11 +7,13 @@ package org.example.CacheService.model;
  */
 public class CacheEntry<K, V> {
     private final K key;
-    private V value;
+    // Volatile so lock-free readers see a value and TTL written under the cache's lock
+    private volatile V value;
     private long lastAccessTime;
     private long creationTime;
     private int accessCount;
-    private long expirationTime;  // -1 means no expiration
+    private volatile long expirationTime;  // -1 means no expiration
+    private int weight;
     
     public CacheEntry(K key, V value) {
         this(key, value, -1);
@@ -24,6 +26,7 @@ public class CacheEntry<K, V> {
         this.lastAccessTime = this.creationTime;
         this.accessCount = 0;
         this.expirationTime = ttlMillis > 0 ? this.creationTime + ttlMillis : -1;
+        this.weight = 1;
     }
     
     /**
@@ -53,6 +56,15 @@ public class CacheEntry<K, V> {
         this.lastAccessTime = this.creationTime;
     }
     
+    /**
+     * Updates the value and replaces the TTL
+     * A non-positive ttlMillis removes any expiration
+     */
+    public void updateValue(V newValue, long ttlMillis) {
+        updateValue(newValue);
+        this.expirationTime = ttlMillis > 0 ? this.creationTime + ttlMillis : -1;
+    }
+    
     // Getters
     public K getKey() {
         return key;
@@ -78,6 +90,14 @@ public class CacheEntry<K, V> {
         return expirationTime;
     }
     
+    public int getWeight() {
+        return weight;
+    }
+    
+    public void setWeight(int weight) {
+        this.weight = weight;
+    }
+    
     @Override
     public String toString() {
         return "CacheEntry{" +
@@ -1,79 +1,242 @@
 package org.example.CacheService.model;
 
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Tracks cache statistics and metrics
- * Thread-safe implementation using atomic variables
  * Provides insights into cache performance
+ *
+ * Thread Safety:
+ * - Counters are LongAdders, which stripe updates across cells so threads
+ *   recording hits concurrently do not fight over one cache line
+ * - Latencies go into fixed-bucket LatencyHistograms (get, put, load, eviction)
+ * - Reads sum the cells and are weakly consistent; use snapshot() to take
+ *   a point-in-time copy and subtract snapshots to get rates without reset()
  */
 public class CacheStats {
-    private final AtomicLong hits;
-    private final AtomicLong misses;
-    private final AtomicLong evictions;
-    private final AtomicLong puts;
-    private final AtomicLong removes;
-    private final AtomicLong expirations;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+    private final LongAdder puts;
+    private final LongAdder removes;
+    private final LongAdder expirations;
+    private final LongAdder evictionWeight;
+    private final LongAdder totalWeight;
+    private final LongAdder loadSuccesses;
+    private final LongAdder loadFailures;
+    private final LongAdder totalLoadTime;
+    private final LongAdder refreshSuccesses;
+    private final LongAdder refreshFailures;
+    private final LatencyHistogram getLatency;
+    private final LatencyHistogram putLatency;
+    private final LatencyHistogram loadLatency;
+    private final LatencyHistogram evictionLatency;
     
     public CacheStats() {
-        this.hits = new AtomicLong(0);
-        this.misses = new AtomicLong(0);
-        this.evictions = new AtomicLong(0);
-        this.puts = new AtomicLong(0);
-        this.removes = new AtomicLong(0);
-        this.expirations = new AtomicLong(0);
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        this.evictions = new LongAdder();
+        this.puts = new LongAdder();
+        this.removes = new LongAdder();
+        this.expirations = new LongAdder();
+        this.evictionWeight = new LongAdder();
+        this.totalWeight = new LongAdder();
+        this.loadSuccesses = new LongAdder();
+        this.loadFailures = new LongAdder();
+        this.totalLoadTime = new LongAdder();
+        this.refreshSuccesses = new LongAdder();
+        this.refreshFailures = new LongAdder();
+        this.getLatency = new LatencyHistogram();
+        this.putLatency = new LatencyHistogram();
+        this.loadLatency = new LatencyHistogram();
+        this.evictionLatency = new LatencyHistogram();
     }
     
     public void recordHit() {
-        hits.incrementAndGet();
+        hits.increment();
     }
     
     public void recordMiss() {
-        misses.incrementAndGet();
+        misses.increment();
+    }
+    
+    public void recordHits(long count) {
+        hits.add(count);
+    }
+    
+    public void recordMisses(long count) {
+        misses.add(count);
+    }
+    
+    public void recordPuts(long count) {
+        puts.add(count);
+    }
+    
+    public void recordRemoves(long count) {
+        removes.add(count);
     }
     
     public void recordEviction() {
-        evictions.incrementAndGet();
+        evictions.increment();
+    }
+    
+    /**
+     * Records an eviction together with the weight it freed
+     */
+    public void recordEviction(long weight) {
+        evictions.increment();
+        evictionWeight.add(weight);
+    }
+    
+    /**
+     * Adjusts the current total weight held by the cache
+     */
+    public void recordWeightChange(long delta) {
+        totalWeight.add(delta);
     }
     
     public void recordPut() {
-        puts.incrementAndGet();
+        puts.increment();
     }
     
     public void recordRemove() {
-        removes.incrementAndGet();
+        removes.increment();
     }
     
     public void recordExpiration() {
-        expirations.incrementAndGet();
+        expirations.increment();
+    }
+    
+    /**
+     * Records a load that produced a value
+     * @param loadTimeNanos Time spent in the loader
+     */
+    public void recordLoadSuccess(long loadTimeNanos) {
+        loadSuccesses.increment();
+        totalLoadTime.add(loadTimeNanos);
+        loadLatency.record(loadTimeNanos);
+    }
+    
+    /**
+     * Records a load that threw or returned no value
+     * @param loadTimeNanos Time spent in the loader
+     */
+    public void recordLoadFailure(long loadTimeNanos) {
+        loadFailures.increment();
+        totalLoadTime.add(loadTimeNanos);
+        loadLatency.record(loadTimeNanos);
+    }
+    
+    /**
+     * Records how long a get took, hit or miss
+     */
+    public void recordGetLatency(long nanos) {
+        getLatency.record(nanos);
+    }
+    
+    /**
+     * Records how long a put took, including any evictions it triggered
+     */
+    public void recordPutLatency(long nanos) {
+        putLatency.record(nanos);
+    }
+    
+    /**
+     * Records how long one eviction took
+     */
+    public void recordEvictionLatency(long nanos) {
+        evictionLatency.record(nanos);
+    }
+    
+    public void recordRefreshSuccess() {
+        refreshSuccesses.increment();
+    }
+    
+    public void recordRefreshFailure() {
+        refreshFailures.increment();
     }
     
     public long getHits() {
-        return hits.get();
+        return hits.sum();
     }
     
     public long getMisses() {
-        return misses.get();
+        return misses.sum();
     }
     
     public long getEvictions() {
-        return evictions.get();
+        return evictions.sum();
     }
     
     public long getPuts() {
-        return puts.get();
+        return puts.sum();
     }
     
     public long getRemoves() {
-        return removes.get();
+        return removes.sum();
     }
     
     public long getExpirations() {
-        return expirations.get();
+        return expirations.sum();
+    }
+    
+    public long getEvictionWeight() {
+        return evictionWeight.sum();
+    }
+    
+    /**
+     * Gets the weight currently held by the cache (entry count when no weigher is set)
+     */
+    public long getTotalWeight() {
+        return totalWeight.sum();
+    }
+    
+    public long getLoadSuccesses() {
+        return loadSuccesses.sum();
+    }
+    
+    public long getLoadFailures() {
+        return loadFailures.sum();
+    }
+    
+    public long getTotalLoadTime() {
+        return totalLoadTime.sum();
+    }
+    
+    public long getRefreshSuccesses() {
+        return refreshSuccesses.sum();
+    }
+    
+    public long getRefreshFailures() {
+        return refreshFailures.sum();
+    }
+    
+    /**
+     * Gets the average time spent per load in nanoseconds
+     */
+    public double getAverageLoadPenalty() {
+        long loads = loadSuccesses.sum() + loadFailures.sum();
+        return loads == 0 ? 0.0 : (double) totalLoadTime.sum() / loads;
+    }
+    
+    public LatencyHistogram getGetLatency() {
+        return getLatency;
+    }
+    
+    public LatencyHistogram getPutLatency() {
+        return putLatency;
+    }
+    
+    public LatencyHistogram getLoadLatency() {
+        return loadLatency;
+    }
+    
+    public LatencyHistogram getEvictionLatency() {
+        return evictionLatency;
     }
     
     public long getTotalRequests() {
-        return hits.get() + misses.get();
+        return hits.sum() + misses.sum();
     }
     
     /**
@@ -81,26 +244,55 @@ public class CacheStats {
      */
     public double getHitRatio() {
         long total = getTotalRequests();
-        return total == 0 ? 0.0 : (double) hits.get() / total;
+        return total == 0 ? 0.0 : (double) hits.sum() / total;
     }
     
     /**
      * Resets all statistics
+     * The current total weight describes cache contents, not history, so it is kept
      */
     public void reset() {
-        hits.set(0);
-        misses.set(0);
-        evictions.set(0);
-        puts.set(0);
-        removes.set(0);
-        expirations.set(0);
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+        puts.reset();
+        removes.reset();
+        expirations.reset();
+        evictionWeight.reset();
+        loadSuccesses.reset();
+        loadFailures.reset();
+        totalLoadTime.reset();
+        refreshSuccesses.reset();
+        refreshFailures.reset();
+        getLatency.reset();
+        putLatency.reset();
+        loadLatency.reset();
+        evictionLatency.reset();
+    }
+    
+    /**
+     * Takes a point-in-time copy of every counter and histogram
+     * A scraper keeps the previous snapshot and calls minus() to get the
+     * activity since then, so rates never require reset()
+     */
+    public CacheStatsSnapshot snapshot() {
+        return new CacheStatsSnapshot(System.nanoTime(),
+                hits.sum(), misses.sum(), evictions.sum(), puts.sum(), removes.sum(), expirations.sum(),
+                evictionWeight.sum(), totalWeight.sum(), loadSuccesses.sum(), loadFailures.sum(),
+                totalLoadTime.sum(), refreshSuccesses.sum(), refreshFailures.sum(),
+                getLatency.snapshot(), putLatency.snapshot(), loadLatency.snapshot(), evictionLatency.snapshot());
     }
     
     @Override
     public String toString() {
         return String.format(
-            "CacheStats{hits=%d, misses=%d, hitRatio=%.2f%%, evictions=%d, puts=%d, removes=%d, expirations=%d}",
-            getHits(), getMisses(), getHitRatio() * 100, getEvictions(), getPuts(), getRemoves(), getExpirations()
+            "CacheStats{hits=%d, misses=%d, hitRatio=%.2f%%, evictions=%d, puts=%d, removes=%d, expirations=%d, "
+                + "totalWeight=%d, evictionWeight=%d, loadSuccesses=%d, loadFailures=%d, avgLoadPenalty=%.2fms, "
+                + "refreshSuccesses=%d, refreshFailures=%d, getP99=%dns, putP99=%dns}",
+            getHits(), getMisses(), getHitRatio() * 100, getEvictions(), getPuts(), getRemoves(), getExpirations(),
+            getTotalWeight(), getEvictionWeight(), getLoadSuccesses(), getLoadFailures(),
+            getAverageLoadPenalty() / 1_000_000, getRefreshSuccesses(), getRefreshFailures(),
+            getLatency.snapshot().getValueAtPercentile(99), putLatency.snapshot().getValueAtPercentile(99)
         );
     }
 }
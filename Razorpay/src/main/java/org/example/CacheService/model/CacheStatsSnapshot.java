@@ -0,0 +1,187 @@
+package org.example.CacheService.model;
+
+/**
+ * Immutable point-in-time copy of a cache's CacheStats
+ *
+ * Usage (scraper computing rates without resetting the live stats):
+ *   CacheStatsSnapshot previous = cache.getStats().snapshot();
+ *   ...
+ *   CacheStatsSnapshot current = cache.getStats().snapshot();
+ *   CacheStatsSnapshot delta = current.minus(previous);
+ *   double hitsPerSecond = delta.perSecond(delta.getHits());
+ *
+ * Counters in a delta are the activity between the two snapshots, except
+ * totalWeight, which is a gauge and keeps the later snapshot's value
+ */
+public class CacheStatsSnapshot {
+    private final long timestampNanos;
+    private final long elapsedNanos;
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long puts;
+    private final long removes;
+    private final long expirations;
+    private final long evictionWeight;
+    private final long totalWeight;
+    private final long loadSuccesses;
+    private final long loadFailures;
+    private final long totalLoadTime;
+    private final long refreshSuccesses;
+    private final long refreshFailures;
+    private final LatencyHistogram.Snapshot getLatency;
+    private final LatencyHistogram.Snapshot putLatency;
+    private final LatencyHistogram.Snapshot loadLatency;
+    private final LatencyHistogram.Snapshot evictionLatency;
+
+    CacheStatsSnapshot(long timestampNanos,
+                       long hits, long misses, long evictions, long puts, long removes, long expirations,
+                       long evictionWeight, long totalWeight, long loadSuccesses, long loadFailures,
+                       long totalLoadTime, long refreshSuccesses, long refreshFailures,
+                       LatencyHistogram.Snapshot getLatency, LatencyHistogram.Snapshot putLatency,
+                       LatencyHistogram.Snapshot loadLatency, LatencyHistogram.Snapshot evictionLatency) {
+        this(timestampNanos, 0, hits, misses, evictions, puts, removes, expirations, evictionWeight, totalWeight,
+                loadSuccesses, loadFailures, totalLoadTime, refreshSuccesses, refreshFailures,
+                getLatency, putLatency, loadLatency, evictionLatency);
+    }
+
+    private CacheStatsSnapshot(long timestampNanos, long elapsedNanos,
+                               long hits, long misses, long evictions, long puts, long removes, long expirations,
+                               long evictionWeight, long totalWeight, long loadSuccesses, long loadFailures,
+                               long totalLoadTime, long refreshSuccesses, long refreshFailures,
+                               LatencyHistogram.Snapshot getLatency, LatencyHistogram.Snapshot putLatency,
+                               LatencyHistogram.Snapshot loadLatency, LatencyHistogram.Snapshot evictionLatency) {
+        this.timestampNanos = timestampNanos;
+        this.elapsedNanos = elapsedNanos;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.puts = puts;
+        this.removes = removes;
+        this.expirations = expirations;
+        this.evictionWeight = evictionWeight;
+        this.totalWeight = totalWeight;
+        this.loadSuccesses = loadSuccesses;
+        this.loadFailures = loadFailures;
+        this.totalLoadTime = totalLoadTime;
+        this.refreshSuccesses = refreshSuccesses;
+        this.refreshFailures = refreshFailures;
+        this.getLatency = getLatency;
+        this.putLatency = putLatency;
+        this.loadLatency = loadLatency;
+        this.evictionLatency = evictionLatency;
+    }
+
+    /**
+     * Activity between an earlier snapshot of the same stats and this one
+     * Counters are clamped at zero in case the stats were reset in between
+     */
+    public CacheStatsSnapshot minus(CacheStatsSnapshot earlier) {
+        return new CacheStatsSnapshot(timestampNanos, timestampNanos - earlier.timestampNanos,
+                delta(hits, earlier.hits), delta(misses, earlier.misses),
+                delta(evictions, earlier.evictions), delta(puts, earlier.puts),
+                delta(removes, earlier.removes), delta(expirations, earlier.expirations),
+                delta(evictionWeight, earlier.evictionWeight), totalWeight,
+                delta(loadSuccesses, earlier.loadSuccesses), delta(loadFailures, earlier.loadFailures),
+                delta(totalLoadTime, earlier.totalLoadTime),
+                delta(refreshSuccesses, earlier.refreshSuccesses), delta(refreshFailures, earlier.refreshFailures),
+                getLatency.minus(earlier.getLatency), putLatency.minus(earlier.putLatency),
+                loadLatency.minus(earlier.loadLatency), evictionLatency.minus(earlier.evictionLatency));
+    }
+
+    /**
+     * Converts a counter from a delta snapshot into a per-second rate
+     * @return 0 for a snapshot that was not produced by minus()
+     */
+    public double perSecond(long count) {
+        return elapsedNanos <= 0 ? 0.0 : count * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    private static long delta(long later, long earlier) {
+        return Math.max(0, later - earlier);
+    }
+
+    public long getTimestampNanos() {
+        return timestampNanos;
+    }
+
+    /**
+     * Gets the time covered by a delta snapshot (0 for a plain snapshot)
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getPuts() {
+        return puts;
+    }
+
+    public long getRemoves() {
+        return removes;
+    }
+
+    public long getExpirations() {
+        return expirations;
+    }
+
+    public long getEvictionWeight() {
+        return evictionWeight;
+    }
+
+    public long getTotalWeight() {
+        return totalWeight;
+    }
+
+    public long getLoadSuccesses() {
+        return loadSuccesses;
+    }
+
+    public long getLoadFailures() {
+        return loadFailures;
+    }
+
+    public long getTotalLoadTime() {
+        return totalLoadTime;
+    }
+
+    public long getRefreshSuccesses() {
+        return refreshSuccesses;
+    }
+
+    public long getRefreshFailures() {
+        return refreshFailures;
+    }
+
+    public LatencyHistogram.Snapshot getGetLatency() {
+        return getLatency;
+    }
+
+    public LatencyHistogram.Snapshot getPutLatency() {
+        return putLatency;
+    }
+
+    public LatencyHistogram.Snapshot getLoadLatency() {
+        return loadLatency;
+    }
+
+    public LatencyHistogram.Snapshot getEvictionLatency() {
+        return evictionLatency;
+    }
+
+    public double getHitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
@@ -0,0 +1,136 @@
+package org.example.CacheService.partition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable consistent-hash ring with virtual nodes
+ * Each node is placed at virtualNodes pseudo-random points; a key belongs to the
+ * first point at or after its hash, wrapping around. Adding or removing a node
+ * only moves the keys between that node's points and their predecessors,
+ * about 1/n of all keys
+ *
+ * Data Structure: sorted long[] of points + parallel String[] of owners
+ * Time Complexity: O(log(nodes * virtualNodes)) lookup; O(points log points) to add or remove a node
+ *
+ * Changes return a new ring, so a cache can compare owners before and after a change
+ */
+public final class ConsistentHashRing {
+    private final int virtualNodes;
+    private final List<String> nodeIds;
+    private final long[] points;
+    private final String[] owners;
+
+    /**
+     * Creates an empty ring
+     * @param virtualNodes Points per node; more points spread keys more evenly (100-200 is typical)
+     */
+    public ConsistentHashRing(int virtualNodes) {
+        this(virtualNodes, Collections.emptyList());
+    }
+
+    private ConsistentHashRing(int virtualNodes, List<String> nodeIds) {
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("Virtual node count must be positive");
+        }
+        this.virtualNodes = virtualNodes;
+        this.nodeIds = Collections.unmodifiableList(nodeIds);
+
+        long[][] placed = new long[nodeIds.size() * virtualNodes][];
+        int count = 0;
+        for (int node = 0; node < nodeIds.size(); node++) {
+            long nodeHash = hashString(nodeIds.get(node));
+            for (int replica = 0; replica < virtualNodes; replica++) {
+                placed[count++] = new long[]{mix(nodeHash + replica * 0x9E3779B97F4A7C15L), node};
+            }
+        }
+        // Ties (astronomically rare) are broken by node order, so every ring agrees
+        Arrays.sort(placed, (a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        this.points = new long[placed.length];
+        this.owners = new String[placed.length];
+        for (int i = 0; i < placed.length; i++) {
+            points[i] = placed[i][0];
+            owners[i] = nodeIds.get((int) placed[i][1]);
+        }
+    }
+
+    /**
+     * Returns a ring that also contains nodeId
+     */
+    public ConsistentHashRing withNode(String nodeId) {
+        if (nodeId == null) {
+            throw new IllegalArgumentException("Node id cannot be null");
+        }
+        if (nodeIds.contains(nodeId)) {
+            throw new IllegalArgumentException("Node already on the ring: " + nodeId);
+        }
+        List<String> next = new ArrayList<>(nodeIds);
+        next.add(nodeId);
+        return new ConsistentHashRing(virtualNodes, next);
+    }
+
+    /**
+     * Returns a ring without nodeId
+     */
+    public ConsistentHashRing withoutNode(String nodeId) {
+        if (!nodeIds.contains(nodeId)) {
+            throw new IllegalArgumentException("Node not on the ring: " + nodeId);
+        }
+        List<String> next = new ArrayList<>(nodeIds);
+        next.remove(nodeId);
+        return new ConsistentHashRing(virtualNodes, next);
+    }
+
+    /**
+     * Gets the id of the node that owns key
+     * @throws IllegalStateException if the ring has no nodes
+     */
+    public String nodeFor(Object key) {
+        if (points.length == 0) {
+            throw new IllegalStateException("Hash ring has no nodes");
+        }
+        int index = Arrays.binarySearch(points, mix(key.hashCode()));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    public List<String> getNodeIds() {
+        return nodeIds;
+    }
+
+    public boolean isEmpty() {
+        return nodeIds.isEmpty();
+    }
+
+    public int getVirtualNodes() {
+        return virtualNodes;
+    }
+
+    /**
+     * 64-bit FNV-1a over the id's characters
+     */
+    private static long hashString(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * MurmurHash3 64-bit finalizer; spreads weak hashCodes over the whole ring
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,121 @@
+package org.example.CacheService.partition;
+
+import org.example.CacheService.impl.InMemoryCache;
+import org.example.CacheService.interfaces.INodeTransport;
+import org.example.CacheService.model.CacheEntry;
+import org.example.CacheService.model.CacheStats;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * In-process node transport
+ * Calls an InMemoryCache in this JVM directly, with no serialization
+ * Stands in for a remote node when every node runs in one JVM (tests, demos),
+ * and lets one process use several independently locked and evicted caches
+ */
+public class LoopbackNodeTransport<K, V> implements INodeTransport<K, V> {
+    private final String nodeId;
+    private final InMemoryCache<K, V> cache;
+
+    public LoopbackNodeTransport(String nodeId, InMemoryCache<K, V> cache) {
+        if (nodeId == null || cache == null) {
+            throw new IllegalArgumentException("Node id and cache cannot be null");
+        }
+        this.nodeId = nodeId;
+        this.cache = cache;
+    }
+
+    @Override
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public Optional<V> get(K key) {
+        return cache.get(key);
+    }
+
+    @Override
+    public void put(K key, V value, long ttlMillis) {
+        cache.put(key, value, ttlMillis);
+    }
+
+    @Override
+    public boolean remove(K key) {
+        return cache.remove(key);
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return cache.containsKey(key);
+    }
+
+    @Override
+    public Map<K, V> getAll(Collection<K> keys) {
+        return cache.getAll(keys);
+    }
+
+    @Override
+    public void putAll(Map<K, V> entries, long ttlMillis) {
+        cache.putAll(entries, ttlMillis);
+    }
+
+    @Override
+    public int invalidateAll(Collection<K> keys) {
+        return cache.invalidateAll(keys);
+    }
+
+    @Override
+    public void clear() {
+        cache.clear();
+    }
+
+    @Override
+    public int size() {
+        return cache.size();
+    }
+
+    @Override
+    public int getCapacity() {
+        return cache.getCapacity();
+    }
+
+    @Override
+    public CacheStats getStats() {
+        return cache.getStats();
+    }
+
+    @Override
+    public List<CacheEntry<K, V>> extract(Predicate<K> filter) {
+        List<CacheEntry<K, V>> extracted = new ArrayList<>();
+        for (CacheEntry<K, V> entry : cache.entriesByAccessTime()) {
+            if (filter.test(entry.getKey()) && cache.migrateOut(entry.getKey())) {
+                extracted.add(entry);
+            }
+        }
+        return extracted;
+    }
+
+    @Override
+    public int restore(List<CacheEntry<K, V>> entries) {
+        int restored = 0;
+        for (CacheEntry<K, V> entry : entries) {
+            if (cache.restore(entry.getKey(), entry.getValue(), entry.getExpirationTime(), entry.getAccessCount())) {
+                restored++;
+            }
+        }
+        return restored;
+    }
+
+    /**
+     * Gets the cache behind this transport
+     */
+    public InMemoryCache<K, V> getCache() {
+        return cache;
+    }
+}
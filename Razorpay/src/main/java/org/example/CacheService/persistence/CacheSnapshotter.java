@@ -0,0 +1,245 @@
+package org.example.CacheService.persistence;
+
+import org.example.CacheService.impl.InMemoryCache;
+import org.example.CacheService.interfaces.ISerializer;
+import org.example.CacheService.model.CacheEntry;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Saves an InMemoryCache to a binary file and warms a new cache from it on startup
+ *
+ * File layout (big-endian):
+ *   header: [int MAGIC][int VERSION][long snapshotTimeMillis][long entryCount]
+ *   record: [int keyLength][int valueLength][long expirationTime][int accessCount][key][value]
+ * - expirationTime is absolute epoch millis (-1 for none), so time spent while the
+ *   service was down still counts against the TTL
+ * - Records are ordered from least to most recently accessed; reloading them in
+ *   file order rebuilds recency order, and accessCount is replayed so
+ *   frequency-based policies keep their hot set
+ *
+ * I/O:
+ * - Both directions stream through one CHUNK_BYTES buffer on a FileChannel, so
+ *   memory use does not grow with the snapshot size
+ * - Saves go to a temporary file that is forced to disk and atomically moved
+ *   over the target, so a crash mid-save never leaves a truncated snapshot
+ *
+ * Incremental reload:
+ * - Each record is restored under its own short lock acquisition, so the cache
+ *   serves traffic while a large snapshot loads (use loadAsync)
+ * - Keys written by live traffic during the load win over snapshot values
+ * - In count mode, the oldest records beyond capacity are skipped without being
+ *   deserialized; expired records are skipped too
+ */
+public class CacheSnapshotter<K, V> {
+    private static final int MAGIC = 0x43534E50;
+    private static final int VERSION = 1;
+    private static final int FILE_HEADER_BYTES = 24;
+    private static final int RECORD_HEADER_BYTES = 20;
+    private static final int CHUNK_BYTES = 1 << 20;
+
+    private final InMemoryCache<K, V> cache;
+    private final ISerializer<K> keySerializer;
+    private final ISerializer<V> valueSerializer;
+
+    public CacheSnapshotter(InMemoryCache<K, V> cache, ISerializer<K> keySerializer,
+                            ISerializer<V> valueSerializer) {
+        if (cache == null) {
+            throw new IllegalArgumentException("Cache cannot be null");
+        }
+        if (keySerializer == null || valueSerializer == null) {
+            throw new IllegalArgumentException("Serializers cannot be null");
+        }
+        this.cache = cache;
+        this.keySerializer = keySerializer;
+        this.valueSerializer = valueSerializer;
+    }
+
+    /**
+     * Writes every live entry to file, replacing any previous snapshot
+     * @return Number of entries written
+     */
+    public long save(Path file) throws IOException {
+        List<CacheEntry<K, V>> entries = cache.entriesByAccessTime();
+        Path parent = file.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            long written = 0;
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(CHUNK_BYTES);
+                // Entry count is patched in once known; entries may expire while writing
+                buffer.putInt(MAGIC).putInt(VERSION).putLong(System.currentTimeMillis()).putLong(0);
+
+                for (CacheEntry<K, V> entry : entries) {
+                    long expirationTime = entry.getExpirationTime();
+                    if (entry.isExpired()) {
+                        continue;
+                    }
+                    byte[] keyBytes = keySerializer.serialize(entry.getKey());
+                    byte[] valueBytes = valueSerializer.serialize(entry.getValue());
+                    ensureRoom(channel, buffer, RECORD_HEADER_BYTES);
+                    buffer.putInt(keyBytes.length).putInt(valueBytes.length)
+                            .putLong(expirationTime).putInt(entry.getAccessCount());
+                    put(channel, buffer, keyBytes);
+                    put(channel, buffer, valueBytes);
+                    written++;
+                }
+                flush(channel, buffer);
+
+                ByteBuffer count = ByteBuffer.allocate(Long.BYTES).putLong(0, written);
+                channel.write(count, FILE_HEADER_BYTES - Long.BYTES);
+                channel.force(true);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return written;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Restores entries from a snapshot on the calling thread
+     * @return Number of entries restored into the cache
+     */
+    public long load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(CHUNK_BYTES);
+            buffer.flip();
+
+            require(channel, buffer, FILE_HEADER_BYTES);
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a cache snapshot: " + file);
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version " + version + " in " + file);
+            }
+            buffer.getLong();
+            long entryCount = buffer.getLong();
+
+            // Only the newest records fit; skip the oldest without deserializing them
+            long skip = Math.max(0, entryCount - cache.getCapacity());
+            long now = System.currentTimeMillis();
+            long restored = 0;
+            for (long i = 0; i < entryCount; i++) {
+                require(channel, buffer, RECORD_HEADER_BYTES);
+                int keyLength = buffer.getInt();
+                int valueLength = buffer.getInt();
+                long expirationTime = buffer.getLong();
+                int accessCount = buffer.getInt();
+
+                if (i < skip || (expirationTime != -1 && expirationTime <= now)) {
+                    discard(channel, buffer, (long) keyLength + valueLength);
+                    continue;
+                }
+                K key = keySerializer.deserialize(read(channel, buffer, keyLength));
+                V value = valueSerializer.deserialize(read(channel, buffer, valueLength));
+                if (cache.restore(key, value, expirationTime, accessCount)) {
+                    restored++;
+                }
+            }
+            return restored;
+        }
+    }
+
+    /**
+     * Restores entries from a snapshot on the given executor
+     * The cache can serve requests immediately and warms up as the load progresses
+     * @return Future completed with the number of entries restored
+     */
+    public CompletableFuture<Long> loadAsync(Path file, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return load(file);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    private static void ensureRoom(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush(channel, buffer);
+        }
+    }
+
+    /**
+     * Appends bytes through the chunk buffer; bytes larger than a chunk bypass it
+     */
+    private static void put(FileChannel channel, ByteBuffer buffer, byte[] bytes) throws IOException {
+        if (bytes.length <= buffer.remaining()) {
+            buffer.put(bytes);
+            return;
+        }
+        flush(channel, buffer);
+        if (bytes.length <= buffer.remaining()) {
+            buffer.put(bytes);
+            return;
+        }
+        ByteBuffer large = ByteBuffer.wrap(bytes);
+        while (large.hasRemaining()) {
+            channel.write(large);
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Makes at least bytes readable in the buffer (bytes must not exceed a chunk)
+     */
+    private static void require(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        buffer.compact();
+        while (buffer.position() < bytes) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Snapshot is truncated");
+            }
+        }
+        buffer.flip();
+    }
+
+    private static byte[] read(FileChannel channel, ByteBuffer buffer, int length) throws IOException {
+        byte[] bytes = new byte[length];
+        int copied = Math.min(length, buffer.remaining());
+        buffer.get(bytes, 0, copied);
+        if (copied < length) {
+            // Larger than what is buffered: read the rest straight from the channel
+            ByteBuffer rest = ByteBuffer.wrap(bytes, copied, length - copied);
+            while (rest.hasRemaining()) {
+                if (channel.read(rest) < 0) {
+                    throw new EOFException("Snapshot is truncated");
+                }
+            }
+        }
+        return bytes;
+    }
+
+    private static void discard(FileChannel channel, ByteBuffer buffer, long length) throws IOException {
+        long buffered = Math.min(length, buffer.remaining());
+        buffer.position(buffer.position() + (int) buffered);
+        long rest = length - buffered;
+        if (rest > 0) {
+            channel.position(channel.position() + rest);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package org.example.CacheService.policies;
+
+import org.example.CacheService.interfaces.IEvictionPolicy;
+import org.example.CacheService.model.CacheEntry;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * CLOCK (second-chance) eviction policy implementation
+ * Approximates LRU without reordering anything on a hit
+ *
+ * Data Structure: keys in a fixed ring of slots + one visited byte per slot
+ *   slots:   [ a ][ b ][   ][ d ][ e ]
+ *   visited:   1    0         1    0
+ *                   ^ hand
+ * - A hit only sets the key's visited byte
+ * - Eviction sweeps the hand around the ring: a visited key gets its byte
+ *   cleared (a second chance), the first unvisited key is evicted
+ * - A new key takes a free slot (usually the one just evicted) with its byte set
+ * Time Complexity: O(1) access and put, amortized O(1) eviction
+ * Space Complexity: O(n); the ring grows by doubling if more keys than
+ *   maximumSize are put (weight-bounded caches)
+ *
+ * Thread Safety:
+ * - recordAccess is lock-free: one ConcurrentHashMap lookup and one byte write;
+ *   a mark lost to a racing sweep only costs that key its second chance
+ * - Structural changes (put, removal, eviction) are synchronized
+ *
+ * Pros:
+ * - No allocation or pointer updates on a hit
+ * - Hit ratio close to LRU
+ *
+ * Cons:
+ * - Not scan resistant
+ * - A sweep can visit many slots when most keys are marked
+ */
+public class ClockEvictionPolicy<K, V> implements IEvictionPolicy<K, V> {
+    private final Map<K, Integer> slotIndex;
+    private Object[] keys;
+    private volatile byte[] visited;
+    private int[] freeSlots;
+    private int freeCount;
+    private int hand;
+    private int size;
+
+    /**
+     * @param maximumSize Capacity of the cache this policy is attached to
+     */
+    public ClockEvictionPolicy(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+        this.slotIndex = new ConcurrentHashMap<>();
+        this.keys = new Object[maximumSize];
+        this.visited = new byte[maximumSize];
+        this.freeSlots = new int[maximumSize];
+        resetFreeSlots();
+    }
+
+    @Override
+    public void recordAccess(K key) {
+        Integer slot = slotIndex.get(key);
+        if (slot != null) {
+            visited[slot] = 1;
+        }
+    }
+
+    @Override
+    public synchronized void recordPut(K key, CacheEntry<K, V> entry) {
+        if (slotIndex.containsKey(key)) {
+            return;
+        }
+        if (freeCount == 0) {
+            grow();
+        }
+        int slot = freeSlots[--freeCount];
+        keys[slot] = key;
+        visited[slot] = 1;
+        slotIndex.put(key, slot);
+        size++;
+    }
+
+    @Override
+    public synchronized void recordRemoval(K key) {
+        Integer slot = slotIndex.remove(key);
+        if (slot == null) {
+            return;
+        }
+        keys[slot] = null;
+        visited[slot] = 0;
+        freeSlots[freeCount++] = slot;
+        size--;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public synchronized K evict() {
+        if (size == 0) {
+            return null;
+        }
+
+        byte[] bits = visited;
+        // Terminates within two revolutions: the first clears every mark
+        while (true) {
+            int slot = hand;
+            hand = hand + 1 == keys.length ? 0 : hand + 1;
+            Object key = keys[slot];
+            if (key == null) {
+                continue;
+            }
+            if (bits[slot] != 0) {
+                bits[slot] = 0;
+                continue;
+            }
+            K victim = (K) key;
+            recordRemoval(victim);
+            return victim;
+        }
+    }
+
+    @Override
+    public synchronized void clear() {
+        slotIndex.clear();
+        Arrays.fill(keys, null);
+        Arrays.fill(visited, (byte) 0);
+        resetFreeSlots();
+        hand = 0;
+        size = 0;
+    }
+
+    @Override
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Doubles the ring; the new slots become free
+     */
+    private void grow() {
+        int oldLength = keys.length;
+        int newLength = oldLength * 2;
+        keys = Arrays.copyOf(keys, newLength);
+        visited = Arrays.copyOf(visited, newLength);
+        freeSlots = new int[newLength];
+        // Every old slot is occupied (that is why we grew), so only new slots are free
+        freeCount = 0;
+        for (int slot = newLength - 1; slot >= oldLength; slot--) {
+            freeSlots[freeCount++] = slot;
+        }
+    }
+
+    /**
+     * Marks every slot free, lowest slot handed out first
+     */
+    private void resetFreeSlots() {
+        freeCount = 0;
+        for (int slot = keys.length - 1; slot >= 0; slot--) {
+            freeSlots[freeCount++] = slot;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package org.example.CacheService.policies;
+
+import java.util.Arrays;
+
+/**
+ * 4-bit Count-Min Sketch used to estimate how often a key has been seen
+ * Backs the admission decision of the W-TinyLFU eviction policy
+ *
+ * Data Structure: fixed-size long[] where every long packs sixteen 4-bit counters
+ * Each key maps to 4 counters (one per hash function); the estimate is their minimum
+ * Time Complexity: O(1) for increment and frequency
+ * Space Complexity: O(capacity) - 8 bytes per expected entry, independent of keys seen
+ *
+ * Aging:
+ * - After sampleSize increments every counter is halved
+ * - Keeps the sketch tracking recent popularity instead of all-time counts
+ * - Counters saturate at 15, which is enough to rank hot vs cold keys
+ *
+ * Not thread-safe; callers must synchronize externally
+ */
+public class FrequencySketch {
+    private static final long[] SEEDS = {
+        0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAX_COUNTER = 15;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int additions;
+
+    /**
+     * Creates a sketch sized for the given number of cache entries
+     * @param maximumSize Expected maximum number of entries in the cache
+     */
+    public FrequencySketch(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Sketch size must be positive");
+        }
+        int tableSize = Integer.highestOneBit(Math.max(8, maximumSize - 1)) << 1;
+        if (tableSize <= 0) {
+            tableSize = 1 << 30;
+        }
+        this.table = new long[tableSize];
+        this.tableMask = tableSize - 1;
+        this.sampleSize = (int) Math.min(10L * maximumSize, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the estimated number of occurrences of the key, capped at 15
+     */
+    public int frequency(Object key) {
+        return frequencyOfHash(key.hashCode());
+    }
+
+    /**
+     * Same as frequency, for callers that hold a precomputed hash instead of a key object
+     */
+    public int frequencyOfHash(int hashCode) {
+        int hash = spread(hashCode);
+        int start = (hash & 3) << 2;
+        int frequency = MAX_COUNTER;
+        for (int i = 0; i < 4; i++) {
+            int index = indexOf(hash, i);
+            int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * Increments the key's counters; halves every counter once sampleSize is reached
+     */
+    public void increment(Object key) {
+        incrementHash(key.hashCode());
+    }
+
+    /**
+     * Same as increment, for callers that hold a precomputed hash instead of a key object
+     */
+    public void incrementHash(int hashCode) {
+        int hash = spread(hashCode);
+        int start = (hash & 3) << 2;
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            added |= incrementAt(indexOf(hash, i), start + i);
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * Clears every counter
+     */
+    public void clear() {
+        Arrays.fill(table, 0L);
+        additions = 0;
+    }
+
+    /**
+     * Increments the 4-bit counter at offset j of table[i] unless it is saturated
+     */
+    private boolean incrementAt(int i, int j) {
+        int offset = j << 2;
+        long mask = 0xfL << offset;
+        if ((table[i] & mask) != mask) {
+            table[i] += 1L << offset;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Ages the sketch by halving every counter in place
+     */
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions >>>= 1;
+    }
+
+    private int indexOf(int item, int i) {
+        long hash = (item + SEEDS[i]) * SEEDS[i];
+        hash += (hash >>> 32);
+        return ((int) hash) & tableMask;
+    }
+
+    private static int spread(int x) {
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+}
@@ -3,114 +3,220 @@ package org.example.CacheService.policies;
 import org.example.CacheService.interfaces.IEvictionPolicy;
 import org.example.CacheService.model.CacheEntry;
 
-import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Least Frequently Used (LFU) eviction policy implementation
  * Evicts the least frequently accessed entry when cache is full
- * 
- * Data Structure: HashMap for frequency count + TreeMap for frequency-based ordering
- * Time Complexity: O(log n) for eviction, O(log n) for access
+ * Ties within the same frequency are broken by insertion order (oldest first)
+ *
+ * Data Structure: HashMap for key lookup + doubly linked list of frequency nodes,
+ * each frequency node holding an intrusive doubly linked list of entry nodes
+ * Time Complexity: O(1) for access, put, removal and eviction
  * Space Complexity: O(n) where n is number of entries
- * 
+ *
+ * Layout:
+ *   [freq 1] <-> [freq 3] <-> [freq 7]      (ascending, only non-empty frequencies)
+ *     |            |            |
+ *    a <-> b       c            d <-> e     (oldest first within a frequency)
+ *
+ * Thread Safety:
+ * - All methods are synchronized; the cache may call recordAccess
+ *   concurrently from its read path
+ *
  * Pros:
  * - Considers access frequency - keeps hot data
  * - Good for workloads with clear access patterns
  * - Protects frequently accessed items
- * 
+ * - No boxing or per-access allocation (a frequency node is only created
+ *   the first time an entry reaches a frequency nobody else has)
+ *
  * Cons:
  * - More complex implementation
  * - Early frequent access can cause stale entries to persist
- * - Slightly higher overhead than LRU
  */
 public class LFUEvictionPolicy<K, V> implements IEvictionPolicy<K, V> {
-    private final Map<K, Integer> frequencyMap;
-    private final TreeMap<Integer, LinkedHashSet<K>> frequencyBuckets;
-    private int minFrequency;
-    
+    private final Map<K, EntryNode<K>> entries;
+    private FrequencyNode<K> lowest;
+
     public LFUEvictionPolicy() {
-        this.frequencyMap = new ConcurrentHashMap<>();
-        this.frequencyBuckets = new TreeMap<>();
-        this.minFrequency = 0;
+        this.entries = new HashMap<>();
+        this.lowest = null;
     }
-    
+
     @Override
-    public void recordAccess(K key) {
-        if (!frequencyMap.containsKey(key)) {
+    public synchronized void recordAccess(K key) {
+        EntryNode<K> node = entries.get(key);
+        if (node == null) {
             return;
         }
-        
-        int currentFreq = frequencyMap.get(key);
-        int newFreq = currentFreq + 1;
-        
-        // Remove from current frequency bucket
-        frequencyBuckets.get(currentFreq).remove(key);
-        if (frequencyBuckets.get(currentFreq).isEmpty()) {
-            frequencyBuckets.remove(currentFreq);
-            if (minFrequency == currentFreq) {
-                minFrequency = newFreq;
-            }
+
+        FrequencyNode<K> current = node.parent;
+        FrequencyNode<K> next = current.next;
+        if (next == null || next.frequency != current.frequency + 1) {
+            next = new FrequencyNode<>(current.frequency + 1);
+            linkAfter(current, next);
+        }
+
+        current.unlink(node);
+        next.append(node);
+        if (current.isEmpty()) {
+            unlinkFrequency(current);
         }
-        
-        // Add to new frequency bucket
-        frequencyMap.put(key, newFreq);
-        frequencyBuckets.computeIfAbsent(newFreq, k -> new LinkedHashSet<>()).add(key);
     }
-    
+
     @Override
-    public void recordPut(K key, CacheEntry<K, V> entry) {
-        frequencyMap.put(key, 1);
-        frequencyBuckets.computeIfAbsent(1, k -> new LinkedHashSet<>()).add(key);
-        minFrequency = 1;
+    public synchronized void recordAccessAll(Collection<K> keys) {
+        for (K key : keys) {
+            recordAccess(key);
+        }
     }
-    
+
     @Override
-    public void recordRemoval(K key) {
-        if (!frequencyMap.containsKey(key)) {
+    public synchronized void recordPut(K key, CacheEntry<K, V> entry) {
+        if (entries.containsKey(key)) {
             return;
         }
-        
-        int freq = frequencyMap.remove(key);
-        frequencyBuckets.get(freq).remove(key);
-        if (frequencyBuckets.get(freq).isEmpty()) {
-            frequencyBuckets.remove(freq);
+
+        if (lowest == null || lowest.frequency != 1) {
+            FrequencyNode<K> first = new FrequencyNode<>(1);
+            first.next = lowest;
+            if (lowest != null) {
+                lowest.prev = first;
+            }
+            lowest = first;
         }
+
+        EntryNode<K> node = new EntryNode<>(key);
+        lowest.append(node);
+        entries.put(key, node);
     }
-    
+
     @Override
-    public K evict() {
-        if (frequencyMap.isEmpty()) {
-            return null;
+    public synchronized void recordRemoval(K key) {
+        EntryNode<K> node = entries.remove(key);
+        if (node == null) {
+            return;
         }
-        
-        // Get the first key from minimum frequency bucket
-        LinkedHashSet<K> minFreqKeys = frequencyBuckets.get(minFrequency);
-        if (minFreqKeys == null || minFreqKeys.isEmpty()) {
-            // Fallback: get first available key
-            minFrequency = frequencyBuckets.firstKey();
-            minFreqKeys = frequencyBuckets.get(minFrequency);
+
+        FrequencyNode<K> parent = node.parent;
+        parent.unlink(node);
+        if (parent.isEmpty()) {
+            unlinkFrequency(parent);
         }
-        
-        K keyToEvict = minFreqKeys.iterator().next();
+    }
+
+    @Override
+    public synchronized K evict() {
+        if (lowest == null) {
+            return null;
+        }
+
+        // Oldest entry of the lowest frequency
+        K keyToEvict = lowest.head.key;
         recordRemoval(keyToEvict);
         return keyToEvict;
     }
-    
+
     @Override
-    public void clear() {
-        frequencyMap.clear();
-        frequencyBuckets.clear();
-        minFrequency = 0;
+    public synchronized void clear() {
+        entries.clear();
+        lowest = null;
     }
-    
+
     @Override
-    public int size() {
-        return frequencyMap.size();
+    public synchronized int size() {
+        return entries.size();
     }
-}
 
+    /**
+     * Inserts a frequency node directly after another one
+     */
+    private void linkAfter(FrequencyNode<K> anchor, FrequencyNode<K> node) {
+        node.prev = anchor;
+        node.next = anchor.next;
+        if (anchor.next != null) {
+            anchor.next.prev = node;
+        }
+        anchor.next = node;
+    }
+
+    /**
+     * Removes an empty frequency node from the frequency list
+     */
+    private void unlinkFrequency(FrequencyNode<K> node) {
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else {
+            lowest = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+    }
+
+    /**
+     * A distinct access frequency and the entries currently at it
+     */
+    private static final class FrequencyNode<K> {
+        private final int frequency;
+        private FrequencyNode<K> prev;
+        private FrequencyNode<K> next;
+        private EntryNode<K> head;
+        private EntryNode<K> tail;
+
+        private FrequencyNode(int frequency) {
+            this.frequency = frequency;
+        }
+
+        private boolean isEmpty() {
+            return head == null;
+        }
 
+        private void append(EntryNode<K> node) {
+            node.parent = this;
+            node.prev = tail;
+            node.next = null;
+            if (tail != null) {
+                tail.next = node;
+            } else {
+                head = node;
+            }
+            tail = node;
+        }
 
+        private void unlink(EntryNode<K> node) {
+            if (node.prev != null) {
+                node.prev.next = node.next;
+            } else {
+                head = node.next;
+            }
+            if (node.next != null) {
+                node.next.prev = node.prev;
+            } else {
+                tail = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+            node.parent = null;
+        }
+    }
 
+    /**
+     * Intrusive list node for one cached key
+     */
+    private static final class EntryNode<K> {
+        private final K key;
+        private FrequencyNode<K> parent;
+        private EntryNode<K> prev;
+        private EntryNode<K> next;
 
+        private EntryNode(K key) {
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package org.example.CacheService.policies;
+
+import org.example.CacheService.interfaces.IEvictionPolicy;
+import org.example.CacheService.model.CacheEntry;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SIEVE eviction policy implementation
+ * FIFO queue with a visited bit and a hand that sweeps from oldest to newest
+ *
+ * Algorithm:
+ * - New keys are inserted at the head (newest end) unvisited
+ * - A hit only sets the key's visited byte; nothing moves
+ * - Eviction resumes the hand where it stopped: visited keys are cleared and
+ *   stay in place, the first unvisited key is evicted; the hand wraps from
+ *   the head back to the tail
+ * - Unlike CLOCK, new keys never land behind the hand, so one-hit keys are
+ *   evicted quickly while survivors keep their position (lazy promotion)
+ *
+ * Data Structure: queue threaded through primitive arrays indexed by slot
+ *   keys[], visited[] (byte), newer[] and older[] (int links), free slot stack
+ * Time Complexity: O(1) access and put, amortized O(1) eviction
+ * Space Complexity: O(n), no per-key node objects in the queue; arrays grow
+ *   by doubling if more keys than maximumSize are put (weight-bounded caches)
+ *
+ * Thread Safety:
+ * - recordAccess is lock-free: one ConcurrentHashMap lookup and one byte write
+ * - Structural changes (put, removal, eviction) are synchronized
+ *
+ * Pros:
+ * - Hit ratio at or above LRU on skewed (Zipfian, web) workloads
+ * - Cheaper hits than LRU: no relinking
+ *
+ * Cons:
+ * - Hand sweeps can touch many entries when most are visited
+ */
+public class SieveEvictionPolicy<K, V> implements IEvictionPolicy<K, V> {
+    private static final int NIL = -1;
+
+    private final Map<K, Integer> slotIndex;
+    private Object[] keys;
+    private volatile byte[] visited;
+    private int[] newer;
+    private int[] older;
+    private int[] freeSlots;
+    private int freeCount;
+    private int head;
+    private int tail;
+    private int hand;
+    private int size;
+
+    /**
+     * @param maximumSize Capacity of the cache this policy is attached to
+     */
+    public SieveEvictionPolicy(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+        this.slotIndex = new ConcurrentHashMap<>();
+        this.keys = new Object[maximumSize];
+        this.visited = new byte[maximumSize];
+        this.newer = new int[maximumSize];
+        this.older = new int[maximumSize];
+        this.freeSlots = new int[maximumSize];
+        reset();
+    }
+
+    @Override
+    public void recordAccess(K key) {
+        Integer slot = slotIndex.get(key);
+        if (slot != null) {
+            visited[slot] = 1;
+        }
+    }
+
+    @Override
+    public synchronized void recordPut(K key, CacheEntry<K, V> entry) {
+        if (slotIndex.containsKey(key)) {
+            return;
+        }
+        if (freeCount == 0) {
+            grow();
+        }
+        int slot = freeSlots[--freeCount];
+        keys[slot] = key;
+        visited[slot] = 0;
+
+        // Link at the head (newest end)
+        older[slot] = head;
+        newer[slot] = NIL;
+        if (head != NIL) {
+            newer[head] = slot;
+        } else {
+            tail = slot;
+        }
+        head = slot;
+
+        slotIndex.put(key, slot);
+        size++;
+    }
+
+    @Override
+    public synchronized void recordRemoval(K key) {
+        Integer slot = slotIndex.remove(key);
+        if (slot != null) {
+            unlink(slot);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public synchronized K evict() {
+        if (size == 0) {
+            return null;
+        }
+
+        byte[] bits = visited;
+        int slot = hand != NIL ? hand : tail;
+        while (bits[slot] != 0) {
+            bits[slot] = 0;
+            slot = newer[slot] != NIL ? newer[slot] : tail;
+        }
+
+        K victim = (K) keys[slot];
+        slotIndex.remove(victim);
+        // unlink moves the hand on to the next newer key
+        hand = slot;
+        unlink(slot);
+        return victim;
+    }
+
+    @Override
+    public synchronized void clear() {
+        slotIndex.clear();
+        Arrays.fill(keys, null);
+        Arrays.fill(visited, (byte) 0);
+        reset();
+    }
+
+    @Override
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Removes a slot from the queue and frees it
+     */
+    private void unlink(int slot) {
+        if (hand == slot) {
+            hand = newer[slot];
+        }
+        if (older[slot] != NIL) {
+            newer[older[slot]] = newer[slot];
+        } else {
+            tail = newer[slot];
+        }
+        if (newer[slot] != NIL) {
+            older[newer[slot]] = older[slot];
+        } else {
+            head = older[slot];
+        }
+        keys[slot] = null;
+        visited[slot] = 0;
+        freeSlots[freeCount++] = slot;
+        size--;
+    }
+
+    /**
+     * Doubles every array; the new slots become free
+     */
+    private void grow() {
+        int oldLength = keys.length;
+        int newLength = oldLength * 2;
+        keys = Arrays.copyOf(keys, newLength);
+        visited = Arrays.copyOf(visited, newLength);
+        newer = Arrays.copyOf(newer, newLength);
+        older = Arrays.copyOf(older, newLength);
+        freeSlots = new int[newLength];
+        // Every old slot is occupied (that is why we grew), so only new slots are free
+        freeCount = 0;
+        for (int slot = newLength - 1; slot >= oldLength; slot--) {
+            freeSlots[freeCount++] = slot;
+        }
+    }
+
+    private void reset() {
+        freeCount = 0;
+        for (int slot = keys.length - 1; slot >= 0; slot--) {
+            freeSlots[freeCount++] = slot;
+        }
+        head = NIL;
+        tail = NIL;
+        hand = NIL;
+        size = 0;
+    }
+}
@@ -0,0 +1,164 @@
+package org.example.CacheService.policies;
+
+import org.example.CacheService.interfaces.IEvictionPolicy;
+import org.example.CacheService.model.CacheEntry;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Window TinyLFU (W-TinyLFU) eviction policy implementation
+ * Only admits a new key into the main region if it is estimated to be
+ * more popular than the entry it would replace
+ *
+ * Regions:
+ * - Window (~1% of capacity): small LRU that every new key enters first
+ * - Probation (main): segmented-LRU segment for keys admitted from the window
+ * - Protected (80% of main): keys hit again while on probation
+ *
+ * Admission:
+ * - When the cache is full, the window's LRU key (candidate) competes with
+ *   the main region's LRU key (victim)
+ * - A 4-bit Count-Min Sketch estimates both frequencies; the candidate is
+ *   admitted only if it is strictly more frequent, otherwise it is evicted
+ *
+ * Data Structure: LinkedHashMap (access-order) per region + FrequencySketch
+ * Time Complexity: O(1) for all operations
+ * Space Complexity: O(n) entries + fixed-size sketch
+ *
+ * Pros:
+ * - Scan resistant: a burst of one-hit keys cannot flush the hot working set
+ * - Near-optimal hit ratio on skewed (Zipfian) workloads
+ * - Sketch memory is bounded no matter how many distinct keys are seen
+ *
+ * Cons:
+ * - More moving parts than plain LRU/LFU
+ * - Needs the cache capacity up front to size regions and the sketch
+ */
+public class TinyLfuEvictionPolicy<K, V> implements IEvictionPolicy<K, V> {
+    private static final double WINDOW_PERCENT = 0.01;
+    private static final double PROTECTED_PERCENT = 0.80;
+
+    private final LinkedHashMap<K, Boolean> window;
+    private final LinkedHashMap<K, Boolean> probation;
+    private final LinkedHashMap<K, Boolean> protectedRegion;
+    private final FrequencySketch sketch;
+    private final int maxWindow;
+    private final int maxProtected;
+
+    /**
+     * @param maximumSize Capacity of the cache this policy is attached to
+     */
+    public TinyLfuEvictionPolicy(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+        this.maxWindow = Math.max(1, (int) (maximumSize * WINDOW_PERCENT));
+        int maxMain = Math.max(0, maximumSize - maxWindow);
+        this.maxProtected = (int) (maxMain * PROTECTED_PERCENT);
+        this.window = new LinkedHashMap<>(16, 0.75f, true);
+        this.probation = new LinkedHashMap<>(16, 0.75f, true);
+        this.protectedRegion = new LinkedHashMap<>(16, 0.75f, true);
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    @Override
+    public synchronized void recordAccess(K key) {
+        sketch.increment(key);
+
+        // get() on an access-ordered LinkedHashMap moves the key to the MRU end
+        if (window.get(key) != null || protectedRegion.get(key) != null) {
+            return;
+        }
+
+        // Second hit while on probation promotes the key to the protected segment
+        if (probation.remove(key) != null) {
+            protectedRegion.put(key, Boolean.TRUE);
+            if (protectedRegion.size() > maxProtected) {
+                K demoted = eldest(protectedRegion);
+                protectedRegion.remove(demoted);
+                probation.put(demoted, Boolean.TRUE);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void recordAccessAll(Collection<K> keys) {
+        for (K key : keys) {
+            recordAccess(key);
+        }
+    }
+
+    @Override
+    public synchronized void recordPut(K key, CacheEntry<K, V> entry) {
+        sketch.increment(key);
+        if (window.containsKey(key) || probation.containsKey(key) || protectedRegion.containsKey(key)) {
+            return;
+        }
+
+        window.put(key, Boolean.TRUE);
+        // Window overflow: the oldest window key moves to probation without admission,
+        // since the cache is not full (evict() handles the full case)
+        if (window.size() > maxWindow) {
+            K overflow = eldest(window);
+            window.remove(overflow);
+            probation.put(overflow, Boolean.TRUE);
+        }
+    }
+
+    @Override
+    public synchronized void recordRemoval(K key) {
+        if (window.remove(key) == null && probation.remove(key) == null) {
+            protectedRegion.remove(key);
+        }
+    }
+
+    @Override
+    public synchronized K evict() {
+        K candidate = eldest(window);
+        K victim = !probation.isEmpty() ? eldest(probation) : eldest(protectedRegion);
+
+        if (candidate == null) {
+            if (victim != null) {
+                recordRemoval(victim);
+            }
+            return victim;
+        }
+        if (victim == null) {
+            window.remove(candidate);
+            return candidate;
+        }
+
+        // TinyLFU admission: the candidate only replaces the victim if it is more popular
+        if (sketch.frequency(candidate) > sketch.frequency(victim)) {
+            window.remove(candidate);
+            recordRemoval(victim);
+            probation.put(candidate, Boolean.TRUE);
+            return victim;
+        }
+        window.remove(candidate);
+        return candidate;
+    }
+
+    @Override
+    public synchronized void clear() {
+        window.clear();
+        probation.clear();
+        protectedRegion.clear();
+        sketch.clear();
+    }
+
+    @Override
+    public synchronized int size() {
+        return window.size() + probation.size() + protectedRegion.size();
+    }
+
+    /**
+     * Returns the least recently used key of a region, or null if it is empty
+     */
+    private static <K> K eldest(LinkedHashMap<K, Boolean> region) {
+        Iterator<K> iterator = region.keySet().iterator();
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.CacheService.policies.indexed;
+
+import org.example.CacheService.interfaces.IIndexEvictionPolicy;
+
+import java.util.Arrays;
+
+/**
+ * Index-based CLOCK (second-chance) eviction policy
+ * The slot indices themselves form the ring, so no links are needed
+ *
+ * Data Structure: one state byte per slot (absent, present, present and visited) + hand
+ * Time Complexity: O(1) access, insert and removal; amortized O(1) eviction
+ * Space Complexity: 1 byte per slot
+ *
+ * Not thread-safe; the owning cache calls it while holding its lock
+ */
+public class ClockIndexEvictionPolicy implements IIndexEvictionPolicy {
+    private static final byte ABSENT = 0;
+    private static final byte PRESENT = 1;
+    private static final byte VISITED = 2;
+
+    private final byte[] states;
+    private int hand;
+    private int size;
+
+    public ClockIndexEvictionPolicy(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.states = new byte[capacity];
+    }
+
+    @Override
+    public void recordInsert(int index, long key) {
+        states[index] = VISITED;
+        size++;
+    }
+
+    @Override
+    public void recordAccess(int index) {
+        states[index] = VISITED;
+    }
+
+    @Override
+    public void recordRemoval(int index) {
+        states[index] = ABSENT;
+        size--;
+    }
+
+    @Override
+    public int evict() {
+        if (size == 0) {
+            return IndexList.NIL;
+        }
+        // Terminates within two revolutions: the first clears every mark
+        while (true) {
+            int index = hand;
+            hand = hand + 1 == states.length ? 0 : hand + 1;
+            if (states[index] == VISITED) {
+                states[index] = PRESENT;
+            } else if (states[index] == PRESENT) {
+                states[index] = ABSENT;
+                size--;
+                return index;
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(states, ABSENT);
+        hand = 0;
+        size = 0;
+    }
+}
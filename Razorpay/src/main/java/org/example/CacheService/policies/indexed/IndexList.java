@@ -0,0 +1,96 @@
+package org.example.CacheService.policies.indexed;
+
+/**
+ * Doubly linked list of slot indices threaded through shared int[] link arrays
+ * Several lists can share one pair of arrays as long as each index is in at most one of them
+ * Head is the oldest element, tail the newest
+ */
+final class IndexList {
+    static final int NIL = -1;
+
+    private final int[] prev;
+    private final int[] next;
+    private int head = NIL;
+    private int tail = NIL;
+    private int size;
+
+    IndexList(int[] prev, int[] next) {
+        this.prev = prev;
+        this.next = next;
+    }
+
+    int first() {
+        return head;
+    }
+
+    int last() {
+        return tail;
+    }
+
+    /**
+     * Gets the element after index (towards the tail), or NIL
+     */
+    int next(int index) {
+        return next[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void addLast(int index) {
+        prev[index] = tail;
+        next[index] = NIL;
+        if (tail != NIL) {
+            next[tail] = index;
+        } else {
+            head = index;
+        }
+        tail = index;
+        size++;
+    }
+
+    void remove(int index) {
+        if (prev[index] != NIL) {
+            next[prev[index]] = next[index];
+        } else {
+            head = next[index];
+        }
+        if (next[index] != NIL) {
+            prev[next[index]] = prev[index];
+        } else {
+            tail = prev[index];
+        }
+        prev[index] = NIL;
+        next[index] = NIL;
+        size--;
+    }
+
+    void moveToLast(int index) {
+        if (index != tail) {
+            remove(index);
+            addLast(index);
+        }
+    }
+
+    /**
+     * Removes and returns the head, or NIL if empty
+     */
+    int pollFirst() {
+        int index = head;
+        if (index != NIL) {
+            remove(index);
+        }
+        return index;
+    }
+
+    void clear() {
+        head = NIL;
+        tail = NIL;
+        size = 0;
+    }
+}
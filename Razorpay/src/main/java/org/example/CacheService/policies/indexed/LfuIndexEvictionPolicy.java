@@ -0,0 +1,89 @@
+package org.example.CacheService.policies.indexed;
+
+import org.example.CacheService.interfaces.IIndexEvictionPolicy;
+
+/**
+ * Index-based LFU eviction policy
+ * Evicts the least frequently accessed index; ties go to the oldest at that frequency
+ *
+ * Data Structure: one IndexList per frequency (1..MAX_FREQUENCY) sharing int[] links,
+ * plus a byte counter per slot and the lowest frequency that may be non-empty
+ * Time Complexity: O(1) access, insert and removal; eviction scans at most
+ *   MAX_FREQUENCY list heads
+ * Space Complexity: 9 bytes per slot, no per-entry objects
+ *
+ * Counts saturate at MAX_FREQUENCY, so entries hit more often than that tie
+ *
+ * Not thread-safe; the owning cache calls it while holding its lock
+ */
+public class LfuIndexEvictionPolicy implements IIndexEvictionPolicy {
+    private static final int MAX_FREQUENCY = 255;
+
+    private final byte[] frequencies;
+    private final IndexList[] lists;
+    private int minFrequency;
+
+    public LfuIndexEvictionPolicy(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        int[] prev = new int[capacity];
+        int[] next = new int[capacity];
+        this.frequencies = new byte[capacity];
+        this.lists = new IndexList[MAX_FREQUENCY + 1];
+        for (int frequency = 1; frequency <= MAX_FREQUENCY; frequency++) {
+            lists[frequency] = new IndexList(prev, next);
+        }
+        this.minFrequency = 1;
+    }
+
+    @Override
+    public void recordInsert(int index, long key) {
+        frequencies[index] = 1;
+        lists[1].addLast(index);
+        minFrequency = 1;
+    }
+
+    @Override
+    public void recordAccess(int index) {
+        int frequency = frequencies[index] & 0xff;
+        if (frequency == MAX_FREQUENCY) {
+            lists[frequency].moveToLast(index);
+            return;
+        }
+        lists[frequency].remove(index);
+        frequencies[index] = (byte) (frequency + 1);
+        lists[frequency + 1].addLast(index);
+        if (frequency == minFrequency && lists[frequency].isEmpty()) {
+            minFrequency = frequency + 1;
+        }
+    }
+
+    @Override
+    public void recordRemoval(int index) {
+        // minFrequency may now point at an empty list; evict skips forward
+        lists[frequencies[index] & 0xff].remove(index);
+        frequencies[index] = 0;
+    }
+
+    @Override
+    public int evict() {
+        for (int frequency = minFrequency; frequency <= MAX_FREQUENCY; frequency++) {
+            if (!lists[frequency].isEmpty()) {
+                minFrequency = frequency;
+                int index = lists[frequency].pollFirst();
+                frequencies[index] = 0;
+                return index;
+            }
+        }
+        return IndexList.NIL;
+    }
+
+    @Override
+    public void clear() {
+        for (int frequency = 1; frequency <= MAX_FREQUENCY; frequency++) {
+            lists[frequency].clear();
+        }
+        minFrequency = 1;
+    }
+}
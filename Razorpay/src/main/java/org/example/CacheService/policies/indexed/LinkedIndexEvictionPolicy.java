@@ -0,0 +1,82 @@
+package org.example.CacheService.policies.indexed;
+
+import org.example.CacheService.interfaces.IIndexEvictionPolicy;
+
+/**
+ * Index-based LRU, FIFO and LIFO eviction policies
+ * One list of slot indices in int[] links; the variants differ only in
+ * whether a hit moves the index to the tail and which end is evicted
+ *
+ * Data Structure: doubly linked list over int[] prev / next
+ * Time Complexity: O(1) for all operations
+ * Space Complexity: 8 bytes per slot, no per-entry objects
+ *
+ * Not thread-safe; the owning cache calls it while holding its lock
+ */
+public class LinkedIndexEvictionPolicy implements IIndexEvictionPolicy {
+    private final IndexList order;
+    private final boolean accessOrder;
+    private final boolean evictNewest;
+
+    private LinkedIndexEvictionPolicy(int capacity, boolean accessOrder, boolean evictNewest) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.order = new IndexList(new int[capacity], new int[capacity]);
+        this.accessOrder = accessOrder;
+        this.evictNewest = evictNewest;
+    }
+
+    /**
+     * Least recently used: hits move to the tail, the head is evicted
+     */
+    public static LinkedIndexEvictionPolicy lru(int capacity) {
+        return new LinkedIndexEvictionPolicy(capacity, true, false);
+    }
+
+    /**
+     * First in first out: hits are ignored, the oldest insert is evicted
+     */
+    public static LinkedIndexEvictionPolicy fifo(int capacity) {
+        return new LinkedIndexEvictionPolicy(capacity, false, false);
+    }
+
+    /**
+     * Last in first out: hits are ignored, the newest insert is evicted
+     */
+    public static LinkedIndexEvictionPolicy lifo(int capacity) {
+        return new LinkedIndexEvictionPolicy(capacity, false, true);
+    }
+
+    @Override
+    public void recordInsert(int index, long key) {
+        order.addLast(index);
+    }
+
+    @Override
+    public void recordAccess(int index) {
+        if (accessOrder) {
+            order.moveToLast(index);
+        }
+    }
+
+    @Override
+    public void recordRemoval(int index) {
+        order.remove(index);
+    }
+
+    @Override
+    public int evict() {
+        if (order.isEmpty()) {
+            return IndexList.NIL;
+        }
+        int index = evictNewest ? order.last() : order.first();
+        order.remove(index);
+        return index;
+    }
+
+    @Override
+    public void clear() {
+        order.clear();
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.CacheService.policies.indexed;
+
+import org.example.CacheService.interfaces.IIndexEvictionPolicy;
+
+import java.util.Arrays;
+
+/**
+ * Index-based SIEVE eviction policy
+ * FIFO queue of slot indices with a visited byte and a hand that sweeps from
+ * oldest to newest, keeping visited entries in place (see SieveEvictionPolicy)
+ *
+ * Data Structure: IndexList over int[] links + one visited byte per slot
+ * Time Complexity: O(1) access, insert and removal; amortized O(1) eviction
+ * Space Complexity: 9 bytes per slot, no per-entry objects
+ *
+ * Not thread-safe; the owning cache calls it while holding its lock
+ */
+public class SieveIndexEvictionPolicy implements IIndexEvictionPolicy {
+    private final IndexList queue;
+    private final byte[] visited;
+    private int hand = IndexList.NIL;
+
+    public SieveIndexEvictionPolicy(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.queue = new IndexList(new int[capacity], new int[capacity]);
+        this.visited = new byte[capacity];
+    }
+
+    @Override
+    public void recordInsert(int index, long key) {
+        visited[index] = 0;
+        queue.addLast(index);
+    }
+
+    @Override
+    public void recordAccess(int index) {
+        visited[index] = 1;
+    }
+
+    @Override
+    public void recordRemoval(int index) {
+        unlink(index);
+    }
+
+    @Override
+    public int evict() {
+        if (queue.isEmpty()) {
+            return IndexList.NIL;
+        }
+        int index = hand != IndexList.NIL ? hand : queue.first();
+        while (visited[index] != 0) {
+            visited[index] = 0;
+            index = queue.next(index) != IndexList.NIL ? queue.next(index) : queue.first();
+        }
+        // unlink moves the hand on to the next newer index
+        hand = index;
+        unlink(index);
+        return index;
+    }
+
+    @Override
+    public void clear() {
+        queue.clear();
+        Arrays.fill(visited, (byte) 0);
+        hand = IndexList.NIL;
+    }
+
+    /**
+     * Removes an index, moving the hand on to the next newer index if it pointed there
+     */
+    private void unlink(int index) {
+        if (hand == index) {
+            hand = queue.next(index);
+        }
+        queue.remove(index);
+        visited[index] = 0;
+    }
+}
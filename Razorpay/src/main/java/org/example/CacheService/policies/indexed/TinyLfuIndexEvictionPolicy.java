@@ -0,0 +1,139 @@
+package org.example.CacheService.policies.indexed;
+
+import org.example.CacheService.interfaces.IIndexEvictionPolicy;
+import org.example.CacheService.policies.FrequencySketch;
+
+/**
+ * Index-based Window TinyLFU eviction policy (see TinyLfuEvictionPolicy)
+ * Window LRU + segmented-LRU main region (probation / protected), with a
+ * Count-Min Sketch deciding whether the window's oldest entry displaces the main region's
+ *
+ * Data Structure: three IndexLists sharing int[] links, a region byte and
+ *   a key hash per slot (the sketch is keyed by hash, so keys are never boxed)
+ * Time Complexity: O(1) for all operations
+ * Space Complexity: 13 bytes per slot + fixed-size sketch
+ *
+ * Not thread-safe; the owning cache calls it while holding its lock
+ */
+public class TinyLfuIndexEvictionPolicy implements IIndexEvictionPolicy {
+    private static final double WINDOW_PERCENT = 0.01;
+    private static final double PROTECTED_PERCENT = 0.80;
+    private static final byte WINDOW = 0;
+    private static final byte PROBATION = 1;
+    private static final byte PROTECTED = 2;
+
+    private final IndexList window;
+    private final IndexList probation;
+    private final IndexList protectedRegion;
+    private final byte[] regions;
+    private final int[] hashes;
+    private final FrequencySketch sketch;
+    private final int maxWindow;
+    private final int maxProtected;
+
+    public TinyLfuIndexEvictionPolicy(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        int[] prev = new int[capacity];
+        int[] next = new int[capacity];
+        this.window = new IndexList(prev, next);
+        this.probation = new IndexList(prev, next);
+        this.protectedRegion = new IndexList(prev, next);
+        this.regions = new byte[capacity];
+        this.hashes = new int[capacity];
+        this.sketch = new FrequencySketch(capacity);
+        this.maxWindow = Math.max(1, (int) (capacity * WINDOW_PERCENT));
+        this.maxProtected = (int) (Math.max(0, capacity - maxWindow) * PROTECTED_PERCENT);
+    }
+
+    @Override
+    public void recordInsert(int index, long key) {
+        hashes[index] = Long.hashCode(key);
+        sketch.incrementHash(hashes[index]);
+        regions[index] = WINDOW;
+        window.addLast(index);
+
+        // Window overflow moves its oldest entry to probation without admission,
+        // since the cache is not full (evict() handles the full case)
+        if (window.size() > maxWindow) {
+            int overflow = window.pollFirst();
+            regions[overflow] = PROBATION;
+            probation.addLast(overflow);
+        }
+    }
+
+    @Override
+    public void recordAccess(int index) {
+        sketch.incrementHash(hashes[index]);
+        switch (regions[index]) {
+            case WINDOW:
+                window.moveToLast(index);
+                break;
+            case PROTECTED:
+                protectedRegion.moveToLast(index);
+                break;
+            default:
+                // Second hit while on probation promotes the entry to the protected segment
+                probation.remove(index);
+                regions[index] = PROTECTED;
+                protectedRegion.addLast(index);
+                if (protectedRegion.size() > maxProtected) {
+                    int demoted = protectedRegion.pollFirst();
+                    regions[demoted] = PROBATION;
+                    probation.addLast(demoted);
+                }
+        }
+    }
+
+    @Override
+    public void recordRemoval(int index) {
+        listOf(index).remove(index);
+    }
+
+    @Override
+    public int evict() {
+        int candidate = window.first();
+        IndexList main = !probation.isEmpty() ? probation : protectedRegion;
+        int victim = main.first();
+
+        if (candidate == IndexList.NIL) {
+            if (victim != IndexList.NIL) {
+                main.remove(victim);
+            }
+            return victim;
+        }
+        window.remove(candidate);
+        if (victim == IndexList.NIL) {
+            return candidate;
+        }
+
+        // TinyLFU admission: the candidate only replaces the victim if it is more popular
+        if (sketch.frequencyOfHash(hashes[candidate]) > sketch.frequencyOfHash(hashes[victim])) {
+            main.remove(victim);
+            regions[candidate] = PROBATION;
+            probation.addLast(candidate);
+            return victim;
+        }
+        return candidate;
+    }
+
+    @Override
+    public void clear() {
+        window.clear();
+        probation.clear();
+        protectedRegion.clear();
+        sketch.clear();
+    }
+
+    private IndexList listOf(int index) {
+        switch (regions[index]) {
+            case WINDOW:
+                return window;
+            case PROBATION:
+                return probation;
+            default:
+                return protectedRegion;
+        }
+    }
+}
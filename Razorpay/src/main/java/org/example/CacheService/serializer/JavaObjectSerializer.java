@@ -0,0 +1,41 @@
+package org.example.CacheService.serializer;
+
+import org.example.CacheService.interfaces.ISerializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+
+/**
+ * Fallback serializer using built-in Java serialization
+ * Works for any Serializable type but is larger and slower than a
+ * purpose-built serializer; prefer a dedicated one for hot types
+ */
+public class JavaObjectSerializer<T extends Serializable> implements ISerializer<T> {
+    @Override
+    public byte[] serialize(T value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to serialize value", e);
+        }
+        return bytes.toByteArray();
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public T deserialize(byte[] bytes) {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return (T) in.readObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to deserialize value", e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Serialized class not found", e);
+        }
+    }
+}
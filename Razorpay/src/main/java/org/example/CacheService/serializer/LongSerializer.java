@@ -0,0 +1,28 @@
+package org.example.CacheService.serializer;
+
+import org.example.CacheService.interfaces.ISerializer;
+
+/**
+ * Serializes longs as 8 big-endian bytes
+ */
+public class LongSerializer implements ISerializer<Long> {
+    @Override
+    public byte[] serialize(Long value) {
+        long v = value;
+        byte[] bytes = new byte[8];
+        for (int i = 7; i >= 0; i--) {
+            bytes[i] = (byte) v;
+            v >>>= 8;
+        }
+        return bytes;
+    }
+    
+    @Override
+    public Long deserialize(byte[] bytes) {
+        long v = 0;
+        for (byte b : bytes) {
+            v = (v << 8) | (b & 0xff);
+        }
+        return v;
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.CacheService.serializer;
+
+import org.example.CacheService.interfaces.ISerializer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Serializes strings as UTF-8 bytes
+ */
+public class StringSerializer implements ISerializer<String> {
+    @Override
+    public byte[] serialize(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+    
+    @Override
+    public String deserialize(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -12,10 +12,11 @@ import org.example.PubSub.service.PubSubService;
  * 3. Adding consumers to groups
  * 4. Subscribing consumer groups to topics
  * 5. Publishing messages
- * 6. Message distribution using round-robin within consumer groups
+ * 6. Message distribution across topic partitions, each owned by one consumer in the group
+ * Handlers run asynchronously, so the demo waits for delivery before printing results.
  */
 public class Main {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws InterruptedException {
         System.out.println("=== Pub-Sub System Demo ===\n");
         
         // Initialize the pub-sub service
@@ -23,8 +24,8 @@ public class Main {
         
         // ========== Step 1: Create Topics ==========
         System.out.println("--- Step 1: Creating Topics ---");
-        Topic newsTopic = pubSubService.createTopic("News");
-        Topic sportsTopic = pubSubService.createTopic("Sports");
+        Topic newsTopic = pubSubService.createTopic("News", 4);
+        Topic sportsTopic = pubSubService.createTopic("Sports", 4);
         Topic techTopic = pubSubService.createTopic("Technology");
         
         System.out.println("Created topic: " + newsTopic);
@@ -123,6 +124,7 @@ public class Main {
         // Publish to News topic - should be received by one consumer from News-Processing-Group
         System.out.println("\nPublishing message to News topic:");
         Message msg1 = pubSubService.publish(newsTopic.getTopicId(), "Breaking: Major news update!");
+        pubSubService.awaitDelivery(1000);
         System.out.println("Published: " + msg1.getPayload());
         System.out.println("Status: " + msg1.getStatus());
         System.out.println("Processed by: " + msg1.getProcessedBy());
@@ -130,6 +132,7 @@ public class Main {
         // Publish to Sports topic - should be received by one consumer from Sports-Processing-Group
         System.out.println("\nPublishing message to Sports topic:");
         Message msg2 = pubSubService.publish(sportsTopic.getTopicId(), "Match result: Team A wins!");
+        pubSubService.awaitDelivery(1000);
         System.out.println("Published: " + msg2.getPayload());
         System.out.println("Status: " + msg2.getStatus());
         System.out.println("Processed by: " + msg2.getProcessedBy());
@@ -137,28 +140,39 @@ public class Main {
         // Publish to Technology topic - should be received by one consumer from Tech-Processing-Group
         System.out.println("\nPublishing message to Technology topic:");
         Message msg3 = pubSubService.publish(techTopic.getTopicId(), "New AI breakthrough announced!");
+        pubSubService.awaitDelivery(1000);
         System.out.println("Published: " + msg3.getPayload());
         System.out.println("Status: " + msg3.getStatus());
         System.out.println("Processed by: " + msg3.getProcessedBy());
         
         System.out.println();
         
-        // ========== Step 8: Demonstrate Consumer Group Round-Robin ==========
-        System.out.println("--- Step 8: Demonstrating Consumer Group Round-Robin Distribution ---");
-        System.out.println("Publishing 4 messages to News topic (subscribed by News-Processing-Group with 2 consumers):");
+        // ========== Step 8: Demonstrate Partition Assignment ==========
+        System.out.println("--- Step 8: Demonstrating Partition Assignment ---");
+        System.out.println("Publishing 4 unkeyed messages to News topic (4 partitions, News-Processing-Group with 2 consumers):");
         
+        Message[] newsMessages = new Message[4];
         for (int i = 1; i <= 4; i++) {
-            Message msg = pubSubService.publish(newsTopic.getTopicId(), 
+            newsMessages[i - 1] = pubSubService.publish(newsTopic.getTopicId(), 
                                               "News message #" + i + " for group processing");
-            System.out.println("Message #" + i + " processed by: " + msg.getProcessedBy());
+        }
+        pubSubService.awaitDelivery(1000);
+        for (int i = 1; i <= 4; i++) {
+            System.out.println("Message #" + i + " (partition " + newsMessages[i - 1].getPartition()
+                    + ") processed by: " + newsMessages[i - 1].getProcessedBy());
         }
         
-        System.out.println("\nPublishing 4 messages to Sports topic (subscribed by Sports-Processing-Group with 2 consumers):");
+        System.out.println("\nPublishing 4 messages with key 'match-42' to Sports topic (same key, same partition, in order):");
         
+        Message[] sportsMessages = new Message[4];
         for (int i = 1; i <= 4; i++) {
-            Message msg = pubSubService.publish(sportsTopic.getTopicId(), 
+            sportsMessages[i - 1] = pubSubService.publish(sportsTopic.getTopicId(), "match-42",
                                               "Sports message #" + i + " for group processing");
-            System.out.println("Message #" + i + " processed by: " + msg.getProcessedBy());
+        }
+        pubSubService.awaitDelivery(1000);
+        for (int i = 1; i <= 4; i++) {
+            System.out.println("Message #" + i + " (partition " + sportsMessages[i - 1].getPartition()
+                    + ") processed by: " + sportsMessages[i - 1].getProcessedBy());
         }
         
         System.out.println();
@@ -172,11 +186,13 @@ public class Main {
         System.out.println("\nPublishing message after News-Processing-Group unsubscribed:");
         Message msg4 = pubSubService.publish(newsTopic.getTopicId(), 
                                            "This message should not reach News-Processing-Group");
+        pubSubService.awaitDelivery(1000);
         System.out.println("Published: " + msg4.getPayload());
         System.out.println("Status: " + msg4.getStatus());
         System.out.println("Processed by: " + msg4.getProcessedBy());
         
         System.out.println();
+        pubSubService.shutdown();
         System.out.println("=== Demo Complete ===");
     }
 }
@@ -0,0 +1,109 @@
+package org.example.PubSub.benchmark;
+
+import org.example.PubSub.model.Consumer;
+import org.example.PubSub.model.ConsumerGroup;
+import org.example.PubSub.model.RoutingSnapshot;
+import org.example.PubSub.model.Subscription;
+import org.example.PubSub.model.Topic;
+import org.example.PubSub.repository.SubscriptionRepository;
+import org.example.PubSub.service.PubSubService;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Allocation benchmark for publish fan-out: repository lookups versus the topic's routing snapshot
+ *
+ * Method:
+ * - One topic with 4 partitions, subscribed by a number of consumer groups of 2 consumers each
+ * - "lookup" resolves the targets the way publish did before routing snapshots:
+ *   getSubscriptionsByTopic (stream, filter, collect), then a group lookup per subscription
+ * - "snapshot" resolves them from Topic.getRouting(), as publish does now
+ * - Both pick the consumer owning each partition in turn; no handlers are registered,
+ *   so only target resolution is measured, not delivery
+ * - Bytes allocated come from the JVM's per-thread allocation counter; each loop is
+ *   run once to warm up before it is measured
+ * - A full publish() is measured too, for scale: it still allocates the message and its log record
+ *
+ * Usage: java org.example.PubSub.benchmark.FanOutAllocationBenchmark [groups]
+ */
+public class FanOutAllocationBenchmark {
+    private static final int PARTITIONS = 4;
+    private static final int ROUTE_ITERATIONS = 1_000_000;
+    private static final int PUBLISH_ITERATIONS = 100_000;
+
+    private static long sink;
+
+    public static void main(String[] args) {
+        int groups = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+
+        PubSubService pubSubService = new PubSubService();
+        Topic topic = pubSubService.createTopic("FanOutBenchmark", PARTITIONS);
+        for (int g = 0; g < groups; g++) {
+            ConsumerGroup group = pubSubService.createConsumerGroup("FanOutGroup-" + g);
+            for (int c = 0; c < 2; c++) {
+                Consumer consumer = pubSubService.createConsumer("FanOutConsumer-" + g + "-" + c);
+                pubSubService.addConsumerToGroup(group.getGroupId(), consumer.getConsumerId());
+            }
+            pubSubService.subscribe(topic.getTopicId(), group.getGroupId());
+        }
+
+        System.out.printf("%d groups, %d partitions%n", groups, PARTITIONS);
+        System.out.printf("%-10s %14s %12s%n", "Fan-out", "bytes/publish", "ns/publish");
+        measure("lookup", () -> routeByLookup(pubSubService, topic), ROUTE_ITERATIONS);
+        measure("snapshot", () -> routeBySnapshot(topic), ROUTE_ITERATIONS);
+        measure("publish()", () -> pubSubService.publish(topic.getTopicId(), "payload"), PUBLISH_ITERATIONS);
+
+        pubSubService.shutdown();
+    }
+
+    private static void measure(String name, Runnable publish, int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            publish.run();
+        }
+
+        long allocated = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            publish.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        double perPublish = (double) (allocatedBytes() - allocated) / iterations;
+
+        System.out.printf("%-10s %14.1f %12.1f%n", name, perPublish, (double) elapsed / iterations);
+    }
+
+    private static void routeByLookup(PubSubService pubSubService, Topic topic) {
+        int partition = (int) (sink++ % PARTITIONS);
+        List<Subscription> subscriptions = SubscriptionRepository.getInstance().getSubscriptionsByTopic(topic.getTopicId());
+        for (Subscription subscription : subscriptions) {
+            if (!subscription.isActive()) {
+                continue;
+            }
+            Optional<ConsumerGroup> groupOpt = pubSubService.getConsumerGroupById(subscription.getSubscriberId());
+            if (groupOpt.isPresent()) {
+                sink += groupOpt.get().getConsumerForPartition(partition).hashCode();
+            }
+        }
+    }
+
+    private static void routeBySnapshot(Topic topic) {
+        int partition = (int) (sink++ % PARTITIONS);
+        RoutingSnapshot routing = topic.getRouting();
+        for (int i = 0; i < routing.size(); i++) {
+            if (routing.getSubscription(i).isActive()) {
+                sink += routing.getGroup(i).getConsumerForPartition(partition).hashCode();
+            }
+        }
+    }
+
+    private static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+}
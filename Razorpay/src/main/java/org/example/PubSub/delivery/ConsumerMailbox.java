@@ -0,0 +1,310 @@
+package org.example.PubSub.delivery;
+
+import org.example.PubSub.enums.BackpressurePolicy;
+import org.example.PubSub.enums.MessageStatus;
+import org.example.PubSub.interfaces.IBatchMessageHandler;
+import org.example.PubSub.interfaces.IMessageHandler;
+import org.example.PubSub.model.Message;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded queue of deliveries for one consumer, drained asynchronously.
+ * At most one drain task per mailbox runs at a time, so a consumer's handler
+ * sees its messages one at a time (or one batch at a time) and in order, while
+ * different consumers are handled in parallel.
+ *
+ * Capacity is checked before each enqueue rather than enforced by the queue, so
+ * concurrent publishers can overshoot it by one delivery each (a batch by its size).
+ * Under BLOCK, publishers wait for room in awaitRoom() before taking any lock, and
+ * enqueue itself never waits; a publish from a delivery thread (a handler publishing)
+ * skips the wait and overflows the mailbox instead of waiting on a drain that may be its own.
+ */
+class ConsumerMailbox {
+    // Deliveries handled per drain task before yielding the thread to other mailboxes
+    private static final int DRAIN_BATCH = 64;
+
+    private final String consumerId;
+    private final IMessageHandler handler;
+    private final IBatchMessageHandler batchHandler; // Same as handler if it handles batches, else null
+    private final BlockingQueue<Delivery> queue;
+    private final int capacity;
+    private final BackpressurePolicy backpressurePolicy;
+    private final int maxBatchSize;
+    private final long lingerNanos;
+    private final Executor executor;
+    private final DeliveryEngine engine;
+    private final AtomicBoolean scheduled;
+    private final LongAdder dropped;
+    private final LongAdder rejected;
+    private final Object roomMonitor;
+    private volatile int roomWaiters; // Publishers in awaitRoom(); only changed while holding roomMonitor
+
+    ConsumerMailbox(String consumerId, IMessageHandler handler, DeliveryConfig config,
+                    Executor executor, DeliveryEngine engine) {
+        this.consumerId = consumerId;
+        this.handler = handler;
+        this.batchHandler = handler instanceof IBatchMessageHandler ? (IBatchMessageHandler) handler : null;
+        this.capacity = config.getMailboxCapacity();
+        this.queue = new LinkedBlockingQueue<>();
+        this.backpressurePolicy = config.getBackpressurePolicy();
+        this.maxBatchSize = batchHandler != null ? config.getMaxBatchSize() : DRAIN_BATCH;
+        this.lingerNanos = batchHandler != null ? TimeUnit.MILLISECONDS.toNanos(config.getLingerMs()) : 0;
+        this.executor = executor;
+        this.engine = engine;
+        this.scheduled = new AtomicBoolean();
+        this.dropped = new LongAdder();
+        this.rejected = new LongAdder();
+        this.roomMonitor = new Object();
+    }
+
+    /**
+     * Waits until the mailbox is below capacity.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    void awaitRoom() throws InterruptedException {
+        if (queue.size() < capacity) {
+            return;
+        }
+        // Make sure a drain task is running before waiting for it to make room
+        schedule();
+        synchronized (roomMonitor) {
+            roomWaiters++;
+            try {
+                while (queue.size() >= capacity) {
+                    roomMonitor.wait();
+                }
+            } finally {
+                roomWaiters--;
+            }
+        }
+    }
+
+    /**
+     * Queues a message for this consumer, applying the backpressure policy if the mailbox is full.
+     *
+     * @param message The message to deliver
+     * @param groupId The ID of the consumer group the message is delivered through
+     * @param retryPolicy How the message is retried if the handler fails it
+     * @param slot The partition hand-off the delivery counts against, or null
+     * @return true if the message was queued, false if it was rejected
+     */
+    boolean offer(Message message, String groupId, RetryPolicy retryPolicy, PartitionHandoff.Slot slot) {
+        engine.deliveriesQueued(1);
+        boolean queued = enqueue(new Delivery(message, groupId, retryPolicy, slot));
+        schedule();
+        return queued;
+    }
+
+    /**
+     * Queues messages for this consumer in order, applying the backpressure policy to each.
+     * The drain task is woken once for the whole list.
+     *
+     * @param messages The messages to deliver
+     * @param groupId The ID of the consumer group the messages are delivered through
+     * @param retryPolicy How each message is retried if the handler fails it
+     * @param slot The partition hand-off the deliveries count against, or null
+     * @return The number of messages queued
+     */
+    int offerAll(List<Message> messages, String groupId, RetryPolicy retryPolicy, PartitionHandoff.Slot slot) {
+        engine.deliveriesQueued(messages.size());
+        int queued = 0;
+        for (Message message : messages) {
+            if (enqueue(new Delivery(message, groupId, retryPolicy, slot))) {
+                queued++;
+            }
+        }
+        schedule();
+        return queued;
+    }
+
+    /**
+     * Queues a delivery again for a retry, without blocking; it is already counted as pending.
+     * Backpressure policies do not apply: a full mailbox just refuses the retry for now.
+     *
+     * @param delivery The delivery to retry
+     * @return true if the delivery was queued, false if the mailbox is full
+     */
+    boolean tryRequeue(Delivery delivery) {
+        if (queue.size() >= capacity) {
+            return false;
+        }
+        queue.add(delivery);
+        schedule();
+        return true;
+    }
+
+    int getQueuedCount() {
+        return queue.size();
+    }
+
+    long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    private boolean enqueue(Delivery delivery) {
+        if (queue.size() < capacity) {
+            queue.add(delivery);
+            return true;
+        }
+        switch (backpressurePolicy) {
+            case BLOCK:
+                // The publisher already waited in awaitRoom(), outside the partition lock,
+                // unless it is a delivery thread; either way waiting here could deadlock
+                queue.add(delivery);
+                return true;
+            case DROP_OLDEST:
+                while (queue.size() >= capacity) {
+                    Delivery oldest = queue.poll();
+                    if (oldest == null) {
+                        break;
+                    }
+                    fail(oldest, dropped);
+                }
+                queue.add(delivery);
+                return true;
+            default:
+                fail(delivery, rejected);
+                return false;
+        }
+    }
+
+    private void schedule() {
+        if (!queue.isEmpty() && scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Engine is shutting down; queued deliveries stay PENDING
+                scheduled.set(false);
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            List<Delivery> batch = new ArrayList<>(Math.min(maxBatchSize, queue.size() + 1));
+            queue.drainTo(batch, maxBatchSize);
+            signalRoom();
+            if (lingerNanos > 0) {
+                linger(batch);
+            }
+            if (batchHandler != null) {
+                processBatch(batch);
+            } else {
+                for (Delivery delivery : batch) {
+                    process(delivery);
+                }
+            }
+        } finally {
+            scheduled.set(false);
+            // A delivery queued after the last poll but before the flag reset has no task yet
+            schedule();
+        }
+    }
+
+    /**
+     * Waits up to lingerNanos for more deliveries until the batch is full.
+     */
+    private void linger(List<Delivery> batch) {
+        long deadline = System.nanoTime() + lingerNanos;
+        try {
+            while (batch.size() < maxBatchSize) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                Delivery delivery = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                if (delivery == null) {
+                    break;
+                }
+                batch.add(delivery);
+                queue.drainTo(batch, maxBatchSize - batch.size());
+                signalRoom();
+            }
+        } catch (InterruptedException e) {
+            // Shutting down: hand over what has been collected so far
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Wakes publishers waiting in awaitRoom() after deliveries were taken off the queue.
+     */
+    private void signalRoom() {
+        if (roomWaiters > 0) {
+            synchronized (roomMonitor) {
+                roomMonitor.notifyAll();
+            }
+        }
+    }
+
+    private void process(Delivery delivery) {
+        delivery.attempts++;
+        boolean success;
+        try {
+            success = handler.handleMessage(delivery.message);
+        } catch (RuntimeException e) {
+            success = false;
+        }
+        if (success) {
+            complete(delivery);
+            engine.deliveriesCompleted(1);
+        } else {
+            engine.deliveryFailed(consumerId, delivery);
+        }
+    }
+
+    private void processBatch(List<Delivery> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Message> messages = new ArrayList<>(batch.size());
+        for (Delivery delivery : batch) {
+            delivery.attempts++;
+            messages.add(delivery.message);
+        }
+        boolean success;
+        try {
+            success = batchHandler.handleBatch(messages);
+        } catch (RuntimeException e) {
+            success = false;
+        }
+        if (success) {
+            for (Delivery delivery : batch) {
+                complete(delivery);
+            }
+            engine.deliveriesCompleted(batch.size());
+        } else {
+            // Each message is retried on its own schedule and may be re-batched with others
+            for (Delivery delivery : batch) {
+                engine.deliveryFailed(consumerId, delivery);
+            }
+        }
+    }
+
+    private void complete(Delivery delivery) {
+        delivery.message.setProcessedBy(delivery.groupId + ":" + consumerId);
+        delivery.message.setStatus(MessageStatus.PROCESSED);
+        delivery.finished();
+    }
+
+    private void fail(Delivery delivery, LongAdder counter) {
+        delivery.message.setStatus(MessageStatus.FAILED);
+        delivery.finished();
+        counter.increment();
+        engine.deliveriesCompleted(1);
+    }
+}
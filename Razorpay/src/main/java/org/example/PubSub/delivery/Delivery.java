@@ -0,0 +1,33 @@
+package org.example.PubSub.delivery;
+
+import org.example.PubSub.model.Message;
+
+/**
+ * A message on its way to a consumer through a consumer group, with its retry state.
+ */
+final class Delivery {
+    final Message message;
+    final String groupId;
+    final RetryPolicy retryPolicy;
+    final PartitionHandoff.Slot slot; // Hand-off the delivery counts against until finished; may be null
+    int attempts; // Delivery attempts made so far; only touched by the thread owning the delivery
+
+    Delivery(Message message, String groupId, RetryPolicy retryPolicy, PartitionHandoff.Slot slot) {
+        this.message = message;
+        this.groupId = groupId;
+        this.retryPolicy = retryPolicy;
+        this.slot = slot;
+        if (slot != null) {
+            slot.acquire();
+        }
+    }
+
+    /**
+     * Called once the delivery is done for good: handled, dropped, rejected or dead-lettered.
+     */
+    void finished() {
+        if (slot != null) {
+            slot.release();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.PubSub.delivery;
+
+import org.example.PubSub.enums.BackpressurePolicy;
+
+/**
+ * Configuration of asynchronous message delivery.
+ * Controls how many deliveries each consumer can have queued, what happens when that limit is hit,
+ * and how deliveries are batched for consumers with an IBatchMessageHandler.
+ */
+public class DeliveryConfig {
+    public static final int DEFAULT_MAILBOX_CAPACITY = 1024;
+    public static final int DEFAULT_MAX_BATCH_SIZE = 256;
+
+    private final int mailboxCapacity;
+    private final BackpressurePolicy backpressurePolicy;
+    private final int maxBatchSize;
+    private final long lingerMs;
+
+    /**
+     * Constructor to create a delivery configuration.
+     *
+     * @param mailboxCapacity Deliveries queued per consumer before the backpressure policy applies
+     * @param backpressurePolicy What a publish does when a consumer's mailbox is full
+     */
+    public DeliveryConfig(int mailboxCapacity, BackpressurePolicy backpressurePolicy) {
+        this(mailboxCapacity, backpressurePolicy, DEFAULT_MAX_BATCH_SIZE, 0);
+    }
+
+    /**
+     * Constructor to create a delivery configuration with batching settings.
+     *
+     * @param mailboxCapacity Deliveries queued per consumer before the backpressure policy applies
+     * @param backpressurePolicy What a publish does when a consumer's mailbox is full
+     * @param maxBatchSize Maximum messages passed to one IBatchMessageHandler.handleBatch call
+     * @param lingerMs How long a batch handler's wakeup waits for more messages to fill a batch; 0 to not wait
+     */
+    public DeliveryConfig(int mailboxCapacity, BackpressurePolicy backpressurePolicy, int maxBatchSize, long lingerMs) {
+        if (mailboxCapacity <= 0) {
+            throw new IllegalArgumentException("Mailbox capacity must be positive");
+        }
+        if (backpressurePolicy == null) {
+            throw new IllegalArgumentException("Backpressure policy cannot be null");
+        }
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Max batch size must be positive");
+        }
+        if (lingerMs < 0) {
+            throw new IllegalArgumentException("Linger time cannot be negative");
+        }
+        this.mailboxCapacity = mailboxCapacity;
+        this.backpressurePolicy = backpressurePolicy;
+        this.maxBatchSize = maxBatchSize;
+        this.lingerMs = lingerMs;
+    }
+
+    /**
+     * Creates the default configuration: 1024 queued deliveries per consumer, publishers block when full,
+     * batches of up to 256 messages without lingering.
+     *
+     * @return The default delivery configuration
+     */
+    public static DeliveryConfig defaults() {
+        return new DeliveryConfig(DEFAULT_MAILBOX_CAPACITY, BackpressurePolicy.BLOCK);
+    }
+
+    // Getters
+    public int getMailboxCapacity() {
+        return mailboxCapacity;
+    }
+
+    public BackpressurePolicy getBackpressurePolicy() {
+        return backpressurePolicy;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public long getLingerMs() {
+        return lingerMs;
+    }
+}
@@ -0,0 +1,363 @@
+package org.example.PubSub.delivery;
+
+import org.example.PubSub.enums.BackpressurePolicy;
+import org.example.PubSub.enums.MessageStatus;
+import org.example.PubSub.interfaces.IDeadLetterHandler;
+import org.example.PubSub.interfaces.IMessageHandler;
+import org.example.PubSub.model.Message;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Asynchronous delivery engine for the pub-sub system.
+ * Publishers hand each message to the chosen consumer's bounded mailbox and
+ * return; mailboxes are drained on a shared pool, one task per busy consumer,
+ * so a slow handler only delays its own consumer.
+ *
+ * Message status moves from PENDING to PROCESSED or FAILED when the handler
+ * finishes. A full mailbox applies the configured BackpressurePolicy.
+ * Consumers registered with an IBatchMessageHandler receive everything queued
+ * for them (up to maxBatchSize, optionally lingering for more) in one call.
+ *
+ * Retries:
+ * - A message the handler fails is retried per the delivery's RetryPolicy: its
+ *   status becomes RETRYING and it is requeued to the same consumer after a
+ *   jittered exponential backoff, scheduled on a TimerWheel rather than a thread per retry
+ * - Requeueing never blocks: if the mailbox is full, the retry waits another tick
+ * - After the last attempt (or if the consumer is gone) it is marked FAILED and
+ *   passed to the IDeadLetterHandler on a dedicated dead-letter thread, never on a
+ *   drain or timer thread, since the handler may publish and block
+ * - A retried message may be handled after messages published later to the same partition
+ *
+ * Delivery threads:
+ * - deliver() never waits, so it can be called while holding a partition lock; under
+ *   BLOCK, publishers call awaitCapacity() first, before taking any lock
+ * - awaitCapacity() returns at once on a delivery thread: a handler that publishes
+ *   overflows the target mailbox rather than waiting on a drain that may be its own
+ */
+public class DeliveryEngine {
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    private static final long RETRY_TICK_MILLIS = 10;
+    private static final int RETRY_WHEEL_SIZE = 512;
+
+    private final DeliveryConfig config;
+    private final Map<String, ConsumerMailbox> mailboxes; // Map of consumerId -> ConsumerMailbox
+    private final ExecutorService executor;
+    private final ExecutorService deadLetterExecutor;
+    private final AtomicLong pendingDeliveries;
+    private final Object idleMonitor;
+    private final TimerWheel retryTimer;
+    private final IDeadLetterHandler deadLetterHandler; // May be null: dead letters are only marked FAILED
+    private final LongAdder retries;
+    private final LongAdder deadLetters;
+
+    /**
+     * Constructor to create a delivery engine.
+     * Uses a cached pool of daemon threads: a thread exists only while a consumer
+     * has deliveries queued, and at most one per consumer.
+     *
+     * @param config The mailbox capacity and backpressure policy
+     */
+    public DeliveryEngine(DeliveryConfig config) {
+        this(config, null);
+    }
+
+    /**
+     * Constructor to create a delivery engine that hands dead letters to a handler.
+     *
+     * @param config The mailbox capacity and backpressure policy
+     * @param deadLetterHandler Receives messages that failed every attempt; null to only mark them FAILED
+     */
+    public DeliveryEngine(DeliveryConfig config, IDeadLetterHandler deadLetterHandler) {
+        this.config = config;
+        this.mailboxes = new ConcurrentHashMap<>();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new DeliveryThread(runnable, "pubsub-delivery-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.deadLetterExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pubsub-dead-letter-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.pendingDeliveries = new AtomicLong();
+        this.idleMonitor = new Object();
+        this.retryTimer = new TimerWheel(RETRY_TICK_MILLIS, RETRY_WHEEL_SIZE,
+                "pubsub-retry-" + THREAD_COUNTER.incrementAndGet());
+        this.deadLetterHandler = deadLetterHandler;
+        this.retries = new LongAdder();
+        this.deadLetters = new LongAdder();
+    }
+
+    /**
+     * Registers (or replaces) the handler of a consumer.
+     * Deliveries already queued for a replaced handler are still handled by it.
+     *
+     * @param consumerId The ID of the consumer
+     * @param handler The message handler implementation; an IBatchMessageHandler receives batches
+     */
+    public void register(String consumerId, IMessageHandler handler) {
+        mailboxes.put(consumerId, new ConsumerMailbox(consumerId, handler, config, executor, this));
+    }
+
+    /**
+     * Checks whether a consumer has a registered handler.
+     *
+     * @param consumerId The ID of the consumer
+     * @return true if deliveries to the consumer will be handled
+     */
+    public boolean isRegistered(String consumerId) {
+        return mailboxes.containsKey(consumerId);
+    }
+
+    /**
+     * Under BLOCK backpressure, waits until a consumer's mailbox has room for another delivery.
+     * Returns at once under other policies, on a delivery thread, or if the consumer has no handler.
+     * If interrupted, returns early with the thread's interrupt status set.
+     *
+     * @param consumerId The ID of the consumer about to be delivered to
+     */
+    public void awaitCapacity(String consumerId) {
+        if (config.getBackpressurePolicy() != BackpressurePolicy.BLOCK
+                || Thread.currentThread() instanceof DeliveryThread) {
+            return;
+        }
+        ConsumerMailbox mailbox = mailboxes.get(consumerId);
+        if (mailbox == null) {
+            return;
+        }
+        try {
+            mailbox.awaitRoom();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Queues a message for a consumer and returns without waiting for the handler.
+     * A failed message is not retried.
+     *
+     * @param consumerId The ID of the consumer to deliver to
+     * @param groupId The ID of the consumer group the message is delivered through
+     * @param message The message to deliver
+     * @return true if the message was queued, false if no handler is registered or it was rejected
+     */
+    public boolean deliver(String consumerId, String groupId, Message message) {
+        return deliver(consumerId, groupId, message, RetryPolicy.noRetry());
+    }
+
+    /**
+     * Queues a message for a consumer and returns without waiting for the handler or for room.
+     *
+     * @param consumerId The ID of the consumer to deliver to
+     * @param groupId The ID of the consumer group the message is delivered through
+     * @param message The message to deliver
+     * @param retryPolicy How the message is retried if the handler fails it
+     * @return true if the message was queued, false if no handler is registered or it was rejected
+     */
+    public boolean deliver(String consumerId, String groupId, Message message, RetryPolicy retryPolicy) {
+        return deliver(consumerId, groupId, message, retryPolicy, null);
+    }
+
+    boolean deliver(String consumerId, String groupId, Message message, RetryPolicy retryPolicy,
+                    PartitionHandoff.Slot slot) {
+        ConsumerMailbox mailbox = mailboxes.get(consumerId);
+        return mailbox != null && mailbox.offer(message, groupId, retryPolicy, slot);
+    }
+
+    /**
+     * Queues messages for a consumer in order and returns without waiting for the handler.
+     *
+     * @param consumerId The ID of the consumer to deliver to
+     * @param groupId The ID of the consumer group the messages are delivered through
+     * @param messages The messages to deliver
+     * @param retryPolicy How each message is retried if the handler fails it
+     * @return The number of messages queued; 0 if no handler is registered
+     */
+    public int deliverAll(String consumerId, String groupId, List<Message> messages, RetryPolicy retryPolicy) {
+        return deliverAll(consumerId, groupId, messages, retryPolicy, null);
+    }
+
+    int deliverAll(String consumerId, String groupId, List<Message> messages, RetryPolicy retryPolicy,
+                   PartitionHandoff.Slot slot) {
+        ConsumerMailbox mailbox = mailboxes.get(consumerId);
+        return mailbox == null || messages.isEmpty() ? 0 : mailbox.offerAll(messages, groupId, retryPolicy, slot);
+    }
+
+    /**
+     * Waits until every queued delivery has been handled, dropped or rejected.
+     *
+     * @param timeoutMillis The longest time to wait
+     * @return true if delivery is idle, false if the timeout elapsed first
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitIdle(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (idleMonitor) {
+            while (pendingDeliveries.get() > 0) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                idleMonitor.wait(remaining);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets a snapshot of the delivery metrics.
+     *
+     * @return The current delivery stats
+     */
+    public DeliveryStats getStats() {
+        return new DeliveryStats(getPendingCount(), getDroppedCount(), getRejectedCount(),
+                retries.sum(), retryTimer.getPendingCount(), deadLetters.sum());
+    }
+
+    /**
+     * Gets the number of deliveries queued, being handled or waiting for a retry.
+     *
+     * @return The number of pending deliveries
+     */
+    public long getPendingCount() {
+        return pendingDeliveries.get();
+    }
+
+    /**
+     * Gets the number of deliveries discarded by DROP_OLDEST across all consumers.
+     *
+     * @return The number of dropped deliveries
+     */
+    public long getDroppedCount() {
+        long dropped = 0;
+        for (ConsumerMailbox mailbox : mailboxes.values()) {
+            dropped += mailbox.getDroppedCount();
+        }
+        return dropped;
+    }
+
+    /**
+     * Gets the number of deliveries refused by REJECT (or interrupted while blocked) across all consumers.
+     *
+     * @return The number of rejected deliveries
+     */
+    public long getRejectedCount() {
+        long rejected = 0;
+        for (ConsumerMailbox mailbox : mailboxes.values()) {
+            rejected += mailbox.getRejectedCount();
+        }
+        return rejected;
+    }
+
+    /**
+     * Stops accepting drain tasks and waits briefly for running handlers to finish.
+     * Deliveries still queued stay PENDING; scheduled retries stay RETRYING.
+     */
+    public void shutdown() {
+        retryTimer.stop();
+        deadLetterExecutor.shutdown();
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Retries a failed delivery after its backoff, or dead-letters it if no attempts are left.
+     */
+    void deliveryFailed(String consumerId, Delivery delivery) {
+        if (delivery.attempts >= delivery.retryPolicy.getMaxAttempts()) {
+            deadLetterAsync(delivery);
+            return;
+        }
+        delivery.message.setStatus(MessageStatus.RETRYING);
+        retries.increment();
+        retryTimer.schedule(() -> retry(consumerId, delivery), delivery.retryPolicy.backoffMillis(delivery.attempts));
+    }
+
+    /**
+     * Runs a task on a delivery thread, where publishing and queueing never wait; dropped if shutting down.
+     */
+    void execute(Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            // Engine is shutting down; deliveries stay where they are
+        }
+    }
+
+    void deliveriesQueued(int count) {
+        pendingDeliveries.addAndGet(count);
+    }
+
+    void deliveriesCompleted(int count) {
+        if (pendingDeliveries.addAndGet(-count) == 0) {
+            synchronized (idleMonitor) {
+                idleMonitor.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Runs on the retry timer's thread, so it must not block.
+     */
+    private void retry(String consumerId, Delivery delivery) {
+        ConsumerMailbox mailbox = mailboxes.get(consumerId);
+        if (mailbox == null) {
+            deadLetterAsync(delivery);
+            return;
+        }
+        if (!mailbox.tryRequeue(delivery)) {
+            retryTimer.schedule(() -> retry(consumerId, delivery), RETRY_TICK_MILLIS);
+        }
+    }
+
+    /**
+     * Dead-letters on the dead-letter thread, in order. The dead-letter handler may publish
+     * to another topic, which blocks on a full mailbox; on a drain thread that mailbox can be
+     * the drain thread's own, and on the timer thread it would stall every retry.
+     */
+    private void deadLetterAsync(Delivery delivery) {
+        try {
+            deadLetterExecutor.execute(() -> deadLetter(delivery));
+        } catch (RejectedExecutionException e) {
+            // Engine is shutting down; the message keeps its current status
+        }
+    }
+
+    /**
+     * Thread that drains mailboxes; recognized by awaitCapacity(), which never waits on one.
+     */
+    private static final class DeliveryThread extends Thread {
+        DeliveryThread(Runnable runnable, String name) {
+            super(runnable, name);
+        }
+    }
+
+    private void deadLetter(Delivery delivery) {
+        delivery.message.setStatus(MessageStatus.FAILED);
+        deadLetters.increment();
+        if (deadLetterHandler != null) {
+            try {
+                deadLetterHandler.onDeadLetter(delivery.message, delivery.groupId, delivery.attempts);
+            } catch (RuntimeException e) {
+                // The message is already FAILED; a broken dead-letter sink must not stall delivery
+            }
+        }
+        delivery.finished();
+        deliveriesCompleted(1);
+    }
+}
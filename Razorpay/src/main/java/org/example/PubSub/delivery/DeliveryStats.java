@@ -0,0 +1,71 @@
+package org.example.PubSub.delivery;
+
+/**
+ * Point-in-time delivery metrics of a DeliveryEngine.
+ * Counters are cumulative since the engine was created.
+ */
+public class DeliveryStats {
+    private final long pendingCount;
+    private final long droppedCount;
+    private final long rejectedCount;
+    private final long retryCount;
+    private final long scheduledRetryCount;
+    private final long deadLetterCount;
+
+    /**
+     * Constructor to create a delivery stats snapshot.
+     *
+     * @param pendingCount Deliveries queued, being handled or waiting for a retry
+     * @param droppedCount Deliveries discarded by DROP_OLDEST
+     * @param rejectedCount Deliveries refused by REJECT
+     * @param retryCount Failed deliveries scheduled for another attempt
+     * @param scheduledRetryCount Retries currently waiting for their backoff to elapse
+     * @param deadLetterCount Messages that failed every attempt and were dead-lettered
+     */
+    public DeliveryStats(long pendingCount, long droppedCount, long rejectedCount,
+                         long retryCount, long scheduledRetryCount, long deadLetterCount) {
+        this.pendingCount = pendingCount;
+        this.droppedCount = droppedCount;
+        this.rejectedCount = rejectedCount;
+        this.retryCount = retryCount;
+        this.scheduledRetryCount = scheduledRetryCount;
+        this.deadLetterCount = deadLetterCount;
+    }
+
+    // Getters
+    public long getPendingCount() {
+        return pendingCount;
+    }
+
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    public long getRetryCount() {
+        return retryCount;
+    }
+
+    public long getScheduledRetryCount() {
+        return scheduledRetryCount;
+    }
+
+    public long getDeadLetterCount() {
+        return deadLetterCount;
+    }
+
+    @Override
+    public String toString() {
+        return "DeliveryStats{" +
+                "pending=" + pendingCount +
+                ", dropped=" + droppedCount +
+                ", rejected=" + rejectedCount +
+                ", retries=" + retryCount +
+                ", scheduledRetries=" + scheduledRetryCount +
+                ", deadLetters=" + deadLetterCount +
+                '}';
+    }
+}
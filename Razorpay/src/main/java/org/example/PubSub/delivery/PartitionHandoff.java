@@ -0,0 +1,172 @@
+package org.example.PubSub.delivery;
+
+import org.example.PubSub.model.Message;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps each partition of one subscription in order when a rebalance moves it to another consumer.
+ * The previous owner may still have messages of the partition queued or in its handler; until
+ * they have all finished (or been dead-lettered), the partition's new messages are held back,
+ * then handed to the new owner in order. Two consumers therefore never handle the same
+ * partition at the same time.
+ *
+ * Callers route a partition's messages while holding that partition's lock, so messages reach
+ * the hand-off in offset order. Held-back messages wait outside any mailbox and do not count
+ * against its capacity; a hand-off lasts as long as the previous owner's backlog, including retries.
+ */
+public class PartitionHandoff {
+    private final DeliveryEngine engine;
+    private final String groupId;
+    private final RetryPolicy retryPolicy;
+    private final Slot[] slots;
+
+    /**
+     * Constructor to create the hand-off state of a subscription.
+     *
+     * @param engine The engine that delivers the subscription's messages
+     * @param groupId The ID of the subscribed consumer group
+     * @param retryPolicy How the subscription's messages are retried
+     * @param partitionCount The number of partitions of the subscribed topic
+     */
+    public PartitionHandoff(DeliveryEngine engine, String groupId, RetryPolicy retryPolicy, int partitionCount) {
+        this.engine = engine;
+        this.groupId = groupId;
+        this.retryPolicy = retryPolicy;
+        this.slots = new Slot[partitionCount];
+        for (int partition = 0; partition < partitionCount; partition++) {
+            slots[partition] = new Slot();
+        }
+    }
+
+    /**
+     * Delivers a message to the consumer assigned its partition, or holds it back while the
+     * partition's previous owner finishes.
+     *
+     * @param partition The message's partition
+     * @param consumerId The ID of the consumer currently assigned the partition
+     * @param message The message to deliver
+     * @return true if the message was queued or held back, false if it was rejected or the consumer has no handler
+     */
+    public boolean deliver(int partition, String consumerId, Message message) {
+        Slot slot = slots[partition];
+        synchronized (slot) {
+            if (slot.route(consumerId)) {
+                return engine.deliver(consumerId, groupId, message, retryPolicy, slot);
+            }
+            slot.hold(List.of(message));
+            return true;
+        }
+    }
+
+    /**
+     * Delivers messages of one partition, in order, like deliver().
+     *
+     * @param partition The messages' partition
+     * @param consumerId The ID of the consumer currently assigned the partition
+     * @param messages The messages to deliver, in offset order
+     * @return The number of messages queued or held back
+     */
+    public int deliverAll(int partition, String consumerId, List<Message> messages) {
+        Slot slot = slots[partition];
+        synchronized (slot) {
+            if (slot.route(consumerId)) {
+                return engine.deliverAll(consumerId, groupId, messages, retryPolicy, slot);
+            }
+            slot.hold(messages);
+            return messages.size();
+        }
+    }
+
+    /**
+     * Hand-off state of one partition; routing and moving ownership hold its monitor.
+     * Deliveries routed through a slot acquire it when queued and release it when finished.
+     * Releasing never takes the monitor, since it can run on a publisher holding another
+     * slot's monitor (e.g. when DROP_OLDEST discards a delivery of another partition);
+     * completing a hand-off is passed to the engine's pool instead.
+     */
+    final class Slot {
+        private final AtomicInteger pending = new AtomicInteger(); // Deliveries queued to owner and not finished
+        private String owner; // Consumer receiving the partition's messages
+        private volatile String nextOwner; // Consumer the partition moves to once owner's deliveries finish
+        private List<Message> held; // Messages waiting for nextOwner, in offset order
+
+        /**
+         * Decides whether a message for the assigned consumer can be queued now.
+         *
+         * @return true to queue it to the assigned consumer, false to hold it back
+         */
+        private boolean route(String consumerId) {
+            if (nextOwner == null) {
+                if (owner == null || owner.equals(consumerId) || pending.get() == 0) {
+                    owner = consumerId;
+                    return true;
+                }
+                nextOwner = consumerId;
+                // The last release may have missed nextOwner; then nothing would complete the hand-off
+                if (pending.get() == 0) {
+                    completeHandoff();
+                    return true;
+                }
+                return false;
+            }
+            if (owner.equals(consumerId)) {
+                // Moved back before the hand-off completed: owner still has the older messages
+                nextOwner = null;
+                releaseHeld();
+                return true;
+            }
+            nextOwner = consumerId;
+            return false;
+        }
+
+        private void hold(List<Message> messages) {
+            if (held == null) {
+                held = new ArrayList<>();
+            }
+            held.addAll(messages);
+            // Held-back messages count as pending so awaitIdle() does not return before they are handled
+            engine.deliveriesQueued(messages.size());
+        }
+
+        void acquire() {
+            pending.incrementAndGet();
+        }
+
+        void release() {
+            if (pending.decrementAndGet() == 0 && nextOwner != null) {
+                engine.execute(() -> {
+                    synchronized (this) {
+                        if (pending.get() == 0 && nextOwner != null) {
+                            completeHandoff();
+                        }
+                    }
+                });
+            }
+        }
+
+        /**
+         * Moves the partition to nextOwner and queues the held-back messages to it.
+         */
+        private void completeHandoff() {
+            owner = nextOwner;
+            nextOwner = null;
+            releaseHeld();
+        }
+
+        /**
+         * Queues the held-back messages to owner without waiting for room.
+         */
+        private void releaseHeld() {
+            if (held == null) {
+                return;
+            }
+            List<Message> messages = held;
+            held = null;
+            engine.deliverAll(owner, groupId, messages, retryPolicy, this);
+            engine.deliveriesCompleted(messages.size());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package org.example.PubSub.delivery;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retry policy of a subscription.
+ * When a handler fails a message, it is redelivered after an exponentially growing,
+ * jittered backoff until maxAttempts deliveries have failed; then it is dead-lettered.
+ *
+ * Backoff before retry n (n = 1 after the first failure):
+ *   base = min(maxBackoffMillis, initialBackoffMillis * multiplier^(n-1))
+ *   delay = base - random(0, jitter * base)
+ * Jitter spreads out retries of messages that failed together, so a recovering
+ * consumer is not hit by all of them at once.
+ */
+public class RetryPolicy {
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+    public static final long DEFAULT_INITIAL_BACKOFF_MILLIS = 100;
+    public static final double DEFAULT_MULTIPLIER = 2.0;
+    public static final long DEFAULT_MAX_BACKOFF_MILLIS = 10_000;
+    public static final double DEFAULT_JITTER = 0.5;
+
+    private static final RetryPolicy NO_RETRY = new RetryPolicy(1, 0, 1.0, 0, 0);
+
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final double multiplier;
+    private final long maxBackoffMillis;
+    private final double jitter;
+
+    /**
+     * Constructor to create a retry policy.
+     *
+     * @param maxAttempts Total delivery attempts, including the first; 1 disables retries
+     * @param initialBackoffMillis Backoff before the first retry
+     * @param multiplier Factor the backoff grows by with each further retry
+     * @param maxBackoffMillis Upper bound of the backoff
+     * @param jitter Fraction (0 to 1) of the backoff that is randomly subtracted
+     */
+    public RetryPolicy(int maxAttempts, long initialBackoffMillis, double multiplier,
+                       long maxBackoffMillis, double jitter) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Max attempts must be at least 1");
+        }
+        if (initialBackoffMillis < 0 || maxBackoffMillis < initialBackoffMillis) {
+            throw new IllegalArgumentException("Backoff must satisfy 0 <= initial <= max");
+        }
+        if (multiplier < 1.0) {
+            throw new IllegalArgumentException("Multiplier must be at least 1");
+        }
+        if (jitter < 0 || jitter > 1) {
+            throw new IllegalArgumentException("Jitter must be between 0 and 1");
+        }
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.multiplier = multiplier;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.jitter = jitter;
+    }
+
+    /**
+     * Creates the default policy: 3 attempts, backoff from 100 ms doubling up to 10 s, 50% jitter.
+     *
+     * @return The default retry policy
+     */
+    public static RetryPolicy defaults() {
+        return new RetryPolicy(DEFAULT_MAX_ATTEMPTS, DEFAULT_INITIAL_BACKOFF_MILLIS, DEFAULT_MULTIPLIER,
+                DEFAULT_MAX_BACKOFF_MILLIS, DEFAULT_JITTER);
+    }
+
+    /**
+     * Gets the policy that dead-letters a message after its first failed delivery.
+     *
+     * @return The single-attempt retry policy
+     */
+    public static RetryPolicy noRetry() {
+        return NO_RETRY;
+    }
+
+    /**
+     * Computes the jittered backoff before a retry.
+     *
+     * @param failedAttempts The number of delivery attempts that have failed so far
+     * @return The delay in milliseconds
+     */
+    public long backoffMillis(int failedAttempts) {
+        double base = initialBackoffMillis * Math.pow(multiplier, Math.max(0, failedAttempts - 1));
+        long capped = (long) Math.min(maxBackoffMillis, base);
+        long jitterMillis = (long) (capped * jitter * ThreadLocalRandom.current().nextDouble());
+        return capped - jitterMillis;
+    }
+
+    // Getters
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public long getInitialBackoffMillis() {
+        return initialBackoffMillis;
+    }
+
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    public long getMaxBackoffMillis() {
+        return maxBackoffMillis;
+    }
+
+    public double getJitter() {
+        return jitter;
+    }
+}
@@ -0,0 +1,167 @@
+package org.example.PubSub.delivery;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hashed timer wheel for scheduling many short tasks, such as delivery retries, on one thread.
+ *
+ * Time is divided into ticks of tickMillis. The wheel is a ring of wheelSize buckets;
+ * a task due in t ticks goes to bucket (now + t) % wheelSize and records how many
+ * full turns of the wheel remain before it is due. Each tick the worker thread
+ * visits one bucket and runs the tasks whose turns have run out.
+ * Scheduling is O(1) and thousands of pending tasks cost one thread and one
+ * small object each; tasks run up to one tick late.
+ *
+ * Tasks run on the wheel's thread, so they must be short; hand longer work to an executor.
+ * The thread is started on the first schedule() and is a daemon.
+ */
+public class TimerWheel {
+    private final long tickNanos;
+    private final List<List<Timeout>> wheel;
+    private final int mask;
+    private final Queue<Timeout> newTimeouts; // Scheduled tasks not yet placed in a bucket
+    private final AtomicInteger pendingCount;
+    private final AtomicBoolean started;
+    private final Thread worker;
+    private volatile boolean running;
+    private volatile long startNanos;
+    private long tick; // Only accessed by the worker thread
+
+    /**
+     * Constructor to create a timer wheel.
+     *
+     * @param tickMillis The duration of one tick, i.e. the scheduling precision
+     * @param wheelSize The number of buckets; rounded up to a power of two
+     * @param threadName The name of the worker thread
+     */
+    public TimerWheel(long tickMillis, int wheelSize, String threadName) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Tick duration and wheel size must be positive");
+        }
+        int buckets = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        this.wheel = new ArrayList<>(buckets);
+        for (int i = 0; i < buckets; i++) {
+            wheel.add(new ArrayList<>());
+        }
+        this.mask = buckets - 1;
+        this.newTimeouts = new ConcurrentLinkedQueue<>();
+        this.pendingCount = new AtomicInteger();
+        this.started = new AtomicBoolean();
+        this.worker = new Thread(this::run, threadName);
+        this.worker.setDaemon(true);
+    }
+
+    /**
+     * Schedules a task to run once after a delay.
+     *
+     * @param task The task to run on the wheel's thread
+     * @param delayMillis The delay in milliseconds
+     */
+    public void schedule(Runnable task, long delayMillis) {
+        if (started.compareAndSet(false, true)) {
+            startNanos = System.nanoTime();
+            running = true;
+            worker.start();
+        }
+        pendingCount.incrementAndGet();
+        newTimeouts.add(new Timeout(task, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMillis)));
+    }
+
+    /**
+     * Gets the number of scheduled tasks that have not run yet.
+     *
+     * @return The number of pending tasks
+     */
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    /**
+     * Stops the worker thread; pending tasks are discarded.
+     */
+    public void stop() {
+        running = false;
+        if (started.get()) {
+            worker.interrupt();
+            try {
+                worker.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void run() {
+        while (running) {
+            long sleepNanos = startNanos + (tick + 1) * tickNanos - System.nanoTime();
+            if (sleepNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+            transferNewTimeouts();
+            expire(wheel.get((int) (tick & mask)));
+            tick++;
+        }
+    }
+
+    /**
+     * Places newly scheduled tasks into the bucket of the tick they are due.
+     */
+    private void transferNewTimeouts() {
+        Timeout timeout;
+        while ((timeout = newTimeouts.poll()) != null) {
+            long dueTick = Math.max((timeout.deadlineNanos - startNanos) / tickNanos, tick);
+            timeout.remainingRounds = (dueTick - tick) / wheel.size();
+            wheel.get((int) (dueTick & mask)).add(timeout);
+        }
+    }
+
+    /**
+     * Runs the bucket's tasks that are due and ages the rest by one round.
+     */
+    private void expire(List<Timeout> bucket) {
+        int i = 0;
+        while (i < bucket.size()) {
+            Timeout timeout = bucket.get(i);
+            if (timeout.remainingRounds > 0) {
+                timeout.remainingRounds--;
+                i++;
+                continue;
+            }
+            // Swap-remove: order within a bucket does not matter
+            int last = bucket.size() - 1;
+            bucket.set(i, bucket.get(last));
+            bucket.remove(last);
+            pendingCount.decrementAndGet();
+            try {
+                timeout.task.run();
+            } catch (RuntimeException e) {
+                // A failing task must not stop the wheel
+            }
+        }
+    }
+
+    /**
+     * A scheduled task and its position in time.
+     */
+    private static final class Timeout {
+        private final Runnable task;
+        private final long deadlineNanos;
+        private long remainingRounds;
+
+        private Timeout(Runnable task, long deadlineNanos) {
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.PubSub.enums;
+
+/**
+ * Enum representing what happens when a consumer's mailbox is full.
+ * A slow consumer only affects publishers through this policy.
+ */
+public enum BackpressurePolicy {
+    /**
+     * The publisher waits until the mailbox has room, before it takes the partition lock.
+     * Handlers must not publish synchronously: a publish from a delivery thread cannot wait
+     * (the full mailbox may be its own), so it overflows the mailbox and escapes backpressure.
+     */
+    BLOCK,
+
+    /**
+     * The oldest queued delivery is discarded (and marked FAILED) to make room
+     */
+    DROP_OLDEST,
+
+    /**
+     * The new delivery is refused and its message marked FAILED immediately
+     */
+    REJECT
+}
@@ -16,7 +16,12 @@ public enum MessageStatus {
     PROCESSED,
     
     /**
-     * Message processing failed or encountered an error
+     * Message processing failed and another delivery attempt is scheduled
+     */
+    RETRYING,
+    
+    /**
+     * Message processing failed or encountered an error, and no attempts are left
      */
     FAILED
 }
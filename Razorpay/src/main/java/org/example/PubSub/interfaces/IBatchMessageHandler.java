@@ -0,0 +1,32 @@
+package org.example.PubSub.interfaces;
+
+import org.example.PubSub.model.Message;
+
+import java.util.List;
+
+/**
+ * Interface for handling messages in batches.
+ * Consumers implement this interface to process every message queued for them
+ * in one call per wakeup, instead of one call per message.
+ * The batch size is bounded by DeliveryConfig.maxBatchSize.
+ */
+public interface IBatchMessageHandler extends IMessageHandler {
+    /**
+     * Handles a batch of messages, in the order they were delivered to this consumer.
+     *
+     * @param messages The messages to handle; never empty
+     * @return true if every message was handled successfully, false to mark the whole batch FAILED
+     */
+    boolean handleBatch(List<Message> messages);
+
+    /**
+     * Handles a single message as a batch of one.
+     *
+     * @param message The message to handle
+     * @return true if message was handled successfully, false otherwise
+     */
+    @Override
+    default boolean handleMessage(Message message) {
+        return handleBatch(List.of(message));
+    }
+}
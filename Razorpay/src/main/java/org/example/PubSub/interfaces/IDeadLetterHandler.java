@@ -0,0 +1,17 @@
+package org.example.PubSub.interfaces;
+
+import org.example.PubSub.model.Message;
+
+/**
+ * Interface for receiving messages whose delivery failed on every attempt allowed by their retry policy.
+ */
+public interface IDeadLetterHandler {
+    /**
+     * Handles a message that could not be delivered.
+     *
+     * @param message The message, already marked FAILED
+     * @param groupId The ID of the consumer group that failed to process it
+     * @param attempts The number of delivery attempts made
+     */
+    void onDeadLetter(Message message, String groupId, int attempts);
+}
@@ -2,6 +2,8 @@ package org.example.PubSub.interfaces;
 
 import org.example.PubSub.model.Message;
 
+import java.util.List;
+
 /**
  * Interface for publishing messages to topics.
  * Follows the Publisher pattern from the Observer design pattern.
@@ -16,6 +18,27 @@ public interface IPublisher {
      */
     Message publish(String topicId, String payload);
 
+    /**
+     * Publishes a message with a routing key to a topic.
+     * Messages with the same key go to the same partition and are delivered in order.
+     *
+     * @param topicId The ID of the topic to publish to
+     * @param key The routing key, or null to spread messages evenly across partitions
+     * @param payload The data/content to publish (must be a String)
+     * @return The created message, or null if topic doesn't exist
+     */
+    Message publish(String topicId, String key, String payload);
+
+    /**
+     * Publishes a batch of messages to a topic.
+     * The batch is appended to one partition and delivered in order.
+     *
+     * @param topicId The ID of the topic to publish to
+     * @param payloads The data/content of each message, in publish order
+     * @return The created messages, or null if topic doesn't exist
+     */
+    List<Message> publishBatch(String topicId, List<String> payloads);
+
     /**
      * Creates a new topic.
      *
@@ -23,4 +46,13 @@ public interface IPublisher {
      * @return The created topic, or null if topic already exists
      */
     org.example.PubSub.model.Topic createTopic(String topicName);
+
+    /**
+     * Creates a new topic split into partitions.
+     *
+     * @param topicName The name of the topic to create
+     * @param partitionCount The number of partitions, at least 1
+     * @return The created topic, or null if topic already exists or partitionCount is invalid
+     */
+    org.example.PubSub.model.Topic createTopic(String topicName, int partitionCount);
 }
@@ -1,5 +1,6 @@
 package org.example.PubSub.interfaces;
 
+import org.example.PubSub.delivery.RetryPolicy;
 import org.example.PubSub.model.Subscription;
 
 /**
@@ -19,6 +20,17 @@ public interface ISubscriber {
      */
     Subscription subscribe(String topicId, String groupId);
 
+    /**
+     * Subscribes a consumer group to a topic with a retry policy for failed deliveries.
+     * Messages that fail every attempt are moved to the topic's dead-letter topic.
+     *
+     * @param topicId The ID of the topic to subscribe to
+     * @param groupId The ID of the consumer group subscribing
+     * @param retryPolicy How failed deliveries are retried
+     * @return The created subscription, or null if topic or group doesn't exist
+     */
+    Subscription subscribe(String topicId, String groupId, RetryPolicy retryPolicy);
+
     /**
      * Unsubscribes a consumer group from a topic.
      *
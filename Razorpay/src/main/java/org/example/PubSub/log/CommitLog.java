@@ -0,0 +1,267 @@
+package org.example.PubSub.log;
+
+import org.example.PubSub.model.Message;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Append-only, segmented commit log backing one partition of a topic.
+ * Every appended message gets the next offset (0, 1, 2, ...); messages are
+ * stored in fixed-size memory-mapped segment files, so the heap only holds
+ * per-segment bookkeeping, however many messages the topic has seen.
+ *
+ * Segments:
+ * - Appends go to the newest (active) segment; when a message does not fit,
+ *   a new segment starting at the next offset is created
+ * - Each segment keeps a sparse offset index for reads (see LogSegment)
+ *
+ * Retention:
+ * - Whole segments are deleted, oldest first, while the log is larger than
+ *   retentionBytes or the segment's newest message is older than retentionMillis
+ * - Retention runs whenever a segment is rolled, and on demand via enforceRetention()
+ * - The active segment is never deleted
+ *
+ * Thread Safety:
+ * - Appends, rolls and retention are serialized on this log
+ * - Reads take no lock and may run concurrently with appends
+ */
+public class CommitLog {
+    private final String topicId;
+    private final int partition;
+    private final LogConfig config;
+    private final Path directory;
+    private final ConcurrentNavigableMap<Long, LogSegment> segments;
+    private volatile LogSegment activeSegment;
+
+    /**
+     * Constructor to open (or create) the commit log of a topic partition.
+     * The log lives in {directory}/{topicId}/{partition}; existing segment files there are recovered,
+     * so a topic with a stable ID (see Topic.idFor) resumes its log after a restart.
+     *
+     * @param topicId The ID of the topic
+     * @param partition The index of the partition within the topic
+     * @param config The log configuration
+     */
+    public CommitLog(String topicId, int partition, LogConfig config) {
+        this.topicId = topicId;
+        this.partition = partition;
+        this.config = config;
+        this.directory = config.getDirectory().resolve(topicId).resolve(String.valueOf(partition));
+        this.segments = new ConcurrentSkipListMap<>();
+        try {
+            Files.createDirectories(directory);
+            List<Path> files;
+            try (Stream<Path> listing = Files.list(directory)) {
+                files = listing.filter(LogSegment::isSegmentFile).collect(Collectors.toList());
+            }
+            for (Path file : files) {
+                LogSegment segment = LogSegment.open(file, config.getSegmentBytes(), config.getIndexIntervalBytes());
+                segments.put(segment.getBaseOffset(), segment);
+            }
+            if (segments.isEmpty()) {
+                LogSegment segment = LogSegment.create(directory, 0, config.getSegmentBytes(),
+                        config.getIndexIntervalBytes());
+                segments.put(0L, segment);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open commit log in " + directory, e);
+        }
+        this.activeSegment = segments.lastEntry().getValue();
+    }
+
+    /**
+     * Appends a message and assigns it this partition and the next offset.
+     *
+     * @param message The message to append
+     * @return The offset assigned to the message
+     */
+    public synchronized long append(Message message) {
+        return append(message, toEpochMillis(message.getTimestamp()));
+    }
+
+    /**
+     * Appends messages in order under one acquisition of the log's lock, assigning consecutive offsets.
+     *
+     * @param messages The messages to append
+     * @return The offset assigned to the first message, or the end offset if messages is empty
+     */
+    public synchronized long appendAll(List<Message> messages) {
+        long firstOffset = getEndOffset();
+        LocalDateTime timestamp = null;
+        long timestampMillis = 0;
+        for (Message message : messages) {
+            // Batches usually share one timestamp; convert it once
+            if (message.getTimestamp() != timestamp) {
+                timestamp = message.getTimestamp();
+                timestampMillis = toEpochMillis(timestamp);
+            }
+            append(message, timestampMillis);
+        }
+        return firstOffset;
+    }
+
+    private long append(Message message, long timestampMillis) {
+        byte[] id = message.getMessageId().getBytes(StandardCharsets.UTF_8);
+        byte[] key = message.getKey() == null ? null : message.getKey().getBytes(StandardCharsets.UTF_8);
+        byte[] payload = message.getPayload() == null ? null : message.getPayload().getBytes(StandardCharsets.UTF_8);
+        int recordBytes = LogSegment.recordBytes(id, key, payload);
+        if (recordBytes > config.getSegmentBytes()) {
+            throw new IllegalArgumentException("Message of " + recordBytes + " bytes exceeds segment size of "
+                    + config.getSegmentBytes() + " bytes");
+        }
+
+        if (!activeSegment.hasRoomFor(recordBytes)) {
+            roll();
+        }
+        long offset = activeSegment.append(id, key, payload, timestampMillis);
+        message.setPartition(partition);
+        message.setOffset(offset);
+        return offset;
+    }
+
+    /**
+     * Reads consecutive messages starting at an offset.
+     * An offset below the start of the log (already deleted by retention) reads from the start.
+     *
+     * @param offset The first offset to read
+     * @param maxMessages The maximum number of messages to return
+     * @return The messages read, in offset order; empty if offset is at or past the end
+     */
+    public List<Message> read(long offset, int maxMessages) {
+        if (maxMessages <= 0) {
+            return Collections.emptyList();
+        }
+
+        long from = Math.max(offset, getStartOffset());
+        Map.Entry<Long, LogSegment> floor = segments.floorEntry(from);
+        if (floor == null) {
+            return Collections.emptyList();
+        }
+
+        List<Message> messages = new ArrayList<>(Math.min(maxMessages, 256));
+        for (LogSegment segment : segments.tailMap(floor.getKey()).values()) {
+            segment.read(from, maxMessages - messages.size(), topicId, partition, messages);
+            if (messages.size() >= maxMessages) {
+                break;
+            }
+        }
+        return messages;
+    }
+
+    /**
+     * Deletes the oldest segments that exceed the size or age limits.
+     *
+     * @return The number of segments deleted
+     */
+    public synchronized int enforceRetention() {
+        long now = System.currentTimeMillis();
+        long totalBytes = getSizeBytes();
+        int deleted = 0;
+        for (LogSegment segment : segments.values()) {
+            if (segment == activeSegment) {
+                break;
+            }
+            boolean overSize = config.getRetentionBytes() > 0 && totalBytes > config.getRetentionBytes();
+            boolean overAge = config.getRetentionMillis() > 0
+                    && segment.getLastTimestampMillis() < now - config.getRetentionMillis();
+            if (!overSize && !overAge) {
+                break;
+            }
+            segments.remove(segment.getBaseOffset());
+            totalBytes -= segment.getSize();
+            try {
+                segment.delete();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to delete segment " + segment.getBaseOffset(), e);
+            }
+            deleted++;
+        }
+        return deleted;
+    }
+
+    /**
+     * Forces every segment's written messages to the storage device.
+     */
+    public void flush() {
+        for (LogSegment segment : segments.values()) {
+            segment.flush();
+        }
+    }
+
+    /**
+     * Gets the oldest offset still stored.
+     *
+     * @return The first offset in the log
+     */
+    public long getStartOffset() {
+        return segments.firstEntry().getValue().getBaseOffset();
+    }
+
+    /**
+     * Gets the offset the next appended message will receive.
+     *
+     * @return The end offset of the log
+     */
+    public long getEndOffset() {
+        return activeSegment.getNextOffset();
+    }
+
+    /**
+     * Gets the bytes of messages stored across all segments.
+     *
+     * @return The log size in bytes
+     */
+    public long getSizeBytes() {
+        long bytes = 0;
+        for (LogSegment segment : segments.values()) {
+            bytes += segment.getSize();
+        }
+        return bytes;
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    public String getTopicId() {
+        return topicId;
+    }
+
+    public int getPartition() {
+        return partition;
+    }
+
+    private static long toEpochMillis(LocalDateTime timestamp) {
+        return timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Starts a new active segment at the next offset and applies retention.
+     */
+    private void roll() {
+        long baseOffset = activeSegment.getNextOffset();
+        try {
+            LogSegment segment = LogSegment.create(directory, baseOffset, config.getSegmentBytes(),
+                    config.getIndexIntervalBytes());
+            segments.put(baseOffset, segment);
+            activeSegment = segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create segment " + baseOffset, e);
+        }
+        enforceRetention();
+    }
+}
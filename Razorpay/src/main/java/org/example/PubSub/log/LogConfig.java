@@ -0,0 +1,82 @@
+package org.example.PubSub.log;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Configuration of a topic's commit logs.
+ * Controls where segments are stored, how large they grow and how long they are kept.
+ * Every partition has its own commit log, and limits apply to each log separately:
+ * a topic with N partitions may keep up to N times retentionBytes on disk.
+ */
+public class LogConfig {
+    public static final int DEFAULT_SEGMENT_BYTES = 16 * 1024 * 1024;
+    public static final int DEFAULT_INDEX_INTERVAL_BYTES = 4096;
+    public static final long DEFAULT_RETENTION_BYTES = 256L * 1024 * 1024;
+    public static final long DEFAULT_RETENTION_MILLIS = 7L * 24 * 60 * 60 * 1000;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final int indexIntervalBytes;
+    private final long retentionBytes;
+    private final long retentionMillis;
+
+    /**
+     * Constructor to create a log configuration.
+     *
+     * @param directory Directory under which each topic gets a sub-directory, with one directory of segments per partition
+     * @param segmentBytes Size of each segment file; also the largest message that can be stored
+     * @param indexIntervalBytes Bytes of messages between two entries of a segment's sparse index
+     * @param retentionBytes Size of a partition's log above which its oldest segments are deleted; -1 for no limit
+     * @param retentionMillis Age after which a segment whose newest message is older is deleted; -1 for no limit
+     */
+    public LogConfig(Path directory, int segmentBytes, int indexIntervalBytes,
+                     long retentionBytes, long retentionMillis) {
+        if (directory == null) {
+            throw new IllegalArgumentException("Log directory cannot be null");
+        }
+        if (segmentBytes <= LogSegment.HEADER_BYTES) {
+            throw new IllegalArgumentException("Segment size must be larger than " + LogSegment.HEADER_BYTES + " bytes");
+        }
+        if (indexIntervalBytes <= 0) {
+            throw new IllegalArgumentException("Index interval must be positive");
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.indexIntervalBytes = indexIntervalBytes;
+        this.retentionBytes = retentionBytes > 0 ? retentionBytes : -1;
+        this.retentionMillis = retentionMillis > 0 ? retentionMillis : -1;
+    }
+
+    /**
+     * Creates the default configuration: 16 MB segments under the system temp directory,
+     * kept up to 256 MB per partition or 7 days.
+     *
+     * @return The default log configuration
+     */
+    public static LogConfig defaults() {
+        return new LogConfig(Paths.get(System.getProperty("java.io.tmpdir"), "pubsub-logs"),
+                DEFAULT_SEGMENT_BYTES, DEFAULT_INDEX_INTERVAL_BYTES, DEFAULT_RETENTION_BYTES, DEFAULT_RETENTION_MILLIS);
+    }
+
+    // Getters
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public int getSegmentBytes() {
+        return segmentBytes;
+    }
+
+    public int getIndexIntervalBytes() {
+        return indexIntervalBytes;
+    }
+
+    public long getRetentionBytes() {
+        return retentionBytes;
+    }
+
+    public long getRetentionMillis() {
+        return retentionMillis;
+    }
+}
@@ -0,0 +1,270 @@
+package org.example.PubSub.log;
+
+import org.example.PubSub.model.Message;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * One fixed-size, memory-mapped file of a commit log.
+ * Holds consecutive messages starting at baseOffset; the file is named after that offset.
+ *
+ * Record layout (big-endian):
+ *   [int recordBytes][long offset][long timestampMillis][int idLength][int keyLength][int payloadLength]
+ *   [messageId UTF-8][key UTF-8][payload UTF-8]
+ * A keyLength or payloadLength of -1 stores a null key or payload. The file is preallocated, so a
+ * recordBytes of 0 marks the end of the written data.
+ *
+ * A sparse in-memory index maps every indexIntervalBytes of records to
+ * (offset - baseOffset, file position), so a read binary-searches the index and
+ * then scans at most one interval.
+ *
+ * One thread appends (under the CommitLog's lock) while any number read: the
+ * writer fills the mapped bytes and index first, then publishes the new end
+ * through the volatile size field, which readers never read past.
+ */
+final class LogSegment {
+    static final int HEADER_BYTES = 32;
+    private static final String SUFFIX = ".log";
+
+    private final long baseOffset;
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final int indexIntervalBytes;
+    private final int[] indexOffsets;
+    private final int[] indexPositions;
+    private int indexSize;
+    private int bytesSinceLastIndex;
+    private volatile int size;
+    private volatile long nextOffset;
+    private volatile long lastTimestampMillis;
+
+    private LogSegment(Path file, long baseOffset, int capacity, int indexIntervalBytes) throws IOException {
+        this.baseOffset = baseOffset;
+        this.file = file;
+        this.capacity = capacity;
+        this.indexIntervalBytes = indexIntervalBytes;
+        // Entries are at least indexIntervalBytes apart, which bounds the index size
+        this.indexOffsets = new int[capacity / indexIntervalBytes + 1];
+        this.indexPositions = new int[indexOffsets.length];
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // The mapping stays valid after the channel is closed
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        }
+        this.nextOffset = baseOffset;
+        this.lastTimestampMillis = -1;
+    }
+
+    /**
+     * Creates an empty segment file.
+     */
+    static LogSegment create(Path directory, long baseOffset, int capacity, int indexIntervalBytes) throws IOException {
+        return new LogSegment(directory.resolve(fileName(baseOffset)), baseOffset, capacity, indexIntervalBytes);
+    }
+
+    /**
+     * Opens an existing segment file, scanning it to rebuild the index and find its end.
+     */
+    static LogSegment open(Path file, int capacity, int indexIntervalBytes) throws IOException {
+        String name = file.getFileName().toString();
+        long baseOffset = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+        int fileCapacity = (int) Math.max(capacity, Files.size(file));
+        LogSegment segment = new LogSegment(file, baseOffset, fileCapacity, indexIntervalBytes);
+        segment.recover();
+        return segment;
+    }
+
+    static boolean isSegmentFile(Path file) {
+        return file.getFileName().toString().endsWith(SUFFIX);
+    }
+
+    static int recordBytes(byte[] id, byte[] key, byte[] payload) {
+        return HEADER_BYTES + id.length + (key == null ? 0 : key.length) + (payload == null ? 0 : payload.length);
+    }
+
+    /**
+     * Checks whether a record of recordBytes still fits in this segment.
+     */
+    boolean hasRoomFor(int recordBytes) {
+        return size + recordBytes <= capacity;
+    }
+
+    /**
+     * Appends a record; the caller must have checked hasRoomFor.
+     *
+     * @return The offset assigned to the record
+     */
+    long append(byte[] id, byte[] key, byte[] payload, long timestampMillis) {
+        long offset = nextOffset;
+        int position = size;
+        int recordBytes = recordBytes(id, key, payload);
+        int keyLength = key == null ? 0 : key.length;
+        buffer.putLong(position + 4, offset);
+        buffer.putLong(position + 12, timestampMillis);
+        buffer.putInt(position + 20, id.length);
+        buffer.putInt(position + 24, key == null ? -1 : key.length);
+        buffer.putInt(position + 28, payload == null ? -1 : payload.length);
+        buffer.put(position + HEADER_BYTES, id);
+        if (key != null) {
+            buffer.put(position + HEADER_BYTES + id.length, key);
+        }
+        if (payload != null) {
+            buffer.put(position + HEADER_BYTES + id.length + keyLength, payload);
+        }
+        // Length last: a torn write leaves a zero length, which recovery treats as the end
+        buffer.putInt(position, recordBytes);
+
+        maybeIndex(offset, position, recordBytes);
+        lastTimestampMillis = Math.max(lastTimestampMillis, timestampMillis);
+        nextOffset = offset + 1;
+        size = position + recordBytes;
+        return offset;
+    }
+
+    /**
+     * Reads up to maxMessages messages starting at fromOffset.
+     *
+     * @return The number of messages added to out
+     */
+    int read(long fromOffset, int maxMessages, String topicId, int partition, List<Message> out) {
+        int end = size;
+        int position = indexedPositionFor(fromOffset);
+        int added = 0;
+        while (position < end && added < maxMessages) {
+            int recordBytes = buffer.getInt(position);
+            long offset = buffer.getLong(position + 4);
+            if (offset >= fromOffset) {
+                out.add(decode(position, offset, topicId, partition));
+                added++;
+            }
+            position += recordBytes;
+        }
+        return added;
+    }
+
+    /**
+     * Flushes written records to the storage device.
+     */
+    void flush() {
+        buffer.force();
+    }
+
+    /**
+     * Deletes the segment file.
+     * Readers still holding this segment keep reading the mapping until they drop it.
+     */
+    void delete() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    long getBaseOffset() {
+        return baseOffset;
+    }
+
+    long getNextOffset() {
+        return nextOffset;
+    }
+
+    int getSize() {
+        return size;
+    }
+
+    long getLastTimestampMillis() {
+        return lastTimestampMillis;
+    }
+
+    boolean isEmpty() {
+        return nextOffset == baseOffset;
+    }
+
+    private void recover() {
+        int position = 0;
+        while (position + HEADER_BYTES <= capacity) {
+            int recordBytes = buffer.getInt(position);
+            if (recordBytes < HEADER_BYTES || position + recordBytes > capacity) {
+                break;
+            }
+            long offset = buffer.getLong(position + 4);
+            maybeIndex(offset, position, recordBytes);
+            lastTimestampMillis = Math.max(lastTimestampMillis, buffer.getLong(position + 12));
+            nextOffset = offset + 1;
+            position += recordBytes;
+        }
+        size = position;
+    }
+
+    /**
+     * Adds an index entry for the first record of each indexIntervalBytes.
+     */
+    private void maybeIndex(long offset, int position, int recordBytes) {
+        if ((indexSize == 0 || bytesSinceLastIndex >= indexIntervalBytes) && indexSize < indexOffsets.length) {
+            indexOffsets[indexSize] = (int) (offset - baseOffset);
+            indexPositions[indexSize] = position;
+            indexSize++;
+            bytesSinceLastIndex = 0;
+        }
+        bytesSinceLastIndex += recordBytes;
+    }
+
+    /**
+     * Finds the position of the last indexed record at or before offset.
+     */
+    private int indexedPositionFor(long offset) {
+        // Read after size (volatile) so every entry for the published records is visible
+        int entries = indexSize;
+        long relative = offset - baseOffset;
+        int low = 0;
+        int high = entries - 1;
+        int position = 0;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (indexOffsets[mid] <= relative) {
+                position = indexPositions[mid];
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return position;
+    }
+
+    private Message decode(int position, long offset, String topicId, int partition) {
+        long timestampMillis = buffer.getLong(position + 12);
+        int idLength = buffer.getInt(position + 20);
+        int keyLength = buffer.getInt(position + 24);
+        int payloadLength = buffer.getInt(position + 28);
+        int keyPosition = position + HEADER_BYTES + idLength;
+        String id = decodeString(position + HEADER_BYTES, idLength);
+        String key = decodeString(keyPosition, keyLength);
+        String payload = decodeString(keyPosition + Math.max(keyLength, 0), payloadLength);
+        LocalDateTime timestamp = LocalDateTime.ofInstant(Instant.ofEpochMilli(timestampMillis), ZoneId.systemDefault());
+        return new Message(id, topicId, key, payload, timestamp, partition, offset);
+    }
+
+    /**
+     * Decodes length UTF-8 bytes at position; a length of -1 decodes to null.
+     */
+    private String decodeString(int position, int length) {
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(position, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String fileName(long baseOffset) {
+        return String.format("%020d%s", baseOffset, SUFFIX);
+    }
+}
@@ -0,0 +1,144 @@
+package org.example.PubSub.log;
+
+import org.example.PubSub.model.TopicPartition;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Committed consumer offsets, per consumer group and topic partition.
+ * A committed offset is the next offset the group should read from that partition.
+ * Group and topic IDs are derived from their names, so a restarted service finds
+ * the offsets its groups committed in earlier runs.
+ *
+ * The offsets are kept in memory and snapshotted to one compact binary file
+ * ({directory}/consumer-offsets) on every commit:
+ *   [int groupCount] then per group:
+ *   [UTF groupId][int entryCount] then per entry: [UTF topicId][int partition][long offset]
+ * The snapshot is written to a temporary file, forced to disk and atomically
+ * moved over the previous one, so a crash leaves either the old or the new snapshot.
+ */
+public class OffsetStore {
+    private static final String FILE_NAME = "consumer-offsets";
+
+    private final Path file;
+    private final Map<String, Map<TopicPartition, Long>> committed; // Map of groupId -> (partition -> offset)
+
+    /**
+     * Constructor to open (or create) the offset store under a log directory.
+     * Offsets committed by earlier runs are loaded.
+     *
+     * @param config The log configuration whose directory holds the offsets file
+     */
+    public OffsetStore(LogConfig config) {
+        this.file = config.getDirectory().resolve(FILE_NAME);
+        this.committed = new ConcurrentHashMap<>();
+        try {
+            Files.createDirectories(config.getDirectory());
+            if (Files.exists(file)) {
+                load();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load committed offsets from " + file, e);
+        }
+    }
+
+    /**
+     * Commits offsets for a group and persists them before returning.
+     *
+     * @param groupId The ID of the consumer group
+     * @param offsets The next offset to read, per topic partition
+     */
+    public synchronized void commit(String groupId, Map<TopicPartition, Long> offsets) {
+        if (offsets.isEmpty()) {
+            return;
+        }
+        committed.computeIfAbsent(groupId, k -> new ConcurrentHashMap<>()).putAll(offsets);
+        try {
+            persist();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to persist committed offsets to " + file, e);
+        }
+    }
+
+    /**
+     * Gets a group's committed offset for a partition.
+     *
+     * @param groupId The ID of the consumer group
+     * @param topicPartition The topic partition
+     * @return The committed offset, or -1 if the group never committed one
+     */
+    public long getCommittedOffset(String groupId, TopicPartition topicPartition) {
+        Map<TopicPartition, Long> offsets = committed.get(groupId);
+        Long offset = offsets == null ? null : offsets.get(topicPartition);
+        return offset == null ? -1 : offset;
+    }
+
+    /**
+     * Gets all committed offsets of a group.
+     *
+     * @param groupId The ID of the consumer group
+     * @return Unmodifiable map of topic partition to committed offset
+     */
+    public Map<TopicPartition, Long> getCommittedOffsets(String groupId) {
+        Map<TopicPartition, Long> offsets = committed.get(groupId);
+        return offsets == null ? Collections.emptyMap() : Collections.unmodifiableMap(new HashMap<>(offsets));
+    }
+
+    private void load() throws IOException {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            int groupCount = in.readInt();
+            for (int g = 0; g < groupCount; g++) {
+                String groupId = in.readUTF();
+                int entryCount = in.readInt();
+                Map<TopicPartition, Long> offsets = new ConcurrentHashMap<>();
+                for (int e = 0; e < entryCount; e++) {
+                    String topicId = in.readUTF();
+                    int partition = in.readInt();
+                    offsets.put(new TopicPartition(topicId, partition), in.readLong());
+                }
+                committed.put(groupId, offsets);
+            }
+        }
+    }
+
+    private void persist() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(committed.size());
+            for (Map.Entry<String, Map<TopicPartition, Long>> group : committed.entrySet()) {
+                out.writeUTF(group.getKey());
+                out.writeInt(group.getValue().size());
+                for (Map.Entry<TopicPartition, Long> entry : group.getValue().entrySet()) {
+                    out.writeUTF(entry.getKey().getTopicId());
+                    out.writeInt(entry.getKey().getPartition());
+                    out.writeLong(entry.getValue());
+                }
+            }
+        }
+
+        Path temp = file.resolveSibling(FILE_NAME + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -3,6 +3,7 @@ package org.example.PubSub.model;
 import lombok.Getter;
 
 import java.time.LocalDateTime;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -10,6 +11,19 @@ import java.util.concurrent.ConcurrentHashMap;
  * Represents a consumer group in the pub-sub system.
  * Consumer groups allow multiple consumers to share the workload,
  * where each message is processed by only one consumer in the group.
+ *
+ * Partition assignment:
+ * - Active consumers, sorted by ID, own topic partitions round-robin:
+ *   partition p belongs to consumer p % consumerCount
+ * - Each partition therefore has exactly one consumer, and different partitions
+ *   are consumed in parallel
+ * - Partitions are rebalanced when a consumer joins or leaves; a consumer found
+ *   inactive while routing triggers a rebalance as well
+ * - A moved partition reaches its new consumer only once the previous one has
+ *   finished the deliveries queued to it (see PartitionHandoff)
+ *
+ * The group ID is derived from the group name, like a topic's, so a group created
+ * again under the same name (e.g. after a restart) resumes from its committed offsets.
  */
 public class ConsumerGroup {
     // Getters
@@ -21,6 +35,8 @@ public class ConsumerGroup {
     private final LocalDateTime createdAt;
     private final Map<String, Consumer> consumers; // Map of consumerId -> Consumer
     private int currentConsumerIndex; // For round-robin distribution
+    private volatile Consumer[] assignment; // Active consumers sorted by ID; index = partition % length
+    private volatile int generation; // Incremented on every rebalance
 
     /**
      * Constructor to create a new consumer group.
@@ -28,11 +44,22 @@ public class ConsumerGroup {
      * @param groupName The name of the consumer group
      */
     public ConsumerGroup(String groupName) {
-        this.groupId = UUID.randomUUID().toString();
+        this.groupId = idFor(groupName);
         this.groupName = groupName;
         this.createdAt = LocalDateTime.now();
         this.consumers = new ConcurrentHashMap<>();
         this.currentConsumerIndex = 0;
+        this.assignment = new Consumer[0];
+    }
+
+    /**
+     * Derives the stable ID of a consumer group from its name.
+     *
+     * @param groupName The name of the consumer group
+     * @return The group ID, the same in every run
+     */
+    public static String idFor(String groupName) {
+        return UUID.nameUUIDFromBytes(("group:" + groupName).getBytes(StandardCharsets.UTF_8)).toString();
     }
 
     /**
@@ -43,6 +70,7 @@ public class ConsumerGroup {
     public void addConsumer(Consumer consumer) {
         if (consumer != null && consumer.isActive()) {
             consumers.put(consumer.getConsumerId(), consumer);
+            rebalance();
         }
     }
 
@@ -52,7 +80,70 @@ public class ConsumerGroup {
      * @param consumerId The ID of the consumer to remove
      */
     public void removeConsumer(String consumerId) {
-        consumers.remove(consumerId);
+        if (consumers.remove(consumerId) != null) {
+            rebalance();
+        }
+    }
+
+    /**
+     * Recomputes the partition assignment from the currently active consumers.
+     * The assignment is replaced copy-on-write, so routing reads it without locking or allocating.
+     * Called automatically on membership changes; call it after reactivating a consumer.
+     */
+    public synchronized void rebalance() {
+        List<Consumer> activeConsumers = getActiveConsumers();
+        activeConsumers.sort(Comparator.comparing(Consumer::getConsumerId));
+        assignment = activeConsumers.toArray(new Consumer[0]);
+        generation++;
+    }
+
+    /**
+     * Gets the assignment generation, which changes whenever partitions are rebalanced.
+     * Pollers use it to rewind to committed offsets after partitions move.
+     *
+     * @return The current generation
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Gets the consumer that owns a partition.
+     *
+     * @param partition The partition number
+     * @return The owning consumer, or null if no active consumers exist
+     */
+    public Consumer getConsumerForPartition(int partition) {
+        Consumer[] owners = assignment;
+        if (owners.length == 0) {
+            return null;
+        }
+        Consumer owner = owners[partition % owners.length];
+        if (owner.isActive()) {
+            return owner;
+        }
+        // Owner was deactivated since the last rebalance
+        rebalance();
+        owners = assignment;
+        return owners.length == 0 ? null : owners[partition % owners.length];
+    }
+
+    /**
+     * Gets the partitions of a topic assigned to a consumer.
+     *
+     * @param consumerId The ID of the consumer
+     * @param partitionCount The number of partitions of the topic
+     * @return The assigned partition numbers in ascending order
+     */
+    public List<Integer> getAssignedPartitions(String consumerId, int partitionCount) {
+        Consumer[] owners = assignment;
+        List<Integer> assigned = new ArrayList<>();
+        for (int partition = 0; partition < partitionCount && owners.length > 0; partition++) {
+            if (owners[partition % owners.length].getConsumerId().equals(consumerId)) {
+                assigned.add(partition);
+            }
+        }
+        return assigned;
     }
 
     /**
@@ -5,6 +5,7 @@ import lombok.Setter;
 import org.example.PubSub.enums.MessageStatus;
 import java.time.LocalDateTime;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Represents a message in the pub-sub system.
@@ -15,13 +16,19 @@ public class Message {
     // Getters
     private final String messageId;
     private final String topicId;
+    private final String key; // Routing key choosing the topic partition, null to spread messages evenly
     private final String payload;
     private final LocalDateTime timestamp;
     // Setters
+    // Volatile: set by consumer threads after asynchronous delivery, read by publishers
     @Setter
-    private MessageStatus status;
+    private volatile MessageStatus status;
     @Setter
-    private String processedBy; // Consumer ID or ConsumerGroup ID that processed this message
+    private volatile String processedBy; // Consumer ID or ConsumerGroup ID that processed this message
+    @Setter
+    private int partition; // Topic partition the message was appended to, -1 until appended
+    @Setter
+    private long offset; // Position in the partition's commit log, -1 until appended
 
     /**
      * Constructor to create a new message.
@@ -30,12 +37,76 @@ public class Message {
      * @param payload The actual data/content of the message (must be a String)
      */
     public Message(String topicId, String payload) {
-        this.messageId = UUID.randomUUID().toString();
+        this(topicId, null, payload);
+    }
+
+    /**
+     * Constructor to create a new message with a routing key.
+     * Messages with the same key go to the same partition, and are therefore delivered in order.
+     *
+     * @param topicId The ID of the topic this message belongs to
+     * @param key The routing key, or null to spread messages evenly across partitions
+     * @param payload The actual data/content of the message (must be a String)
+     */
+    public Message(String topicId, String key, String payload) {
+        this(topicId, key, payload, LocalDateTime.now());
+    }
+
+    /**
+     * Constructor to create a new message with a given publish time.
+     * Lets a batch of messages share one timestamp.
+     *
+     * @param topicId The ID of the topic this message belongs to
+     * @param key The routing key, or null to spread messages evenly across partitions
+     * @param payload The actual data/content of the message (must be a String)
+     * @param timestamp The time the message was published
+     */
+    public Message(String topicId, String key, String payload, LocalDateTime timestamp) {
+        this.messageId = newMessageId();
         this.topicId = topicId;
+        this.key = key;
         this.payload = payload;
-        this.timestamp = LocalDateTime.now();
+        this.timestamp = timestamp;
         this.status = MessageStatus.PENDING;
         this.processedBy = null;
+        this.partition = -1;
+        this.offset = -1;
+    }
+
+    /**
+     * Constructor to rebuild a message read back from a topic's commit log.
+     *
+     * @param messageId The ID the message was published with
+     * @param topicId The ID of the topic this message belongs to
+     * @param key The routing key the message was published with, or null
+     * @param payload The actual data/content of the message
+     * @param timestamp The time the message was published
+     * @param partition The topic partition holding the message
+     * @param offset The message's position in the partition's commit log
+     */
+    public Message(String messageId, String topicId, String key, String payload, LocalDateTime timestamp,
+                   int partition, long offset) {
+        this.messageId = messageId;
+        this.topicId = topicId;
+        this.key = key;
+        this.payload = payload;
+        this.timestamp = timestamp;
+        this.status = MessageStatus.PENDING;
+        this.processedBy = null;
+        this.partition = partition;
+        this.offset = offset;
+    }
+
+    /**
+     * Generates a random (version 4) UUID string from ThreadLocalRandom.
+     * Message IDs only need to be unique, not unguessable, so this avoids
+     * UUID.randomUUID()'s shared SecureRandom on the publish path.
+     */
+    private static String newMessageId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSigBits = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long leastSigBits = (random.nextLong() & ~(0xC000L << 48)) | (0x8000L << 48);
+        return new UUID(mostSigBits, leastSigBits).toString();
     }
 
     @Override
@@ -43,6 +114,9 @@ public class Message {
         return "Message{" +
                 "messageId='" + messageId + '\'' +
                 ", topicId='" + topicId + '\'' +
+                ", key='" + key + '\'' +
+                ", partition=" + partition +
+                ", offset=" + offset +
                 ", payload=" + payload +
                 ", timestamp=" + timestamp +
                 ", status=" + status +
@@ -0,0 +1,58 @@
+package org.example.PubSub.model;
+
+import org.example.PubSub.delivery.PartitionHandoff;
+
+import java.util.List;
+
+/**
+ * Immutable fan-out targets of a topic: its active consumer group subscriptions
+ * with the groups they deliver to and their partition hand-offs, as parallel arrays.
+ * A new snapshot is built whenever the topic's subscriptions change and swapped
+ * into the topic copy-on-write, so publishing reads one volatile reference and
+ * loops over arrays without allocating.
+ */
+public final class RoutingSnapshot {
+    public static final RoutingSnapshot EMPTY = new RoutingSnapshot(List.of(), List.of(), List.of());
+
+    private final Subscription[] subscriptions;
+    private final ConsumerGroup[] groups;
+    private final PartitionHandoff[] handoffs;
+
+    /**
+     * Constructor to create a routing snapshot.
+     *
+     * @param subscriptions The topic's active group subscriptions
+     * @param groups The consumer group of each subscription, at the same index
+     * @param handoffs The partition hand-off of each subscription, at the same index
+     */
+    public RoutingSnapshot(List<Subscription> subscriptions, List<ConsumerGroup> groups,
+                           List<PartitionHandoff> handoffs) {
+        if (subscriptions.size() != groups.size() || subscriptions.size() != handoffs.size()) {
+            throw new IllegalArgumentException("Each subscription needs exactly one consumer group and hand-off");
+        }
+        this.subscriptions = subscriptions.toArray(new Subscription[0]);
+        this.groups = groups.toArray(new ConsumerGroup[0]);
+        this.handoffs = handoffs.toArray(new PartitionHandoff[0]);
+    }
+
+    /**
+     * Gets the number of routes.
+     *
+     * @return The number of subscriptions messages fan out to
+     */
+    public int size() {
+        return subscriptions.length;
+    }
+
+    public Subscription getSubscription(int index) {
+        return subscriptions[index];
+    }
+
+    public ConsumerGroup getGroup(int index) {
+        return groups[index];
+    }
+
+    public PartitionHandoff getHandoff(int index) {
+        return handoffs[index];
+    }
+}
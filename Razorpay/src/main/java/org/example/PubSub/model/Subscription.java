@@ -1,6 +1,7 @@
 package org.example.PubSub.model;
 
 import lombok.Getter;
+import org.example.PubSub.delivery.RetryPolicy;
 import org.example.PubSub.enums.SubscriptionType;
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -21,6 +22,8 @@ public class Subscription {
     private final SubscriptionType subscriptionType;
     @Getter
     private final LocalDateTime createdAt;
+    @Getter
+    private final RetryPolicy retryPolicy; // How failed deliveries to the subscriber are retried
     private boolean isActive;
 
     /**
@@ -31,11 +34,25 @@ public class Subscription {
      * @param subscriptionType The type of subscription (INDIVIDUAL or GROUP)
      */
     public Subscription(String topicId, String subscriberId, SubscriptionType subscriptionType) {
+        this(topicId, subscriberId, subscriptionType, RetryPolicy.defaults());
+    }
+
+    /**
+     * Constructor to create a new subscription with a retry policy.
+     *
+     * @param topicId The ID of the topic being subscribed to
+     * @param subscriberId The ID of the consumer or consumer group
+     * @param subscriptionType The type of subscription (INDIVIDUAL or GROUP)
+     * @param retryPolicy How failed deliveries to the subscriber are retried
+     */
+    public Subscription(String topicId, String subscriberId, SubscriptionType subscriptionType,
+                        RetryPolicy retryPolicy) {
         this.subscriptionId = UUID.randomUUID().toString();
         this.topicId = topicId;
         this.subscriberId = subscriberId;
         this.subscriptionType = subscriptionType;
         this.createdAt = LocalDateTime.now();
+        this.retryPolicy = retryPolicy;
         this.isActive = true;
     }
 
@@ -56,6 +73,7 @@ public class Subscription {
                 ", subscriberId='" + subscriberId + '\'' +
                 ", subscriptionType=" + subscriptionType +
                 ", createdAt=" + createdAt +
+                ", maxAttempts=" + retryPolicy.getMaxAttempts() +
                 ", isActive=" + isActive +
                 '}';
     }
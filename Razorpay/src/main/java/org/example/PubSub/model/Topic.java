@@ -1,30 +1,87 @@
 package org.example.PubSub.model;
 
+import org.example.PubSub.log.CommitLog;
+import org.example.PubSub.log.LogConfig;
+
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Represents a topic in the pub-sub system.
  * Topics are channels where messages are published and from which consumers subscribe.
+ * A topic is split into partitions, each an append-only commit log of memory-mapped
+ * segment files, so a topic's heap footprint does not grow with the number of messages.
+ *
+ * Partitioning:
+ * - A message with a key goes to the partition chosen by the key's hash, so all
+ *   messages with the same key are stored (and delivered) in publish order
+ * - Messages without a key are spread round-robin across partitions
+ * - Offsets are per partition
+ *
+ * The topic ID is derived from the topic name, so a topic created again under the
+ * same name (e.g. after a restart) reopens its commit logs instead of starting empty.
+ * Recreate it with the same partition count, or keys map to different partitions.
  */
 public class Topic {
     private final String topicId;
     private final String topicName;
     private final LocalDateTime createdAt;
-    private final BlockingQueue<Message> messageQueue; // Queue to hold messages
+    private final CommitLog[] partitions; // Append-only log per partition, indexed by partition number
+    private final AtomicInteger nextUnkeyedPartition; // Round-robin cursor for messages without a key
+    private volatile RoutingSnapshot routing; // Fan-out targets, replaced whenever subscriptions change
 
     /**
-     * Constructor to create a new topic.
+     * Constructor to create a new single-partition topic with the default log configuration.
      *
      * @param topicName The name of the topic
      */
     public Topic(String topicName) {
-        this.topicId = UUID.randomUUID().toString();
+        this(topicName, LogConfig.defaults());
+    }
+
+    /**
+     * Constructor to create a new single-partition topic.
+     *
+     * @param topicName The name of the topic
+     * @param logConfig Where and how the topic's commit logs are stored
+     */
+    public Topic(String topicName, LogConfig logConfig) {
+        this(topicName, logConfig, 1);
+    }
+
+    /**
+     * Constructor to create a new partitioned topic.
+     *
+     * @param topicName The name of the topic
+     * @param logConfig Where and how the topic's commit logs are stored
+     * @param partitionCount The number of partitions; fixed for the topic's lifetime
+     */
+    public Topic(String topicName, LogConfig logConfig, int partitionCount) {
+        if (partitionCount < 1) {
+            throw new IllegalArgumentException("Partition count must be at least 1: " + partitionCount);
+        }
+        this.topicId = idFor(topicName);
         this.topicName = topicName;
         this.createdAt = LocalDateTime.now();
-        this.messageQueue = new LinkedBlockingQueue<>();
+        this.partitions = new CommitLog[partitionCount];
+        for (int partition = 0; partition < partitionCount; partition++) {
+            partitions[partition] = new CommitLog(topicId, partition, logConfig);
+        }
+        this.nextUnkeyedPartition = new AtomicInteger();
+        this.routing = RoutingSnapshot.EMPTY;
+    }
+
+    /**
+     * Derives the stable ID of a topic from its name.
+     *
+     * @param topicName The name of the topic
+     * @return The topic ID, the same in every run
+     */
+    public static String idFor(String topicName) {
+        return UUID.nameUUIDFromBytes(("topic:" + topicName).getBytes(StandardCharsets.UTF_8)).toString();
     }
 
     // Getters
@@ -40,36 +97,103 @@ public class Topic {
         return createdAt;
     }
 
-    public BlockingQueue<Message> getMessageQueue() {
-        return messageQueue;
+    public RoutingSnapshot getRouting() {
+        return routing;
+    }
+
+    /**
+     * Replaces the topic's fan-out targets; publishes in flight keep using the previous snapshot.
+     *
+     * @param routing The new routing snapshot
+     */
+    public void setRouting(RoutingSnapshot routing) {
+        this.routing = routing;
+    }
+
+    public int getPartitionCount() {
+        return partitions.length;
+    }
+
+    /**
+     * Gets the commit log of a partition.
+     *
+     * @param partition The partition number
+     * @return The partition's commit log
+     */
+    public CommitLog getLog(int partition) {
+        return partitions[partition];
+    }
+
+    /**
+     * Chooses the partition for a message key.
+     *
+     * @param key The routing key, or null to take the next partition round-robin
+     * @return The partition number
+     */
+    public int partitionFor(String key) {
+        if (key == null) {
+            return Math.floorMod(nextUnkeyedPartition.getAndIncrement(), partitions.length);
+        }
+        return Math.floorMod(key.hashCode(), partitions.length);
     }
 
     /**
-     * Adds a message to the topic's message queue.
+     * Appends a message to the partition chosen by its key and sets its partition and offset.
      *
      * @param message The message to add
      * @return true if message was added successfully
      */
     public boolean addMessage(Message message) {
-        return messageQueue.offer(message);
+        return addMessage(message, partitionFor(message.getKey()));
+    }
+
+    /**
+     * Appends a message to a given partition and sets its partition and offset.
+     *
+     * @param message The message to add
+     * @param partition The partition number, usually from partitionFor(message.getKey())
+     * @return true if message was added successfully
+     */
+    public boolean addMessage(Message message, int partition) {
+        partitions[partition].append(message);
+        return true;
+    }
+
+    /**
+     * Appends messages in order to one partition under a single lock, setting their partition and offsets.
+     *
+     * @param messages The messages to add
+     * @param partition The partition number
+     * @return true if messages were added successfully
+     */
+    public boolean addMessages(List<Message> messages, int partition) {
+        partitions[partition].appendAll(messages);
+        return true;
     }
 
     /**
-     * Retrieves and removes a message from the topic's message queue.
+     * Reads messages from a partition's commit log without removing them.
      *
-     * @return The message, or null if queue is empty
+     * @param partition The partition number
+     * @param offset The offset of the first message to read
+     * @param maxMessages The maximum number of messages to return
+     * @return The messages read, in offset order
      */
-    public Message pollMessage() {
-        return messageQueue.poll();
+    public List<Message> readMessages(int partition, long offset, int maxMessages) {
+        return partitions[partition].read(offset, maxMessages);
     }
 
     /**
-     * Gets the number of messages currently in the queue.
+     * Gets the number of messages currently retained across all partitions.
      *
-     * @return The size of the message queue
+     * @return The number of retained messages
      */
-    public int getMessageCount() {
-        return messageQueue.size();
+    public long getMessageCount() {
+        long count = 0;
+        for (CommitLog log : partitions) {
+            count += log.getEndOffset() - log.getStartOffset();
+        }
+        return count;
     }
 
     @Override
@@ -78,7 +202,8 @@ public class Topic {
                 "topicId='" + topicId + '\'' +
                 ", topicName='" + topicName + '\'' +
                 ", createdAt=" + createdAt +
-                ", messageCount=" + messageQueue.size() +
+                ", partitionCount=" + partitions.length +
+                ", messageCount=" + getMessageCount() +
                 '}';
     }
 }
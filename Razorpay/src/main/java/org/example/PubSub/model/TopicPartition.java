@@ -0,0 +1,48 @@
+package org.example.PubSub.model;
+
+import lombok.Getter;
+
+import java.util.Objects;
+
+/**
+ * Identifies one partition of a topic.
+ * Used as the key for consumer positions and committed offsets.
+ */
+@Getter
+public final class TopicPartition {
+    private final String topicId;
+    private final int partition;
+
+    /**
+     * Constructor to create a topic partition reference.
+     *
+     * @param topicId The ID of the topic
+     * @param partition The partition number within the topic
+     */
+    public TopicPartition(String topicId, int partition) {
+        this.topicId = topicId;
+        this.partition = partition;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TopicPartition)) {
+            return false;
+        }
+        TopicPartition that = (TopicPartition) o;
+        return partition == that.partition && topicId.equals(that.topicId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(topicId, partition);
+    }
+
+    @Override
+    public String toString() {
+        return topicId + "-" + partition;
+    }
+}
@@ -0,0 +1,125 @@
+package org.example.PubSub.service;
+
+import org.example.PubSub.enums.MessageStatus;
+import org.example.PubSub.interfaces.IBatchMessageHandler;
+import org.example.PubSub.interfaces.IMessageHandler;
+import org.example.PubSub.model.Message;
+
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Push-style delivery built on pull consumption.
+ * Runs a loop on its own daemon thread that polls a consumer's partitions, hands
+ * the messages to a message handler, and commits once the handler returns.
+ *
+ * Delivery is at-least-once: if the process stops between handling and
+ * committing, a restarted PollingConsumer receives those messages again from
+ * the group's committed offset, once the group is recreated under the same name.
+ * A failed message is marked FAILED and still committed, so it does not block
+ * its partition.
+ *
+ * Unlike PubSubService.registerMessageHandler, which delivers at publish time,
+ * this consumer reads from the commit log, so it can replay and controls its own rate.
+ * Use one style per consumer group, or messages are handled twice.
+ */
+public class PollingConsumer {
+    private final PubSubService pubSubService;
+    private final String groupId;
+    private final String consumerId;
+    private final IMessageHandler handler;
+    private final int maxRecords;
+    private final long pollTimeoutMillis;
+    private final Thread thread;
+    private volatile boolean running;
+
+    /**
+     * Constructor to create a polling consumer; call start() to begin consuming.
+     *
+     * @param pubSubService The service to poll from and commit to
+     * @param groupId The ID of the consumer group
+     * @param consumerId The ID of the consumer; must be a member of the group
+     * @param handler The message handler; an IBatchMessageHandler receives each poll's messages in one call
+     * @param maxRecords The maximum number of messages per poll
+     * @param pollTimeoutMillis How long each poll waits for messages; also bounds how long close() waits
+     */
+    public PollingConsumer(PubSubService pubSubService, String groupId, String consumerId,
+                           IMessageHandler handler, int maxRecords, long pollTimeoutMillis) {
+        this.pubSubService = pubSubService;
+        this.groupId = groupId;
+        this.consumerId = consumerId;
+        this.handler = handler;
+        this.maxRecords = maxRecords;
+        this.pollTimeoutMillis = pollTimeoutMillis;
+        this.thread = new Thread(this::run, "pubsub-poller-" + consumerId);
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Starts the polling thread.
+     */
+    public void start() {
+        running = true;
+        thread.start();
+    }
+
+    /**
+     * Stops polling after the current poll and handler call, and waits for the thread to exit.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void close() throws InterruptedException {
+        running = false;
+        thread.join();
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                List<Message> messages = pubSubService.poll(groupId, consumerId, maxRecords, pollTimeoutMillis);
+                if (messages == null) {
+                    // Group was removed
+                    return;
+                }
+                if (messages.isEmpty()) {
+                    continue;
+                }
+
+                handle(messages);
+                pubSubService.commit(groupId, consumerId);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void handle(List<Message> messages) {
+        if (handler instanceof IBatchMessageHandler) {
+            boolean success = handleSafely(() -> ((IBatchMessageHandler) handler).handleBatch(messages));
+            for (Message message : messages) {
+                complete(message, success);
+            }
+            return;
+        }
+        for (Message message : messages) {
+            complete(message, handleSafely(() -> handler.handleMessage(message)));
+        }
+    }
+
+    private boolean handleSafely(BooleanSupplier call) {
+        try {
+            return call.getAsBoolean();
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private void complete(Message message, boolean success) {
+        if (success) {
+            message.setProcessedBy(groupId + ":" + consumerId);
+            message.setStatus(MessageStatus.PROCESSED);
+        } else {
+            message.setStatus(MessageStatus.FAILED);
+        }
+    }
+}
@@ -1,47 +1,119 @@
 package org.example.PubSub.service;
 
-import org.example.PubSub.enums.MessageStatus;
+import org.example.PubSub.delivery.DeliveryConfig;
+import org.example.PubSub.delivery.DeliveryEngine;
+import org.example.PubSub.delivery.DeliveryStats;
+import org.example.PubSub.delivery.PartitionHandoff;
+import org.example.PubSub.delivery.RetryPolicy;
 import org.example.PubSub.enums.SubscriptionType;
 import org.example.PubSub.interfaces.IMessageHandler;
 import org.example.PubSub.interfaces.IPublisher;
 import org.example.PubSub.interfaces.ISubscriber;
+import org.example.PubSub.log.LogConfig;
+import org.example.PubSub.log.OffsetStore;
 import org.example.PubSub.model.*;
 import org.example.PubSub.repository.*;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Main service class for the Pub-Sub system.
  * Implements both IPublisher and ISubscriber interfaces.
  * Handles message publishing, subscription management, and message distribution.
+ * Delivery is asynchronous: publish() returns once the message is appended to the
+ * topic's log and queued for each group's chosen consumer (see DeliveryEngine).
+ * Within a group, each topic partition is owned by one consumer, so messages of
+ * one partition are handled in order while partitions are handled in parallel.
+ * Order holds across rebalances: a partition moved to another consumer is held
+ * back until its previous owner has finished the deliveries already queued to it
+ * (see PartitionHandoff).
+ *
+ * Consumers can instead pull: poll() reads a consumer's assigned partitions from
+ * the group's position (initially its committed offset) and commit() persists
+ * offsets, so a restarted consumer resumes where its group left off.
+ * PollingConsumer adapts a message handler onto this pull model.
+ *
+ * Pushed messages that a handler fails are retried per the subscription's
+ * RetryPolicy; after the last attempt they are published to the auto-created
+ * dead-letter topic "<topic name>.DLQ".
  * Follows Single Responsibility Principle - manages pub-sub operations.
  */
 public class PubSubService implements IPublisher, ISubscriber {
+    public static final String DEAD_LETTER_SUFFIX = ".DLQ";
+
     private final TopicRepository topicRepository;
     private final ConsumerRepository consumerRepository;
     private final ConsumerGroupRepository consumerGroupRepository;
     private final SubscriptionRepository subscriptionRepository;
-    private final Map<String, IMessageHandler> messageHandlers; // Map of consumerId -> MessageHandler
+    private final DeliveryEngine deliveryEngine; // Per-consumer mailboxes holding the message handlers
+    private final Map<String, PartitionHandoff> partitionHandoffs; // Map of subscriptionId -> PartitionHandoff
+    private final LogConfig logConfig; // Commit log settings for topics created by this service
+    private final OffsetStore offsetStore; // Committed offsets per group and partition
+    private final Map<String, GroupPositions> groupPositions; // Map of groupId -> next offsets poll() reads
+    private final ReentrantLock pollLock; // Guards dataSequence and the long-poll condition
+    private final Condition dataAvailable; // Signalled on append while pollers are waiting
+    private final AtomicInteger pollWaiters; // Pollers between their empty fetch and the end of their wait
+    private volatile long dataSequence; // Bumped under pollLock whenever waiting pollers are signalled
 
     /**
-     * Constructor initializes repositories and message handlers map.
+     * Constructor initializes repositories and the delivery engine.
+     * Topics store their messages with the default log configuration.
      */
     public PubSubService() {
+        this(LogConfig.defaults());
+    }
+
+    /**
+     * Constructor initializes repositories and the delivery engine.
+     * Consumer mailboxes use the default delivery configuration.
+     *
+     * @param logConfig Where and how topics created by this service store their messages
+     */
+    public PubSubService(LogConfig logConfig) {
+        this(logConfig, DeliveryConfig.defaults());
+    }
+
+    /**
+     * Constructor initializes repositories and the delivery engine.
+     *
+     * @param logConfig Where and how topics created by this service store their messages
+     * @param deliveryConfig Mailbox capacity and backpressure policy for consumers
+     */
+    public PubSubService(LogConfig logConfig, DeliveryConfig deliveryConfig) {
+        this.logConfig = logConfig;
         this.topicRepository = TopicRepository.getInstance();
         this.consumerRepository = ConsumerRepository.getInstance();
         this.consumerGroupRepository = ConsumerGroupRepository.getInstance();
         this.subscriptionRepository = SubscriptionRepository.getInstance();
-        this.messageHandlers = new HashMap<>();
+        this.deliveryEngine = new DeliveryEngine(deliveryConfig, this::moveToDeadLetterTopic);
+        this.partitionHandoffs = new ConcurrentHashMap<>();
+        this.offsetStore = new OffsetStore(logConfig);
+        this.groupPositions = new ConcurrentHashMap<>();
+        this.pollLock = new ReentrantLock();
+        this.dataAvailable = pollLock.newCondition();
+        this.pollWaiters = new AtomicInteger();
     }
 
     // ========== IPublisher Implementation ==========
 
     @Override
     public Topic createTopic(String topicName) {
-        if (topicName == null || topicName.trim().isEmpty()) {
+        return createTopic(topicName, 1);
+    }
+
+    @Override
+    public Topic createTopic(String topicName, int partitionCount) {
+        if (topicName == null || topicName.trim().isEmpty() || partitionCount < 1) {
             return null;
         }
         
@@ -50,7 +122,7 @@ public class PubSubService implements IPublisher, ISubscriber {
             return null;
         }
         
-        Topic topic = new Topic(topicName);
+        Topic topic = new Topic(topicName, logConfig, partitionCount);
         if (topicRepository.addTopic(topic)) {
             return topic;
         }
@@ -59,40 +131,89 @@ public class PubSubService implements IPublisher, ISubscriber {
 
     @Override
     public Message publish(String topicId, String payload) {
+        return publish(topicId, null, payload);
+    }
+
+    @Override
+    public Message publish(String topicId, String key, String payload) {
         Optional<Topic> topicOpt = topicRepository.getTopicById(topicId);
         if (topicOpt.isEmpty()) {
             return null;
         }
         
         Topic topic = topicOpt.get();
-        Message message = new Message(topicId, payload);
-        
-        // Add message to topic's queue
-        topic.addMessage(message);
+        Message message = new Message(topicId, key, payload);
+        int partition = topic.partitionFor(key);
+        awaitDeliveryCapacity(topic, partition);
         
-        // Distribute message to all subscribers
-        distributeMessage(topic, message);
+        // Append and queue under the partition log's lock, so consumers receive
+        // each partition's messages in offset order even with concurrent publishers
+        synchronized (topic.getLog(partition)) {
+            topic.addMessage(message, partition);
+            
+            // Queue message for all subscribers; handlers run asynchronously
+            distributeMessage(topic, message);
+        }
+        signalPollers();
         
         return message;
     }
 
+    @Override
+    public List<Message> publishBatch(String topicId, List<String> payloads) {
+        Optional<Topic> topicOpt = topicRepository.getTopicById(topicId);
+        if (topicOpt.isEmpty() || payloads == null) {
+            return null;
+        }
+        
+        Topic topic = topicOpt.get();
+        LocalDateTime timestamp = LocalDateTime.now(); // One publish time for the whole batch
+        List<Message> messages = new ArrayList<>(payloads.size());
+        for (String payload : payloads) {
+            messages.add(new Message(topicId, null, payload, timestamp));
+        }
+        if (messages.isEmpty()) {
+            return messages;
+        }
+        
+        // Like an unkeyed message, the whole batch takes the next partition round-robin
+        int partition = topic.partitionFor(null);
+        awaitDeliveryCapacity(topic, partition);
+        synchronized (topic.getLog(partition)) {
+            topic.addMessages(messages, partition);
+            
+            // Walk the subscriptions once for the whole batch
+            distributeBatch(topic, partition, messages);
+        }
+        signalPollers();
+        
+        return messages;
+    }
+
     // ========== ISubscriber Implementation ==========
 
     @Override
     public Subscription subscribe(String topicId, String groupId) {
+        return subscribe(topicId, groupId, RetryPolicy.defaults());
+    }
+
+    @Override
+    public Subscription subscribe(String topicId, String groupId, RetryPolicy retryPolicy) {
         // Validate topic and consumer group exist
         if (!topicRepository.topicExists(topicId) || 
-            !consumerGroupRepository.consumerGroupExists(groupId)) {
+            !consumerGroupRepository.consumerGroupExists(groupId) || retryPolicy == null) {
             return null;
         }
         
         Subscription subscription = new Subscription(
             topicId, 
             groupId, 
-            SubscriptionType.GROUP
+            SubscriptionType.GROUP,
+            retryPolicy
         );
         
         if (subscriptionRepository.addSubscription(subscription)) {
+            rebuildRouting(topicId);
             return subscription;
         }
         return null;
@@ -100,7 +221,14 @@ public class PubSubService implements IPublisher, ISubscriber {
 
     @Override
     public boolean unsubscribe(String subscriptionId) {
-        return subscriptionRepository.deactivateSubscription(subscriptionId);
+        Optional<Subscription> subscriptionOpt = subscriptionRepository.getSubscriptionById(subscriptionId);
+        if (!subscriptionRepository.deactivateSubscription(subscriptionId)) {
+            return false;
+        }
+        
+        partitionHandoffs.remove(subscriptionId);
+        subscriptionOpt.ifPresent(subscription -> rebuildRouting(subscription.getTopicId()));
+        return true;
     }
 
     // ========== Consumer and ConsumerGroup Management ==========
@@ -126,14 +254,19 @@ public class PubSubService implements IPublisher, ISubscriber {
     /**
      * Creates a new consumer group.
      *
-     * @param groupName The name of the consumer group
-     * @return The created consumer group, or null if creation failed
+     * @param groupName The name of the consumer group; must be unique, as it identifies the group's committed offsets
+     * @return The created consumer group, or null if creation failed or the name is taken
      */
     public ConsumerGroup createConsumerGroup(String groupName) {
         if (groupName == null || groupName.trim().isEmpty()) {
             return null;
         }
         
+        // Check if consumer group already exists
+        if (consumerGroupRepository.consumerGroupExists(ConsumerGroup.idFor(groupName))) {
+            return null;
+        }
+        
         ConsumerGroup consumerGroup = new ConsumerGroup(groupName);
         if (consumerGroupRepository.addConsumerGroup(consumerGroup)) {
             return consumerGroup;
@@ -162,74 +295,398 @@ public class PubSubService implements IPublisher, ISubscriber {
         return true;
     }
 
+    /**
+     * Removes a consumer from a consumer group; its partitions are rebalanced to the remaining consumers.
+     *
+     * @param groupId The ID of the consumer group
+     * @param consumerId The ID of the consumer to remove
+     * @return true if the group exists
+     */
+    public boolean removeConsumerFromGroup(String groupId, String consumerId) {
+        Optional<ConsumerGroup> groupOpt = consumerGroupRepository.getConsumerGroupById(groupId);
+        if (groupOpt.isEmpty()) {
+            return false;
+        }
+        
+        groupOpt.get().removeConsumer(consumerId);
+        return true;
+    }
+
     /**
      * Registers a message handler for a consumer.
+     * An IBatchMessageHandler receives the consumer's queued messages in batches.
      *
      * @param consumerId The ID of the consumer
      * @param handler The message handler implementation
      */
     public void registerMessageHandler(String consumerId, IMessageHandler handler) {
         if (consumerId != null && handler != null) {
-            messageHandlers.put(consumerId, handler);
+            deliveryEngine.register(consumerId, handler);
+        }
+    }
+
+    /**
+     * Waits until every published message has been handled, dropped or rejected.
+     *
+     * @param timeoutMillis The longest time to wait
+     * @return true if all deliveries completed, false if the timeout elapsed first
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean awaitDelivery(long timeoutMillis) throws InterruptedException {
+        return deliveryEngine.awaitIdle(timeoutMillis);
+    }
+
+    /**
+     * Gets the delivery metrics: pending, dropped and rejected deliveries, retries and dead letters.
+     *
+     * @return A snapshot of the delivery stats
+     */
+    public DeliveryStats getDeliveryStats() {
+        return deliveryEngine.getStats();
+    }
+
+    /**
+     * Stops the delivery threads. Messages still queued for consumers stay PENDING.
+     */
+    public void shutdown() {
+        deliveryEngine.shutdown();
+    }
+
+    // ========== Pull Consumption ==========
+
+    /**
+     * Fetches messages from the partitions assigned to a consumer, starting at the
+     * group's position in each. Positions start at the group's committed offset
+     * (or the oldest retained message if none was committed), advance with every
+     * poll, and rewind to the committed offsets when the group rebalances.
+     * If nothing is available, waits up to timeoutMillis for new messages.
+     *
+     * @param groupId The ID of the consumer group
+     * @param consumerId The ID of the polling consumer; must be a member of the group
+     * @param maxRecords The maximum number of messages to return
+     * @param timeoutMillis How long to wait for messages if none are available; 0 to return immediately
+     * @return The messages fetched, possibly empty, or null if the group doesn't exist or maxRecords is not positive
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public List<Message> poll(String groupId, String consumerId, int maxRecords, long timeoutMillis)
+            throws InterruptedException {
+        Optional<ConsumerGroup> groupOpt = consumerGroupRepository.getConsumerGroupById(groupId);
+        if (groupOpt.isEmpty() || maxRecords <= 0) {
+            return null;
+        }
+        
+        ConsumerGroup group = groupOpt.get();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (true) {
+            // Register as a waiter before fetching, so an append racing with an empty
+            // fetch is guaranteed to see the waiter and bump dataSequence
+            pollWaiters.incrementAndGet();
+            try {
+                long sequence = dataSequence;
+                List<Message> records = fetch(group, consumerId, maxRecords);
+                long remaining = deadline - System.nanoTime();
+                if (!records.isEmpty() || remaining <= 0) {
+                    return records;
+                }
+                
+                pollLock.lock();
+                try {
+                    while (dataSequence == sequence && remaining > 0) {
+                        remaining = dataAvailable.awaitNanos(remaining);
+                    }
+                } finally {
+                    pollLock.unlock();
+                }
+            } finally {
+                pollWaiters.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Commits offsets for a consumer group and persists them to the offsets file.
+     *
+     * @param groupId The ID of the consumer group
+     * @param offsets The next offset to read, per topic partition
+     * @return true if the group exists and the offsets were committed
+     */
+    public boolean commit(String groupId, Map<TopicPartition, Long> offsets) {
+        if (offsets == null || !consumerGroupRepository.consumerGroupExists(groupId)) {
+            return false;
+        }
+        
+        offsetStore.commit(groupId, offsets);
+        return true;
+    }
+
+    /**
+     * Commits the group's current positions in the partitions assigned to a consumer,
+     * i.e. everything that consumer has polled so far.
+     *
+     * @param groupId The ID of the consumer group
+     * @param consumerId The ID of the consumer
+     * @return true if the group exists and the offsets were committed
+     */
+    public boolean commit(String groupId, String consumerId) {
+        Optional<ConsumerGroup> groupOpt = consumerGroupRepository.getConsumerGroupById(groupId);
+        GroupPositions positions = groupPositions.get(groupId);
+        if (groupOpt.isEmpty()) {
+            return false;
+        }
+        if (positions == null) {
+            return true;
+        }
+        
+        Map<TopicPartition, Long> offsets = new HashMap<>();
+        for (TopicPartition topicPartition : assignedPartitions(groupOpt.get(), consumerId)) {
+            long position = positions.get(topicPartition);
+            if (position >= 0) {
+                offsets.put(topicPartition, position);
+            }
+        }
+        offsetStore.commit(groupId, offsets);
+        return true;
+    }
+
+    /**
+     * Gets the offsets a consumer group has committed.
+     *
+     * @param groupId The ID of the consumer group
+     * @return Map of topic partition to the next offset the group reads from it
+     */
+    public Map<TopicPartition, Long> getCommittedOffsets(String groupId) {
+        return offsetStore.getCommittedOffsets(groupId);
+    }
+
+    /**
+     * Reads up to maxRecords messages from the consumer's assigned partitions and advances the group's positions.
+     * Partitions are visited starting from a rotating index, so a backlogged partition cannot starve the others.
+     */
+    private List<Message> fetch(ConsumerGroup group, String consumerId, int maxRecords) {
+        GroupPositions positions = groupPositions.computeIfAbsent(group.getGroupId(), k -> new GroupPositions());
+        positions.resetIfRebalanced(group.getGeneration());
+        
+        List<TopicPartition> assigned = assignedPartitions(group, consumerId);
+        List<Message> records = new ArrayList<>();
+        int start = assigned.isEmpty() ? 0 : Math.floorMod(positions.nextStartIndex(), assigned.size());
+        for (int i = 0; i < assigned.size() && records.size() < maxRecords; i++) {
+            TopicPartition topicPartition = assigned.get((start + i) % assigned.size());
+            Optional<Topic> topicOpt = topicRepository.getTopicById(topicPartition.getTopicId());
+            if (topicOpt.isEmpty()) {
+                continue;
+            }
+            
+            long position = positions.get(topicPartition);
+            if (position < 0) {
+                long committed = offsetStore.getCommittedOffset(group.getGroupId(), topicPartition);
+                position = committed >= 0 ? committed
+                        : topicOpt.get().getLog(topicPartition.getPartition()).getStartOffset();
+            }
+            List<Message> read = topicOpt.get().readMessages(topicPartition.getPartition(), position,
+                    maxRecords - records.size());
+            if (!read.isEmpty()) {
+                position = read.get(read.size() - 1).getOffset() + 1;
+                records.addAll(read);
+            }
+            positions.set(topicPartition, position);
+        }
+        return records;
+    }
+
+    /**
+     * Gets the partitions of all topics the group subscribes to that are assigned to a consumer.
+     */
+    private List<TopicPartition> assignedPartitions(ConsumerGroup group, String consumerId) {
+        List<TopicPartition> assigned = new ArrayList<>();
+        for (Subscription subscription : subscriptionRepository.getSubscriptionsBySubscriber(group.getGroupId())) {
+            if (!subscription.isActive() || subscription.getSubscriptionType() != SubscriptionType.GROUP) {
+                continue;
+            }
+            
+            Optional<Topic> topicOpt = topicRepository.getTopicById(subscription.getTopicId());
+            if (topicOpt.isEmpty()) {
+                continue;
+            }
+            
+            for (int partition : group.getAssignedPartitions(consumerId, topicOpt.get().getPartitionCount())) {
+                assigned.add(new TopicPartition(subscription.getTopicId(), partition));
+            }
+        }
+        return assigned;
+    }
+
+    /**
+     * Wakes long-polling consumers after an append; free when nobody is waiting.
+     */
+    private void signalPollers() {
+        if (pollWaiters.get() > 0) {
+            pollLock.lock();
+            try {
+                dataSequence++;
+                dataAvailable.signalAll();
+            } finally {
+                pollLock.unlock();
+            }
         }
     }
 
     // ========== Message Distribution Logic ==========
 
+    /**
+     * Rebuilds a topic's routing snapshot from its active group subscriptions and swaps it in.
+     * Synchronized so concurrent subscription changes cannot install an outdated snapshot.
+     *
+     * @param topicId The ID of the topic whose subscriptions changed
+     */
+    private synchronized void rebuildRouting(String topicId) {
+        Optional<Topic> topicOpt = topicRepository.getTopicById(topicId);
+        if (topicOpt.isEmpty()) {
+            return;
+        }
+        
+        Topic topic = topicOpt.get();
+        List<Subscription> subscriptions = new ArrayList<>();
+        List<ConsumerGroup> groups = new ArrayList<>();
+        List<PartitionHandoff> handoffs = new ArrayList<>();
+        for (Subscription subscription : subscriptionRepository.getSubscriptionsByTopic(topicId)) {
+            // Only group subscriptions are supported
+            if (subscription.getSubscriptionType() != SubscriptionType.GROUP) {
+                continue;
+            }
+            
+            Optional<ConsumerGroup> groupOpt = consumerGroupRepository.getConsumerGroupById(subscription.getSubscriberId());
+            if (groupOpt.isPresent()) {
+                subscriptions.add(subscription);
+                groups.add(groupOpt.get());
+                handoffs.add(partitionHandoffs.computeIfAbsent(subscription.getSubscriptionId(),
+                        id -> new PartitionHandoff(deliveryEngine, subscription.getSubscriberId(),
+                                subscription.getRetryPolicy(), topic.getPartitionCount())));
+            }
+        }
+        topic.setRouting(new RoutingSnapshot(subscriptions, groups, handoffs));
+    }
+
     /**
      * Distributes a message to all subscribers of a topic.
      * Only consumer groups are supported - each group receives the message
-     * and distributes it to one consumer in the group using round-robin.
+     * and delivers it to the consumer that owns the message's partition.
+     * Reads the topic's routing snapshot, so fan-out itself allocates nothing.
      *
      * @param topic The topic the message belongs to
      * @param message The message to distribute
      */
     private void distributeMessage(Topic topic, Message message) {
-        List<Subscription> subscriptions = subscriptionRepository.getSubscriptionsByTopic(topic.getTopicId());
+        RoutingSnapshot routing = topic.getRouting();
+        
+        for (int i = 0; i < routing.size(); i++) {
+            Subscription subscription = routing.getSubscription(i);
+            if (subscription.isActive()) {
+                // Group subscription - deliver to one consumer in the group
+                deliverToConsumerGroup(routing.getHandoff(i), routing.getGroup(i), message);
+            }
+        }
+    }
+
+    /**
+     * Waits, under BLOCK backpressure, until every consumer a partition's next message goes to has room.
+     * Called before taking the partition lock: waiting while holding it would stall every publisher
+     * to the partition, and deadlock a handler publishing to it while its own mailbox is full.
+     *
+     * @param topic The topic being published to
+     * @param partition The partition being published to
+     */
+    private void awaitDeliveryCapacity(Topic topic, int partition) {
+        RoutingSnapshot routing = topic.getRouting();
+        
+        for (int i = 0; i < routing.size(); i++) {
+            if (!routing.getSubscription(i).isActive()) {
+                continue;
+            }
+            
+            Consumer selectedConsumer = routing.getGroup(i).getConsumerForPartition(partition);
+            if (selectedConsumer != null && selectedConsumer.isActive()) {
+                deliveryEngine.awaitCapacity(selectedConsumer.getConsumerId());
+            }
+        }
+    }
+
+    /**
+     * Distributes a batch of messages from one partition to all subscribers of a topic.
+     * Each group's owning consumer receives the batch with one mailbox wakeup.
+     *
+     * @param topic The topic the messages belong to
+     * @param partition The partition the messages were appended to
+     * @param messages The messages to distribute, in offset order
+     */
+    private void distributeBatch(Topic topic, int partition, List<Message> messages) {
+        RoutingSnapshot routing = topic.getRouting();
         
-        for (Subscription subscription : subscriptions) {
+        for (int i = 0; i < routing.size(); i++) {
+            Subscription subscription = routing.getSubscription(i);
             if (!subscription.isActive()) {
                 continue;
             }
             
-            // Only group subscriptions are supported
-            if (subscription.getSubscriptionType() == SubscriptionType.GROUP) {
-                // Group subscription - deliver to one consumer in the group
-                deliverToConsumerGroup(subscription.getSubscriberId(), message);
+            Consumer selectedConsumer = routing.getGroup(i).getConsumerForPartition(partition);
+            if (selectedConsumer != null && selectedConsumer.isActive()) {
+                routing.getHandoff(i).deliverAll(partition, selectedConsumer.getConsumerId(), messages);
             }
         }
     }
 
     /**
-     * Delivers a message to a consumer group (round-robin distribution).
+     * Delivers a message to the consumer group member owning its partition.
+     * The message is queued in the selected consumer's mailbox; its status is
+     * set to PROCESSED once the consumer's handler has run, or RETRYING and
+     * eventually FAILED per the subscription's retry policy.
+     * While the partition is being handed off it is held back instead.
      *
-     * @param groupId The ID of the consumer group
+     * @param handoff The partition hand-off of the group's subscription to the message's topic
+     * @param group The subscribed consumer group
      * @param message The message to deliver
      */
-    private void deliverToConsumerGroup(String groupId, Message message) {
-        Optional<ConsumerGroup> groupOpt = consumerGroupRepository.getConsumerGroupById(groupId);
-        if (groupOpt.isEmpty()) {
+    private void deliverToConsumerGroup(PartitionHandoff handoff, ConsumerGroup group, Message message) {
+        Consumer selectedConsumer = group.getConsumerForPartition(message.getPartition());
+        
+        if (selectedConsumer != null && selectedConsumer.isActive()) {
+            // Consumers without a registered handler leave the message PENDING
+            handoff.deliver(message.getPartition(), selectedConsumer.getConsumerId(), message);
+        }
+    }
+
+    /**
+     * Publishes a message that failed every delivery attempt to its topic's dead-letter topic.
+     * Messages failing on a dead-letter topic are not dead-lettered again.
+     *
+     * @param message The failed message
+     * @param groupId The ID of the consumer group that failed to process it
+     * @param attempts The number of delivery attempts made
+     */
+    private void moveToDeadLetterTopic(Message message, String groupId, int attempts) {
+        Optional<Topic> topicOpt = topicRepository.getTopicById(message.getTopicId());
+        if (topicOpt.isEmpty() || topicOpt.get().getTopicName().endsWith(DEAD_LETTER_SUFFIX)) {
             return;
         }
         
-        ConsumerGroup group = groupOpt.get();
-        Consumer selectedConsumer = group.getNextConsumer();
-        
-        if (selectedConsumer != null && selectedConsumer.isActive()) {
-            // Get message handler for the selected consumer
-            IMessageHandler handler = messageHandlers.get(selectedConsumer.getConsumerId());
-            if (handler != null) {
-                boolean success = handler.handleMessage(message);
-                if (success) {
-                    message.setStatus(MessageStatus.PROCESSED);
-                    message.setProcessedBy(groupId + ":" + selectedConsumer.getConsumerId());
-                } else {
-                    message.setStatus(MessageStatus.FAILED);
-                }
-            }
+        Topic deadLetterTopic = getOrCreateDeadLetterTopic(topicOpt.get());
+        if (deadLetterTopic != null) {
+            publish(deadLetterTopic.getTopicId(), message.getKey(), message.getPayload());
         }
     }
 
+    /**
+     * Gets the dead-letter topic of a topic, creating it with the same partition count on first use.
+     * Synchronized so concurrent dead letters create the topic only once.
+     *
+     * @param topic The source topic
+     * @return The dead-letter topic
+     */
+    private synchronized Topic getOrCreateDeadLetterTopic(Topic topic) {
+        String name = topic.getTopicName() + DEAD_LETTER_SUFFIX;
+        Optional<Topic> existing = topicRepository.getTopicByName(name);
+        return existing.orElseGet(() -> createTopic(name, topic.getPartitionCount()));
+    }
+
     // ========== Utility Methods ==========
 
     /**
@@ -261,4 +718,35 @@ public class PubSubService implements IPublisher, ISubscriber {
     public Optional<ConsumerGroup> getConsumerGroupById(String groupId) {
         return consumerGroupRepository.getConsumerGroupById(groupId);
     }
+
+    /**
+     * Fetch positions of one consumer group: the next offset poll() reads from each partition.
+     * Cleared when the group's assignment generation changes, so moved partitions
+     * resume from the committed offset rather than another member's uncommitted position.
+     */
+    private static final class GroupPositions {
+        private final Map<TopicPartition, Long> offsets = new ConcurrentHashMap<>();
+        private final AtomicInteger startIndex = new AtomicInteger();
+        private int generation = -1;
+
+        synchronized void resetIfRebalanced(int currentGeneration) {
+            if (generation != currentGeneration) {
+                offsets.clear();
+                generation = currentGeneration;
+            }
+        }
+
+        long get(TopicPartition topicPartition) {
+            Long offset = offsets.get(topicPartition);
+            return offset == null ? -1 : offset;
+        }
+
+        void set(TopicPartition topicPartition, long offset) {
+            offsets.put(topicPartition, offset);
+        }
+
+        int nextStartIndex() {
+            return startIndex.getAndIncrement();
+        }
+    }
 }
@@ -0,0 +1,48 @@
+package org.example.CacheService.jmh;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of benchmarks.jar
+ * Accepts every JMH command-line option, but defaults to JSON results in
+ * jmh-result.json and the GC profiler (-prof gc), so two runs can be diffed
+ * on throughput and allocation rate (gc.alloc.rate.norm = bytes per operation)
+ *
+ * Usage:
+ *   mvn -pl benchmarks -am package
+ *   java -jar benchmarks/target/benchmarks.jar [regexp] [JMH options]
+ *   java -jar benchmarks/target/benchmarks.jar EvictionWorkload -p policy=SIEVE,LRU -rff sieve.json
+ */
+public class BenchmarkRunner {
+    private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp()) {
+            commandLine.showHelp();
+            return;
+        }
+        if (commandLine.shouldList()) {
+            new Runner(commandLine).list();
+            return;
+        }
+
+        // Explicit options win over the parent, so only fill in what the caller left unset
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLine.getResult().hasValue()) {
+            options.result(DEFAULT_RESULT_FILE);
+        }
+        if (commandLine.getProfilers().isEmpty()) {
+            options.addProfiler(GCProfiler.class);
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,116 @@
+package org.example.CacheService.jmh;
+
+import org.example.CacheService.enums.EvictionPolicy;
+import org.example.CacheService.interfaces.ICache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * get / put throughput at 1, 4 and all-core thread counts, plus a 3:1 read/write mix
+ *
+ * Every key in the Zipfian trace is loaded before measuring, and the key space
+ * equals the capacity, so get measures the hit path and put the update path;
+ * EvictionWorkloadBenchmark covers misses and eviction
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheThroughputBenchmark {
+    private static final int TRACE_LENGTH = 1 << 20;
+    private static final int MASK = TRACE_LENGTH - 1;
+    private static final long SEED = 42;
+
+    @Param({"IN_MEMORY", "SEGMENTED", "LONG_KEY"})
+    public CacheType cacheType;
+
+    @Param({"LRU", "W_TINY_LFU", "SIEVE"})
+    public EvictionPolicy policy;
+
+    @Param({"65536"})
+    public int capacity;
+
+    private ICache<Long, Long> cache;
+    private Long[] keys;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        cache = cacheType.create(capacity, policy);
+        keys = Workload.ZIPFIAN.trace(TRACE_LENGTH, capacity, SEED);
+        for (Long key : keys) {
+            cache.put(key, key);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Optional<Long> get_1Thread(TraceCursor cursor) {
+        return cache.get(keys[cursor.next(MASK)]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Optional<Long> get_4Threads(TraceCursor cursor) {
+        return cache.get(keys[cursor.next(MASK)]);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Optional<Long> get_allThreads(TraceCursor cursor) {
+        return cache.get(keys[cursor.next(MASK)]);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void put_1Thread(TraceCursor cursor) {
+        Long key = keys[cursor.next(MASK)];
+        cache.put(key, key);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void put_4Threads(TraceCursor cursor) {
+        Long key = keys[cursor.next(MASK)];
+        cache.put(key, key);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void put_allThreads(TraceCursor cursor) {
+        Long key = keys[cursor.next(MASK)];
+        cache.put(key, key);
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(6)
+    public Optional<Long> readWrite_get(TraceCursor cursor) {
+        return cache.get(keys[cursor.next(MASK)]);
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(2)
+    public void readWrite_put(TraceCursor cursor) {
+        Long key = keys[cursor.next(MASK)];
+        cache.put(key, key);
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.CacheService.jmh;
+
+import org.example.CacheService.enums.EvictionPolicy;
+import org.example.CacheService.factory.CacheFactory;
+import org.example.CacheService.interfaces.ICache;
+
+/**
+ * Cache implementations a benchmark can be parameterized over
+ * All are driven through ICache, so LONG_KEY pays for key unboxing and Optional like the others
+ */
+public enum CacheType {
+    IN_MEMORY {
+        @Override
+        ICache<Long, Long> create(int capacity, EvictionPolicy policy) {
+            return CacheFactory.createCache(capacity, policy);
+        }
+    },
+    SEGMENTED {
+        @Override
+        ICache<Long, Long> create(int capacity, EvictionPolicy policy) {
+            return CacheFactory.createSegmentedCache(capacity, Runtime.getRuntime().availableProcessors(), policy);
+        }
+    },
+    LONG_KEY {
+        @Override
+        ICache<Long, Long> create(int capacity, EvictionPolicy policy) {
+            return CacheFactory.createLongKeyCache(capacity, policy);
+        }
+    };
+
+    abstract ICache<Long, Long> create(int capacity, EvictionPolicy policy);
+}
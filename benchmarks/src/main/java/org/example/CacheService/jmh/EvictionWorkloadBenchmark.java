@@ -0,0 +1,93 @@
+package org.example.CacheService.jmh;
+
+import org.example.CacheService.enums.EvictionPolicy;
+import org.example.CacheService.interfaces.ICache;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-through throughput for every eviction policy on Zipfian, uniform and scan workloads
+ *
+ * Each operation is a get, followed by a put on a miss, so misses pay for
+ * eviction. Hits and misses are reported as secondary metrics
+ * (readThrough:hits, readThrough:misses); hit ratio = hits / (hits + misses)
+ *
+ * Single-threaded by default so the policy sees the trace in order; pass -t to add contention
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+public class EvictionWorkloadBenchmark {
+    private static final int TRACE_LENGTH = 1 << 20;
+    private static final int MASK = TRACE_LENGTH - 1;
+    private static final long SEED = 42;
+
+    @Param({"LRU", "LFU", "FIFO", "LIFO", "W_TINY_LFU", "CLOCK", "SIEVE"})
+    public EvictionPolicy policy;
+
+    @Param({"ZIPFIAN", "UNIFORM", "SCAN"})
+    public Workload workload;
+
+    @Param({"IN_MEMORY"})
+    public CacheType cacheType;
+
+    @Param({"1000"})
+    public int capacity;
+
+    @Param({"100000"})
+    public int keySpace;
+
+    private ICache<Long, Long> cache;
+    private Long[] keys;
+
+    /**
+     * Hit and miss counts, reported by JMH alongside the primary throughput score
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class HitCounters {
+        public long hits;
+        public long misses;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            hits = 0;
+            misses = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        cache = cacheType.create(capacity, policy);
+        keys = workload.trace(TRACE_LENGTH, keySpace, SEED);
+    }
+
+    @Benchmark
+    public void readThrough(TraceCursor cursor, HitCounters counters) {
+        Long key = keys[cursor.next(MASK)];
+        if (cache.get(key).isPresent()) {
+            counters.hits++;
+        } else {
+            counters.misses++;
+            cache.put(key, key);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.CacheService.jmh;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Per-thread position in a shared trace
+ * Threads start at random offsets so they do not hit the same keys in lockstep
+ */
+@State(Scope.Thread)
+public class TraceCursor {
+    private int index = ThreadLocalRandom.current().nextInt();
+
+    /**
+     * Gets the next position, wrapping around a trace of mask + 1 keys
+     */
+    int next(int mask) {
+        return index++ & mask;
+    }
+}
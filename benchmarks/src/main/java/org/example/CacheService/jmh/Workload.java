@@ -0,0 +1,89 @@
+package org.example.CacheService.jmh;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Key access patterns replayed by the benchmarks
+ * Traces are generated once per trial from a fixed seed, so every policy sees the same keys
+ */
+public enum Workload {
+    /**
+     * Zipf(0.99) over the key space; key 0 is the most popular
+     */
+    ZIPFIAN {
+        @Override
+        long[] generate(int length, int keySpace, Random random) {
+            return zipfian(length, keySpace, random);
+        }
+    },
+    /**
+     * Every key in the key space equally likely
+     */
+    UNIFORM {
+        @Override
+        long[] generate(int length, int keySpace, Random random) {
+            long[] trace = new long[length];
+            for (int i = 0; i < length; i++) {
+                trace[i] = random.nextInt(keySpace);
+            }
+            return trace;
+        }
+    },
+    /**
+     * Zipfian blocks alternating with one-pass sequential scans over keys outside
+     * the key space, so a policy that admits every scanned key flushes its hot set
+     */
+    SCAN {
+        @Override
+        long[] generate(int length, int keySpace, Random random) {
+            long[] trace = zipfian(length, keySpace, random);
+            long scanKey = keySpace;
+            for (int start = SCAN_BLOCK; start < length; start += 2 * SCAN_BLOCK) {
+                for (int i = start; i < Math.min(start + SCAN_BLOCK, length); i++) {
+                    trace[i] = scanKey++;
+                }
+            }
+            return trace;
+        }
+    };
+
+    private static final double ZIPF_SKEW = 0.99;
+    private static final int SCAN_BLOCK = 1024;
+
+    abstract long[] generate(int length, int keySpace, Random random);
+
+    /**
+     * Generates a trace of boxed keys, boxed up front so the benchmarks do not measure Long.valueOf
+     */
+    Long[] trace(int length, int keySpace, long seed) {
+        long[] keys = generate(length, keySpace, new Random(seed));
+        Long[] trace = new Long[length];
+        for (int i = 0; i < length; i++) {
+            trace[i] = keys[i];
+        }
+        return trace;
+    }
+
+    /**
+     * Inverse-CDF sampling of Zipf(ZIPF_SKEW) over [0, keySpace)
+     */
+    private static long[] zipfian(int length, int keySpace, Random random) {
+        double[] cdf = new double[keySpace];
+        double sum = 0;
+        for (int rank = 0; rank < keySpace; rank++) {
+            sum += 1.0 / Math.pow(rank + 1, ZIPF_SKEW);
+            cdf[rank] = sum;
+        }
+        for (int rank = 0; rank < keySpace; rank++) {
+            cdf[rank] /= sum;
+        }
+
+        long[] trace = new long[length];
+        for (int i = 0; i < length; i++) {
+            int index = Arrays.binarySearch(cdf, random.nextDouble());
+            trace[i] = index >= 0 ? index : Math.min(-index - 1, keySpace - 1);
+        }
+        return trace;
+    }
+}